@@ -0,0 +1,52 @@
+package hr.recruitment.benchmark;
+
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory fixtures shaped like production rows: one candidate per ten interviews, ~1.5 KB CVs
+final class BenchmarkData {
+
+    static final String CV = "Experienced professional with 5+ years in software development. "
+            .repeat(24);
+
+    private BenchmarkData() {
+    }
+
+    static int candidatesFor(int interviews) {
+        return Math.max(1, interviews / 10);
+    }
+
+    static List<User> candidates(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("Candidate " + i);
+            user.setEmail("candidate" + i + "@example.com");
+            user.setEmailLocalPart("candidate" + i);
+            user.setRole(Role.ROLE_CANDIDATE);
+            user.setInfo("Software Developer");
+            user.setCv(CV);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Interview> interviews(int count) {
+        List<User> candidates = candidates(candidatesFor(count));
+        List<Interview> interviews = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Interview interview = new Interview();
+            interview.setId((long) i);
+            interview.setUser(candidates.get(i % candidates.size()));
+            interview.setPosition("Position " + (i % 50));
+            interview.setScore(i % 101);
+            interviews.add(interview);
+        }
+        return interviews;
+    }
+}
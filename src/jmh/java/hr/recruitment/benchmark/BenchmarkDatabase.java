@@ -0,0 +1,91 @@
+package hr.recruitment.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Embedded PostgreSQL by default; -Dbenchmark.jdbc-url points at an existing scratch database instead
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private BenchmarkDatabase(EmbeddedPostgres embedded, String jdbcUrl, String username, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static BenchmarkDatabase start() throws IOException, SQLException {
+        String externalUrl = System.getProperty("benchmark.jdbc-url");
+        if (externalUrl == null) {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            return new BenchmarkDatabase(postgres, postgres.getJdbcUrl("postgres", "postgres"), "postgres", "");
+        }
+
+        BenchmarkDatabase database = new BenchmarkDatabase(null, externalUrl,
+                System.getProperty("benchmark.jdbc-user", "postgres"),
+                System.getProperty("benchmark.jdbc-password", ""));
+        // The external database is wiped so every trial seeds the same dataset
+        try (Connection connection = DriverManager.getConnection(externalUrl, database.username, database.password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA public CASCADE");
+            statement.execute("CREATE SCHEMA public");
+        }
+        return database;
+    }
+
+    // Candidates bench1..benchN (N = interviews / 10) with their interviews spread over 50 positions.
+    // Set-based inserts keep seeding 1M interviews within seconds
+    static void seed(JdbcTemplate jdbc, int interviews) {
+        int candidates = BenchmarkData.candidatesFor(interviews);
+        jdbc.update("DELETE FROM interviews");
+        jdbc.update("""
+                INSERT INTO users (name, email, email_local_part, role, info, cv)
+                SELECT 'Bench Candidate ' || g, 'bench' || g || '@example.com', 'bench' || g,
+                       'ROLE_CANDIDATE', 'Software Developer', ?
+                FROM generate_series(1, ?) g
+                """, BenchmarkData.CV, candidates);
+        jdbc.update("""
+                INSERT INTO interviews (user_id, score, position)
+                SELECT u.id, g % 101, 'Position ' || (g % 50)
+                FROM generate_series(1, ?) g
+                JOIN users u ON u.email_local_part = 'bench' || (1 + g % ?)
+                """, interviews, candidates);
+        jdbc.execute("ANALYZE");
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    // Same database for the reactive read path: jdbc:postgresql://host/db?user=.. becomes r2dbc:postgresql://host/db,
+    // credentials go through spring.r2dbc.username/password since R2DBC rejects them in the query string
+    String r2dbcUrl() {
+        int query = jdbcUrl.indexOf('?');
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
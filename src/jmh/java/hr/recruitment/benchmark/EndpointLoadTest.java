@@ -0,0 +1,332 @@
+package hr.recruitment.benchmark;
+
+import hr.recruitment.HrRecruitmentApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+// Closed-loop HTTP load test of the candidate and recruiter read endpoints, run once per thread mode
+// (platform Tomcat pool, then virtual threads) against the same seeded database.
+// Not a JMH benchmark: it drives the real server over HTTP and reports throughput and latency percentiles.
+//
+// Arguments are key=value pairs:
+//   modes=platform,virtual  clients=400  warmup=10  duration=30  interviews=100000
+//   endpoints=profile,interviews,page,top  url=<running server>
+// With url= set no server is started and only that server is measured (it must hold the seeded data).
+// The full recruiter list is not in the default mix. It comes blocking (all), reactive as a JSON array
+// (reactive-all) and reactive as an NDJSON stream (reactive-stream); run e.g. endpoints=profile,all
+// then endpoints=profile,reactive-all to see what each does to candidate latency next to it.
+// An endpoint can carry a weight, endpoints=profile:9,profile-patch:1 sends nine reads per write.
+// Each started server also reports its Hibernate second-level cache hit ratios and statements per request;
+// second-level-cache=false starts it without that cache to compare.
+public final class EndpointLoadTest {
+
+    private static final String RECRUITER = "benchrecruiter";
+
+    private EndpointLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "400"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        int interviews = Integer.parseInt(options.getOrDefault("interviews", "100000"));
+
+        Map<String, Integer> selected = weights(options.getOrDefault("endpoints", "profile,interviews,page,top"));
+        List<Endpoint> endpoints = endpoints(interviews).stream()
+                .filter(endpoint -> selected.containsKey(endpoint.key()))
+                .toList();
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("No endpoints selected: " + selected.keySet());
+        }
+        int[] mix = mix(endpoints, selected);
+        boolean secondLevelCache = Boolean.parseBoolean(options.getOrDefault("second-level-cache", "true"));
+        String url = options.get("url");
+        if (url != null) {
+            print(url, run(url, endpoints, mix, clients, warmup, duration, null));
+            return;
+        }
+
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "platform,virtual").split(","));
+        try (BenchmarkDatabase database = BenchmarkDatabase.start()) {
+            boolean seeded = false;
+            for (String mode : modes) {
+                try (ConfigurableApplicationContext context = startServer(database, mode, secondLevelCache)) {
+                    if (!seeded) {
+                        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+                        BenchmarkDatabase.seed(jdbc, interviews);
+                        jdbc.update("INSERT INTO users (name, email, email_local_part, role) " +
+                                "VALUES ('Bench Recruiter', ?, ?, 'ROLE_RECRUITER')", RECRUITER + "@example.com", RECRUITER);
+                        seeded = true;
+                    }
+                    String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                    Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+                    Map<String, Stats> results = run(baseUrl, endpoints, mix, clients, warmup, duration, statistics);
+                    print(mode, results);
+                    print(statistics, results.get("all").requests());
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(BenchmarkDatabase database, String mode, boolean secondLevelCache) {
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + database.jdbcUrl(),
+                "--spring.datasource.username=" + database.username(),
+                "--spring.datasource.password=" + database.password(),
+                "--spring.r2dbc.url=" + database.r2dbcUrl(),
+                "--spring.r2dbc.username=" + database.username(),
+                "--spring.r2dbc.password=" + database.password(),
+                "--spring.jpa.show-sql=false",
+                "--recruitment.cache.second-level.enabled=" + secondLevelCache,
+                "--logging.level.root=WARN"));
+        if (virtual) {
+            // Same switch as running the application with the virtual-threads profile
+            args.add("--spring.profiles.active=virtual-threads");
+        }
+        return new SpringApplicationBuilder(HrRecruitmentApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static List<Endpoint> endpoints(int interviews) {
+        int candidates = BenchmarkData.candidatesFor(interviews);
+        return List.of(
+                new Endpoint("profile", "candidate profile",
+                        random -> "/api/candidate/cabinet/bench" + (1 + random % candidates)),
+                new Endpoint("profile-patch", "candidate info update",
+                        random -> "/api/candidate/cabinet/bench" + (1 + random % candidates) + "/info",
+                        random -> "{\"info\":\"Updated under load " + random + "\"}"),
+                new Endpoint("interviews", "candidate interviews",
+                        random -> "/api/candidate/bench" + (1 + random % candidates) + "/interviews"),
+                new Endpoint("page", "recruiter candidates page",
+                        random -> "/api/recruiter/" + RECRUITER + "/candidates/page?view=summary&size=50&after=" + random % interviews),
+                new Endpoint("top", "recruiter top",
+                        random -> "/api/recruiter/" + RECRUITER + "/top?position=Position%20" + random % 50),
+                new Endpoint("all", "recruiter all (blocking)",
+                        random -> "/api/recruiter/" + RECRUITER + "/all-interviews?view=summary"),
+                new Endpoint("reactive-all", "recruiter all (reactive)",
+                        random -> "/api/reactive/recruiter/" + RECRUITER + "/all-interviews?view=summary"),
+                new Endpoint("reactive-stream", "recruiter all (NDJSON)", "application/x-ndjson",
+                        random -> "/api/reactive/recruiter/" + RECRUITER + "/all-interviews?view=summary"));
+    }
+
+    // Hibernate statistics, when given, are cleared after the warmup so they cover the measured run only
+    private static Map<String, Stats> run(String baseUrl, List<Endpoint> endpoints, int[] mix, int clients,
+                                          Duration warmup, Duration duration, Statistics statistics) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        // Warmup results are discarded
+        drive(http, baseUrl, endpoints, mix, clients, warmup);
+        if (statistics != null) {
+            statistics.clear();
+        }
+        return drive(http, baseUrl, endpoints, mix, clients, duration);
+    }
+
+    // Every client sends its next request as soon as the previous one completes
+    private static Map<String, Stats> drive(HttpClient http, String baseUrl, List<Endpoint> endpoints, int[] mix,
+                                            int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Recorder>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Recorder recorder = new Recorder(endpoints.size());
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        int index = mix[random.nextInt(mix.length)];
+                        Endpoint endpoint = endpoints.get(index);
+                        int value = random.nextInt(Integer.MAX_VALUE);
+                        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(value)))
+                                .header("Accept", endpoint.accept())
+                                .timeout(Duration.ofSeconds(30));
+                        HttpRequest request = endpoint.body() == null ? builder.build() : builder
+                                .header("Content-Type", "application/json")
+                                .method("PATCH", HttpRequest.BodyPublishers.ofString(endpoint.body().apply(value)))
+                                .build();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        recorder.record(index, System.nanoTime() - start, ok);
+                    }
+                    return recorder;
+                }));
+            }
+        }
+
+        Map<String, Stats> results = new LinkedHashMap<>();
+        List<Recorder> recorders = new ArrayList<>(clients);
+        for (Future<Recorder> future : futures) {
+            recorders.add(future.get());
+        }
+        LongStream.Builder all = LongStream.builder();
+        long allErrors = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            LongStream.Builder latencies = LongStream.builder();
+            long errors = 0;
+            for (Recorder recorder : recorders) {
+                for (long latency : recorder.latencies[i].build().toArray()) {
+                    latencies.add(latency);
+                    all.add(latency);
+                }
+                errors += recorder.errors[i];
+            }
+            allErrors += errors;
+            results.put(endpoints.get(i).name(), Stats.of(latencies.build().toArray(), errors, duration));
+        }
+        results.put("all", Stats.of(all.build().toArray(), allErrors, duration));
+        return results;
+    }
+
+    private static void print(String mode, Map<String, Stats> results) {
+        System.out.printf("%n== %s ==%n", mode);
+        System.out.printf("%-28s %10s %10s %9s %9s %9s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        results.forEach((name, stats) -> System.out.printf(Locale.ROOT, "%-28s %10d %10.1f %9.2f %9.2f %9.2f %8d%n",
+                name, stats.requests(), stats.throughput(), stats.p50Millis(), stats.p99Millis(), stats.maxMillis(), stats.errors()));
+    }
+
+    private static void print(Statistics statistics, long requests) {
+        System.out.printf("%-28s %10s %10s %10s %9s%n", "second-level cache region", "hits", "misses", "puts", "hit %");
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            print(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount());
+        }
+        print("query cache", statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount());
+        System.out.printf(Locale.ROOT, "statements per request: %.2f%n",
+                requests == 0 ? 0 : statistics.getPrepareStatementCount() / (double) requests);
+    }
+
+    private static void print(String name, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        System.out.printf(Locale.ROOT, "%-28s %10d %10d %10d %9.1f%n",
+                name, hits, misses, puts, lookups == 0 ? 0 : 100.0 * hits / lookups);
+    }
+
+    // endpoints=profile:9,profile-patch:1; an endpoint without a weight counts once
+    private static Map<String, Integer> weights(String endpoints) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String endpoint : endpoints.split(",")) {
+            int colon = endpoint.indexOf(':');
+            weights.put(colon < 0 ? endpoint : endpoint.substring(0, colon),
+                    colon < 0 ? 1 : Integer.parseInt(endpoint.substring(colon + 1)));
+        }
+        return weights;
+    }
+
+    // Endpoint indexes, each repeated by its weight, to pick the next request from uniformly
+    private static int[] mix(List<Endpoint> endpoints, Map<String, Integer> weights) {
+        List<Integer> mix = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            for (int w = 0; w < weights.get(endpoints.get(i).key()); w++) {
+                mix.add(i);
+            }
+        }
+        return mix.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    // Endpoints with a body are sent as PATCH
+    private record Endpoint(String key, String name, String accept, IntFunction<String> path, IntFunction<String> body) {
+
+        Endpoint(String key, String name, IntFunction<String> path) {
+            this(key, name, "*/*", path, null);
+        }
+
+        Endpoint(String key, String name, String accept, IntFunction<String> path) {
+            this(key, name, accept, path, null);
+        }
+
+        Endpoint(String key, String name, IntFunction<String> path, IntFunction<String> body) {
+            this(key, name, "*/*", path, body);
+        }
+    }
+
+    // Per-client, so recording needs no synchronization
+    private static final class Recorder {
+        private final LongStream.Builder[] latencies;
+        private final long[] errors;
+
+        Recorder(int endpoints) {
+            latencies = new LongStream.Builder[endpoints];
+            for (int i = 0; i < endpoints; i++) {
+                latencies[i] = LongStream.builder();
+            }
+            errors = new long[endpoints];
+        }
+
+        void record(int endpoint, long nanos, boolean ok) {
+            latencies[endpoint].add(nanos);
+            if (!ok) {
+                errors[endpoint]++;
+            }
+        }
+    }
+
+    private record Stats(long requests, double throughput, double p50Millis, double p99Millis, double maxMillis, long errors) {
+
+        static Stats of(long[] latencies, long errors, Duration duration) {
+            Arrays.sort(latencies);
+            return new Stats(latencies.length,
+                    latencies.length / (duration.toMillis() / 1000.0),
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6,
+                    errors);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
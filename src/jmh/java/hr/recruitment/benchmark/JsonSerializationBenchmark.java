@@ -0,0 +1,59 @@
+package hr.recruitment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response body serialization, written to a discarding stream so large lists don't measure buffer growth
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int interviews;
+
+    private ObjectMapper objectMapper;
+    private List<User> users;
+    private List<RecruiterCandidateViewDto> fullViews;
+    private List<RecruiterCandidateViewDto> summaryViews;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        users = BenchmarkData.candidates(BenchmarkData.candidatesFor(interviews));
+        fullViews = BenchmarkData.interviews(interviews).stream()
+                .map(RecruiterCandidateViewDto::fromInterview)
+                .toList();
+        summaryViews = fullViews.stream()
+                .map(dto -> new RecruiterCandidateViewDto(dto.getInterviewId(), dto.getCandidateId(),
+                        dto.getCandidateName(), dto.getCandidateEmail(), dto.getPosition(), dto.getScore()))
+                .toList();
+    }
+
+    @Benchmark
+    public void candidateViewsFull() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), fullViews);
+    }
+
+    @Benchmark
+    public void candidateViewsSummary() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), summaryViews);
+    }
+
+    @Benchmark
+    public void users() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), users);
+    }
+}
@@ -0,0 +1,35 @@
+package hr.recruitment.benchmark;
+
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.model.Interview;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> RecruiterCandidateViewDto mapping, formerly RecruiterController.convertToDto
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RecruiterViewMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int interviews;
+
+    private List<Interview> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.interviews(interviews);
+    }
+
+    @Benchmark
+    public List<RecruiterCandidateViewDto> fromInterview() {
+        return data.stream()
+                .map(RecruiterCandidateViewDto::fromInterview)
+                .toList();
+    }
+}
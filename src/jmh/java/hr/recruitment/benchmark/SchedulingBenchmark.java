@@ -0,0 +1,110 @@
+package hr.recruitment.benchmark;
+
+import hr.recruitment.HrRecruitmentApplication;
+import hr.recruitment.dto.AvailabilityWindowDto;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.service.InterviewScheduler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Concurrent slot requests against a seeded PostgreSQL: candidates move random interviews to the first free hour
+// of a random day within the next four weeks, with whichever of the sample recruiters is free first or with a
+// given one. With 10k interviews on 18 recruiters the calendars run around 80% full, so searches skip slots
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SchedulingBenchmark {
+
+    private static final Duration LENGTH = Duration.ofHours(1);
+    private static final int DAYS = 28;
+
+    @Param({"10000"})
+    private int interviews;
+
+    private BenchmarkDatabase database;
+    private ConfigurableApplicationContext context;
+    private InterviewScheduler interviewScheduler;
+    // Interview id and candidate id side by side
+    private long[][] bookable;
+    private List<Long> recruiterIds;
+    private Instant firstDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start();
+        context = new SpringApplicationBuilder(HrRecruitmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + database.jdbcUrl(),
+                        "--spring.datasource.username=" + database.username(),
+                        "--spring.datasource.password=" + database.password(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        interviewScheduler = context.getBean(InterviewScheduler.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        BenchmarkDatabase.seed(jdbc, interviews);
+        bookable = jdbc.query("SELECT id, user_id FROM interviews ORDER BY id",
+                (resultSet, rowNum) -> new long[]{resultSet.getLong("id"), resultSet.getLong("user_id")})
+                .toArray(long[][]::new);
+        recruiterIds = jdbc.queryForList("SELECT id FROM users WHERE role = 'ROLE_RECRUITER' ORDER BY id", Long.class);
+        firstDay = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(Duration.ofDays(1));
+        // Every interview booked once up front, so each benchmark starts from calendars as full as they stay
+        for (long[] interview : bookable) {
+            Instant day = randomDay();
+            interviewScheduler.schedule(interview[1], interview[0], null, day, firstDay.plus(Duration.ofDays(DAYS)), LENGTH);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<InterviewSlotDto> scheduleAnyRecruiter() {
+        long[] interview = randomInterview();
+        Instant day = randomDay();
+        return interviewScheduler.schedule(interview[1], interview[0], null, day, day.plus(Duration.ofDays(1)), LENGTH);
+    }
+
+    @Benchmark
+    public Optional<InterviewSlotDto> scheduleGivenRecruiter() {
+        long[] interview = randomInterview();
+        Instant day = randomDay();
+        return interviewScheduler.schedule(interview[1], interview[0], randomRecruiter(), day, day.plus(Duration.ofDays(1)), LENGTH);
+    }
+
+    @Benchmark
+    public List<AvailabilityWindowDto> availabilityWeek() {
+        Instant day = randomDay();
+        return interviewScheduler.availability(randomRecruiter(), day, day.plus(Duration.ofDays(7)));
+    }
+
+    private long[] randomInterview() {
+        return bookable[ThreadLocalRandom.current().nextInt(bookable.length)];
+    }
+
+    private Long randomRecruiter() {
+        return recruiterIds.get(ThreadLocalRandom.current().nextInt(recruiterIds.size()));
+    }
+
+    private Instant randomDay() {
+        return firstDay.plus(Duration.ofDays(ThreadLocalRandom.current().nextInt(DAYS)));
+    }
+}
@@ -0,0 +1,104 @@
+package hr.recruitment.benchmark;
+
+import hr.recruitment.HrRecruitmentApplication;
+import hr.recruitment.dto.CursorPageDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.model.User;
+import hr.recruitment.repository.UserRepository;
+import hr.recruitment.service.InterviewService;
+import hr.recruitment.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// UserService / InterviewService read paths against a seeded PostgreSQL
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceLookupBenchmark {
+
+    // Prefixes repeatedly looked up, sized to fit the default user lookup cache
+    private static final int HOT_CANDIDATES = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int interviews;
+
+    private BenchmarkDatabase database;
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private InterviewService interviewService;
+    private int candidates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start();
+        context = new SpringApplicationBuilder(HrRecruitmentApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, so they take precedence over application.yaml
+                .run("--spring.datasource.url=" + database.jdbcUrl(),
+                        "--spring.datasource.username=" + database.username(),
+                        "--spring.datasource.password=" + database.password(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        interviewService = context.getBean(InterviewService.class);
+
+        candidates = BenchmarkData.candidatesFor(interviews);
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), interviews);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public UserIdentity identityByEmailPrefixCached() {
+        return userService.getUserIdentityByEmailPrefix(hotPrefix());
+    }
+
+    @Benchmark
+    public User userByEmailLocalPart() {
+        return userRepository.findByEmailLocalPart(anyPrefix()).orElseThrow();
+    }
+
+    @Benchmark
+    public User userByEmailPrefix() {
+        return userService.getUserByEmailPrefix(hotPrefix());
+    }
+
+    @Benchmark
+    public CursorPageDto<RecruiterCandidateViewDto> candidateViewsSummaryPage() {
+        return interviewService.getCandidateViewsPage(ViewMode.SUMMARY, randomCursor(), 50);
+    }
+
+    @Benchmark
+    public CursorPageDto<RecruiterCandidateViewDto> candidateViewsFullPage() {
+        return interviewService.getCandidateViewsPage(ViewMode.FULL, randomCursor(), 50);
+    }
+
+    private String hotPrefix() {
+        return "bench" + (1 + ThreadLocalRandom.current().nextInt(Math.min(HOT_CANDIDATES, candidates)));
+    }
+
+    private String anyPrefix() {
+        return "bench" + (1 + ThreadLocalRandom.current().nextInt(candidates));
+    }
+
+    private long randomCursor() {
+        return ThreadLocalRandom.current().nextLong(interviews);
+    }
+}
@@ -0,0 +1,15 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recruitment.analytics")
+public record AnalyticsProperties(Duration reconcileInterval) {
+
+    public AnalyticsProperties {
+        if (reconcileInterval == null) {
+            reconcileInterval = Duration.ofMinutes(5);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package hr.recruitment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hr.recruitment.monitoring.StatementCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+// Spring Boot stops auto-configuring the JDBC DataSource once an R2DBC ConnectionFactory is present.
+// JPA, Flyway and the JdbcTemplate writers still need it, so it is declared here from the usual
+// spring.datasource and spring.datasource.hikari properties, exactly as Boot would build it.
+// With recruitment.read-replica.enabled the primary pool gets a replica pool next to it, and the
+// DataSource everything uses routes between the two, see ReadReplicaRoutingDataSource
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    // A request should fall back to the primary rather than wait for a replica that went away
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 1000;
+
+    // Wraps the DataSource everything uses, whichever of the two setups below declared it, so the per-request
+    // statement counts cover JdbcTemplate as well as Hibernate. The pools behind it stay unwrapped
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                    ? new StatementCountingDataSource(dataSource)
+                    : bean;
+            }
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "recruitment.read-replica", name = "enabled", havingValue = "false", matchIfMissing = true)
+    static class PrimaryOnly {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource dataSource(DataSourceProperties properties) {
+            return primaryPool(properties);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "recruitment.read-replica", name = "enabled", havingValue = "true")
+    static class PrimaryWithReplica {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            return primaryPool(properties);
+        }
+
+        @Bean
+        public HikariDataSource replicaDataSource(DataSourceProperties primary, ReadReplicaProperties replica) {
+            if (replica.url() == null) {
+                throw new IllegalArgumentException("recruitment.read-replica.url is required when the read replica is enabled");
+            }
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica");
+            dataSource.setDriverClassName(primary.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username() != null ? replica.username() : primary.determineUsername());
+            dataSource.setPassword(replica.password() != null ? replica.password() : primary.determinePassword());
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            dataSource.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+            // A standby refuses writes anyway; this makes a stand-in pointed at the primary refuse them too
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean
+        ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                            ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+            return new ReplicaLagMonitor(replica, properties, meterRegistry);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                     @Qualifier("replicaDataSource") DataSource replica,
+                                     ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+            return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+        }
+
+        // Keeps rows read from the replica out of the second-level cache, see ReplicaReadJpaDialect. Set on the
+        // entity manager factory before it initializes, which is where the transaction manager takes it from
+        @Bean
+        static BeanPostProcessor replicaReadJpaDialect() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                        entityManagerFactory.setJpaDialect(new ReplicaReadJpaDialect());
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static HikariDataSource primaryPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
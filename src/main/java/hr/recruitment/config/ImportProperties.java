@@ -0,0 +1,13 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recruitment.import")
+public record ImportProperties(Integer chunkSize) {
+
+    public ImportProperties {
+        if (chunkSize == null) {
+            chunkSize = 5000;
+        }
+    }
+}
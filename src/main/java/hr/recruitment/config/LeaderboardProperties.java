@@ -0,0 +1,16 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recruitment.leaderboard")
+public record LeaderboardProperties(Integer capacity, Integer defaultK) {
+
+    public LeaderboardProperties {
+        if (capacity == null) {
+            capacity = 100;
+        }
+        if (defaultK == null) {
+            defaultK = 10;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recruitment.optimistic-lock")
+public record OptimisticLockProperties(Integer maxAttempts) {
+
+    public OptimisticLockProperties {
+        if (maxAttempts == null) {
+            maxAttempts = 3;
+        }
+    }
+}
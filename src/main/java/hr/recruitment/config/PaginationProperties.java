@@ -0,0 +1,24 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recruitment.pagination")
+public record PaginationProperties(Integer defaultPageSize, Integer maxPageSize) {
+
+    public PaginationProperties {
+        if (defaultPageSize == null) {
+            defaultPageSize = 50;
+        }
+        if (maxPageSize == null) {
+            maxPageSize = 500;
+        }
+    }
+
+    // Clamp the requested page size into [1, maxPageSize], falling back to the default
+    public int resolve(Integer requestedSize) {
+        if (requestedSize == null || requestedSize <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(requestedSize, maxPageSize);
+    }
+}
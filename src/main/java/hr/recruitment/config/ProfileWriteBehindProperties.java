@@ -0,0 +1,21 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recruitment.profile-write-behind")
+public record ProfileWriteBehindProperties(Boolean enabled, Duration window, Integer maxPending) {
+
+    public ProfileWriteBehindProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (window == null) {
+            window = Duration.ofMillis(500);
+        }
+        if (maxPending == null) {
+            maxPending = 10_000;
+        }
+    }
+}
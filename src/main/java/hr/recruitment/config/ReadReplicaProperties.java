@@ -0,0 +1,26 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Username and password default to the primary's (spring.datasource.*) when left out
+@ConfigurationProperties(prefix = "recruitment.read-replica")
+public record ReadReplicaProperties(Boolean enabled, String url, String username, String password,
+                                    Integer maximumPoolSize, Duration maxLag, Duration checkInterval) {
+
+    public ReadReplicaProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (maximumPoolSize == null) {
+            maximumPoolSize = 10;
+        }
+        if (maxLag == null) {
+            maxLag = Duration.ofSeconds(5);
+        }
+        if (checkInterval == null) {
+            checkInterval = Duration.ofSeconds(1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package hr.recruitment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+// Sends read-only transactions opened by a service method to the replica while ReplicaLagMonitor reports it
+// caught up, and everything else to the primary. It sits behind a LazyConnectionDataSourceProxy: the connection
+// is only fetched at the first statement, once the transaction's read-only flag and name are bound.
+class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    // Spring Data wraps finders called outside a transaction in read-only transactions of their own, including
+    // the reads of read-modify-write updates. Those must see the primary, so only service transactions qualify.
+    // A read-only service method called inside a read-write transaction joins it and stays on the primary.
+    private static final String SERVICE_PACKAGE = "hr.recruitment.service.";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbacks;
+
+    ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                 MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryConnections = connections(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Target.REPLICA);
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+            .description("Replica connections that failed and were replaced by a primary connection")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean serviceRead = isServiceRead(TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+            TransactionSynchronizationManager.getCurrentTransactionName());
+        return serviceRead && lagMonitor.caughtUp() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Target.PRIMARY) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // Nothing has run on it yet, so the transaction can carry on against the primary
+            lagMonitor.markUnreachable(e);
+            fallbacks.increment();
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+
+    // Whether a transaction qualifies for the replica, lag aside
+    static boolean isServiceRead(boolean readOnly, String transactionName) {
+        return readOnly && transactionName != null && transactionName.startsWith(SERVICE_PACKAGE);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("datasource.routing.connections")
+            .description("JDBC connections handed out, by the database they were routed to")
+            .tag("target", target.name().toLowerCase())
+            .register(meterRegistry);
+    }
+}
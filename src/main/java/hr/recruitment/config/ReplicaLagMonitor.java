@@ -0,0 +1,97 @@
+package hr.recruitment.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Polls the replica's replay lag and tells ReadReplicaRoutingDataSource whether reads may go there.
+// The replica is only used while the last check succeeded and the lag was within recruitment.read-replica.max-lag;
+// an unreachable replica, a failed connection or a lag the standby cannot report all send reads to the primary.
+@Slf4j
+class ReplicaLagMonitor implements DisposableBean {
+
+    // A standby that has replayed everything it received is caught up even when the primary has been idle
+    // for a while and the last replayed commit is old. A server that is not in recovery has no lag at all.
+    private static final String LAG_QUERY = """
+        SELECT CASE
+                   WHEN NOT pg_is_in_recovery() THEN 0
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp())
+               END""";
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService checker;
+
+    // False until the first check passes
+    private volatile boolean caughtUp;
+    private volatile double lagSeconds = Double.NaN;
+
+    ReplicaLagMonitor(DataSource replica, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+            .description("Replay lag of the read replica at the last check, NaN when unknown")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+
+        // Checked once up front, so the first read-only transactions already know where to go
+        check();
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.checkInterval().toMillis();
+        checker.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    boolean caughtUp() {
+        return caughtUp;
+    }
+
+    void check() {
+        try {
+            record(replica.queryForObject(LAG_QUERY, Double.class));
+        } catch (RuntimeException e) {
+            markUnreachable(e);
+        }
+    }
+
+    // Replay lag in seconds, null when a standby has not replayed any commit yet
+    void record(Double lag) {
+        lagSeconds = lag == null ? Double.NaN : lag;
+        update(lag != null && lag <= maxLagSeconds, lag == null ? "replay lag unknown" : "replay lag " + lag + "s");
+    }
+
+    // Also called by the routing DataSource when a replica connection fails between two checks
+    void markUnreachable(Exception e) {
+        lagSeconds = Double.NaN;
+        update(false, "unreachable: " + e.getMessage());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        checker.shutdownNow();
+        checker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void update(boolean nowCaughtUp, String reason) {
+        if (nowCaughtUp != caughtUp) {
+            if (nowCaughtUp) {
+                log.info("Read replica usable, {}", reason);
+            } else {
+                log.warn("Read replica not usable, reads fall back to the primary: {}", reason);
+            }
+        }
+        caughtUp = nowCaughtUp;
+    }
+}
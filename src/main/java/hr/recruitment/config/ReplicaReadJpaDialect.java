@@ -0,0 +1,43 @@
+package hr.recruitment.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+// Transactions ReadReplicaRoutingDataSource may send to the replica read the second-level cache but never
+// put into it: rows the replica has not caught up on yet would otherwise be served from the cache to the
+// primary's readers too, long after the replica caught up. Whether the replica is actually used is only
+// decided at the first statement, so this applies to every such transaction, including those that fall back.
+// The session can outlive the transaction (open-in-view), so its cache mode is put back afterwards
+class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private record ReplicaRead(Session session, CacheMode previous, Object transactionData) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!ReadReplicaRoutingDataSource.isServiceRead(definition.isReadOnly(), definition.getName())) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaRead(session, previous, transactionData);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaRead replicaRead) {
+            replicaRead.session().setCacheMode(replicaRead.previous());
+            transactionData = replicaRead.transactionData();
+        }
+        super.cleanupTransaction(transactionData);
+    }
+}
@@ -0,0 +1,31 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Slots start on granularity boundaries (UTC). A slot request may span at most maxWindow.
+// Calendars are reloaded from the database once older than calendarRefresh, which picks up bookings and
+// cancellations made by other instances; a booking that conflicts in the database reloads its recruiter at once
+@ConfigurationProperties(prefix = "recruitment.scheduling")
+public record SchedulingProperties(Duration defaultDuration, Duration granularity, Duration maxWindow,
+                                   Duration calendarRefresh, Integer maxAttempts) {
+
+    public SchedulingProperties {
+        if (defaultDuration == null) {
+            defaultDuration = Duration.ofHours(1);
+        }
+        if (granularity == null) {
+            granularity = Duration.ofMinutes(15);
+        }
+        if (maxWindow == null) {
+            maxWindow = Duration.ofDays(90);
+        }
+        if (calendarRefresh == null) {
+            calendarRefresh = Duration.ofMinutes(1);
+        }
+        if (maxAttempts == null) {
+            maxAttempts = 5;
+        }
+    }
+}
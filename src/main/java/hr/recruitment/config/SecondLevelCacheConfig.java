@@ -0,0 +1,97 @@
+package hr.recruitment.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.annotations.CacheLayout;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level cache for User and Interview entities plus the query cache of the cacheable
+// repository finders, in JCache regions backed by Caffeine. Every region is declared here with its bounds;
+// Hibernate fails at startup on a region it does not find instead of creating an unbounded one.
+// Writes made through Hibernate keep the regions current; plain SQL writes evict through SecondLevelCache
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfig {
+
+    // Hibernate finds the JCache region factory on the classpath by itself, so disabled has to be said explicitly
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "recruitment.cache.second-level", name = "enabled", havingValue = "false")
+    static class Disabled {
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheSettings() {
+            return settings -> {
+                settings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                settings.put(AvailableSettings.USE_QUERY_CACHE, false);
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "recruitment.cache.second-level", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class Enabled {
+
+        @Bean
+        public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+            // A URI of its own, so application contexts sharing a JVM (tests, benchmarks) never share regions
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:recruitment:second-level:" + UUID.randomUUID()), getClass().getClassLoader());
+            createRegion(cacheManager, User.CACHE_REGION, properties.users());
+            createRegion(cacheManager, Interview.CACHE_REGION, properties.interviews());
+            createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, properties.queryResults());
+            // One entry per table, never evicted: a cached query result with no timestamp to check against counts as fresh
+            createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null);
+            return cacheManager;
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheSettings(CacheManager secondLevelCacheManager) {
+            return settings -> {
+                settings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+                settings.put(AvailableSettings.USE_QUERY_CACHE, true);
+                // Cached query results hold ids only and read the rows from the entity regions, so evicting
+                // an entity updated by plain SQL is enough; full rows in the result would stay stale
+                settings.put(AvailableSettings.QUERY_CACHE_LAYOUT, CacheLayout.SHALLOW);
+                settings.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                settings.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+                settings.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            };
+        }
+
+        // Gets, puts, evictions and removals per region as cache.* meters tagged cache=<region>.
+        // Hit and miss counts as Hibernate sees them are the hibernate.second.level.cache.* meters
+        @Bean
+        public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+            return registry -> secondLevelCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(name)));
+        }
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, SecondLevelCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores its own disassembled entries, copying them on every get and put would only cost
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (region != null) {
+            configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.expireAfterWrite().toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,30 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recruitment.cache.second-level")
+public record SecondLevelCacheProperties(Boolean enabled, Region users, Region interviews, Region queryResults) {
+
+    private static final Region UNSET = new Region(null, null);
+
+    public SecondLevelCacheProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        users = (users != null ? users : UNSET).orElse(10_000L, Duration.ofMinutes(10));
+        interviews = (interviews != null ? interviews : UNSET).orElse(50_000L, Duration.ofMinutes(10));
+        queryResults = (queryResults != null ? queryResults : UNSET).orElse(10_000L, Duration.ofMinutes(5));
+    }
+
+    // Beyond maximumSize Caffeine evicts the entries least likely to be read again (W-TinyLFU); every entry
+    // also expires expireAfterWrite after it was put, which bounds how long a missed invalidation can serve
+    public record Region(Long maximumSize, Duration expireAfterWrite) {
+
+        Region orElse(Long defaultMaximumSize, Duration defaultExpireAfterWrite) {
+            return new Region(maximumSize != null ? maximumSize : defaultMaximumSize,
+                expireAfterWrite != null ? expireAfterWrite : defaultExpireAfterWrite);
+        }
+    }
+}
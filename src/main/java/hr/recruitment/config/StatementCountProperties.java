@@ -0,0 +1,13 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recruitment.statement-count")
+public record StatementCountProperties(Integer warnThreshold) {
+
+    public StatementCountProperties {
+        if (warnThreshold == null) {
+            warnThreshold = 20;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package hr.recruitment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recruitment.cache.user-lookup")
+public record UserLookupCacheProperties(Long maximumSize, Duration expireAfterWrite) {
+
+    public UserLookupCacheProperties {
+        if (maximumSize == null) {
+            maximumSize = 10_000L;
+        }
+        if (expireAfterWrite == null) {
+            expireAfterWrite = Duration.ofMinutes(10);
+        }
+    }
+}
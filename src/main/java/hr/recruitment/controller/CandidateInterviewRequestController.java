@@ -1,17 +1,25 @@
 package hr.recruitment.controller;
 
+import hr.recruitment.dto.CandidateInterviewDto;
+import hr.recruitment.dto.InterviewSlotDto;
 import hr.recruitment.dto.NewInterviewRequestDto;
+import hr.recruitment.dto.SlotRequestDto;
+import hr.recruitment.dto.UserIdentity;
 import hr.recruitment.model.Interview;
 import hr.recruitment.model.User;
 import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.InterviewScheduler;
 import hr.recruitment.service.InterviewService;
 import hr.recruitment.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/candidate")
 @RequiredArgsConstructor
@@ -20,9 +28,10 @@ public class CandidateInterviewRequestController {
     
     private final UserService userService;
     private final InterviewService interviewService;
+    private final InterviewScheduler interviewScheduler;
     
     @PostMapping("/{emailPrefix}/new-interview")
-    public ResponseEntity<Interview> createInterviewRequest(
+    public ResponseEntity<CandidateInterviewDto> createInterviewRequest(
             @PathVariable String emailPrefix,
             @Valid @RequestBody NewInterviewRequestDto requestDto) {
         try {
@@ -43,7 +52,7 @@ public class CandidateInterviewRequestController {
             // Save the interview
             Interview createdInterview = interviewService.createInterview(interview);
             
-            return new ResponseEntity<>(createdInterview, HttpStatus.CREATED);
+            return new ResponseEntity<>(CandidateInterviewDto.fromInterview(createdInterview), HttpStatus.CREATED);
             
         } catch (IllegalArgumentException e) {
             // User is not a candidate
@@ -55,20 +64,29 @@ public class CandidateInterviewRequestController {
     }
     
     @GetMapping("/{emailPrefix}/interviews")
-    public ResponseEntity<java.util.List<Interview>> getCandidateInterviews(@PathVariable String emailPrefix) {
+    public ResponseEntity<java.util.List<CandidateInterviewDto>> getCandidateInterviews(
+            @PathVariable String emailPrefix,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             // Get the candidate user by email prefix
-            User candidate = userService.getUserByEmailPrefix(emailPrefix);
+            UserIdentity candidate = userService.getUserIdentityByEmailPrefix(emailPrefix);
             
             // Verify that the user is actually a candidate
-            if (candidate.getRole() != Role.ROLE_CANDIDATE) {
+            if (candidate.role() != Role.ROLE_CANDIDATE) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Get all interviews for this candidate
-            java.util.List<Interview> interviews = interviewService.getInterviewsByUserId(candidate.getId());
+            // Polled by the cabinet page: an unchanged list is answered from the aggregate alone.
+            // Read before the list, so a body is never older than the ETag it is sent with
+            String eTag = EntityTags.of(interviewService.getCandidateInterviewsVersion(candidate.id()).tag());
+            if (EntityTags.notModified(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(EntityTags.REVALIDATE).build();
+            }
             
-            return ResponseEntity.ok(interviews);
+            // Get all interviews for this candidate, projected without the candidate entity
+            java.util.List<CandidateInterviewDto> interviews = interviewService.getCandidateInterviews(candidate.id());
+            
+            return ResponseEntity.ok().eTag(eTag).cacheControl(EntityTags.REVALIDATE).body(interviews);
             
         } catch (IllegalArgumentException e) {
             // User is not a candidate
@@ -78,4 +96,64 @@ public class CandidateInterviewRequestController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+    
+    @PutMapping("/{emailPrefix}/interviews/{interviewId}/slot")
+    public ResponseEntity<InterviewSlotDto> scheduleInterview(
+            @PathVariable String emailPrefix,
+            @PathVariable Long interviewId,
+            @Valid @RequestBody SlotRequestDto requestDto) {
+        try {
+            UserIdentity candidate = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (candidate.role() != Role.ROLE_CANDIDATE) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // A recruiter asked for by email prefix, otherwise whoever is free first
+            Long recruiterId = null;
+            if (requestDto.getRecruiter() != null) {
+                UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(requestDto.getRecruiter());
+                if (recruiter.role() != Role.ROLE_RECRUITER) {
+                    return ResponseEntity.badRequest().build();
+                }
+                recruiterId = recruiter.id();
+            }
+            
+            Duration length = requestDto.getDurationMinutes() != null ? Duration.ofMinutes(requestDto.getDurationMinutes()) : null;
+            return interviewScheduler.schedule(candidate.id(), interviewId, recruiterId,
+                    requestDto.getEarliestStart(), requestDto.getLatestEnd(), length)
+                .map(slot -> ResponseEntity.ok().eTag(EntityTags.of(slot.getVersion())).body(slot))
+                // No slot of that length free within the window
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+            
+        } catch (IllegalArgumentException e) {
+            // Window or duration out of bounds
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // Candidate, recruiter or interview not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @DeleteMapping("/{emailPrefix}/interviews/{interviewId}/slot")
+    public ResponseEntity<InterviewSlotDto> cancelInterview(
+            @PathVariable String emailPrefix,
+            @PathVariable Long interviewId) {
+        try {
+            UserIdentity candidate = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (candidate.role() != Role.ROLE_CANDIDATE) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // The slot is freed for others; the interview keeps it on record as cancelled
+            return interviewScheduler.cancel(candidate.id(), interviewId)
+                .map(slot -> ResponseEntity.ok().eTag(EntityTags.of(slot.getVersion())).body(slot))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+            
+        } catch (RuntimeException e) {
+            // Candidate not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package hr.recruitment.controller;
 
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateCabinetVersion;
 import hr.recruitment.dto.CandidateProfileDto;
 import hr.recruitment.dto.UpdateCvDto;
 import hr.recruitment.dto.UpdateInfoDto;
-import hr.recruitment.model.User;
-import hr.recruitment.model.enums.Role;
 import hr.recruitment.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,28 +23,40 @@ public class CandidateProfileController {
     private final UserService userService;
     
     @GetMapping("/{emailPrefix}")
-    public ResponseEntity<User> getCandidateProfile(@PathVariable String emailPrefix) {
+    public ResponseEntity<CandidateCabinetDto> getCandidateProfile(
+            @PathVariable String emailPrefix,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            User candidate = userService.getUserByEmailPrefix(emailPrefix);
-            
-            // Verify that the user is actually a candidate
-            if (candidate.getRole() != Role.ROLE_CANDIDATE) {
-                return ResponseEntity.badRequest().build();
+            // Polling clients revalidate against a cheap aggregate, the profile and interviews are only loaded
+            // when it moved. Read before them, so a body is never older than the ETag it is sent with
+            CandidateCabinetVersion version = userService.getCandidateCabinetVersion(emailPrefix);
+            String eTag = EntityTags.of(version.tag());
+            if (EntityTags.notModified(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(EntityTags.REVALIDATE).build();
             }
             
-            return ResponseEntity.ok(candidate);
+            // From the second-level cache when it matches the validator, else one query; no entity reaches Jackson
+            CandidateCabinetDto cabinet = userService.getCandidateCabinet(emailPrefix, version);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(EntityTags.REVALIDATE).body(cabinet);
+        } catch (IllegalArgumentException e) {
+            // User is not a candidate
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @PutMapping("/{emailPrefix}")
-    public ResponseEntity<User> updateCandidateProfile(
+    public ResponseEntity<CandidateCabinetDto> updateCandidateProfile(
             @PathVariable String emailPrefix,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CandidateProfileDto profileDto) {
         try {
-            User updatedCandidate = userService.updateCandidateProfileByEmailPrefix(emailPrefix, profileDto);
-            return ResponseEntity.ok(updatedCandidate);
+            return updated(userService.updateCandidateProfileByEmailPrefix(
+                emailPrefix, profileDto, EntityTags.expectedVersion(ifMatch)));
+        } catch (OptimisticLockingFailureException e) {
+            // Changed since the client read it
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
@@ -50,12 +65,22 @@ public class CandidateProfileController {
     }
     
     @PatchMapping("/{emailPrefix}/info")
-    public ResponseEntity<User> updateCandidateInfo(
+    public ResponseEntity<CandidateCabinetDto> updateCandidateInfo(
             @PathVariable String emailPrefix,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateInfoDto updateInfoDto) {
         try {
-            User updatedCandidate = userService.updateCandidateInfoByEmailPrefix(emailPrefix, updateInfoDto.getInfo());
-            return ResponseEntity.ok(updatedCandidate);
+            Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+            // A conditional update has to be checked now, so it bypasses the write-behind buffer
+            if (expectedVersion == null && userService.isProfileWriteBehindEnabled()) {
+                // Queued and coalesced with other autosaves, written within the write-behind window
+                userService.queueCandidateInfoByEmailPrefix(emailPrefix, updateInfoDto.getInfo());
+                return ResponseEntity.accepted().build();
+            }
+            return updated(userService.updateCandidateInfoByEmailPrefix(emailPrefix, updateInfoDto.getInfo(), expectedVersion));
+        } catch (OptimisticLockingFailureException e) {
+            // Changed since the client read it
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
@@ -64,16 +89,31 @@ public class CandidateProfileController {
     }
     
     @PatchMapping("/{emailPrefix}/cv")
-    public ResponseEntity<User> updateCandidateCV(
+    public ResponseEntity<CandidateCabinetDto> updateCandidateCV(
             @PathVariable String emailPrefix,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateCvDto updateCvDto) {
         try {
-            User updatedCandidate = userService.updateCandidateCVByEmailPrefix(emailPrefix, updateCvDto.getCv());
-            return ResponseEntity.ok(updatedCandidate);
+            Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+            // A conditional update has to be checked now, so it bypasses the write-behind buffer
+            if (expectedVersion == null && userService.isProfileWriteBehindEnabled()) {
+                // Queued and coalesced with other autosaves, written within the write-behind window
+                userService.queueCandidateCVByEmailPrefix(emailPrefix, updateCvDto.getCv());
+                return ResponseEntity.accepted().build();
+            }
+            return updated(userService.updateCandidateCVByEmailPrefix(emailPrefix, updateCvDto.getCv(), expectedVersion));
+        } catch (OptimisticLockingFailureException e) {
+            // Changed since the client read it
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+    
+    // The new version goes back as the ETag, so the client can chain conditional updates
+    private static ResponseEntity<CandidateCabinetDto> updated(CandidateCabinetDto candidate) {
+        return ResponseEntity.ok().eTag(EntityTags.of(candidate.getVersion())).body(candidate);
+    }
+}
@@ -0,0 +1,59 @@
+package hr.recruitment.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+
+import java.util.List;
+
+// Strong ETags built from row versions, e.g. "3" for a profile or "3.2.57.4" for a cabinet with its interviews.
+// Where a resource can be updated, the leading number is the version of the row the update goes through
+final class EntityTags {
+
+    // Personal data polled by its owner: clients may keep it, privately, but must revalidate on every use
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Versions start at 0, so this one never matches and the conditional update answers 412
+    private static final long NO_MATCH = -1L;
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return of(String.valueOf(version));
+    }
+
+    static String of(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    // Version an If-Match header requires, or null when the header is absent or "*".
+    // Weak, foreign or listed tags can never match a strong comparison against the current version
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() == 1 && tags.get(0).isWildcard()) {
+            return null;
+        }
+        if (tags.size() != 1 || tags.get(0).weak()) {
+            return NO_MATCH;
+        }
+        String tag = tags.get(0).tag();
+        int end = tag.indexOf('.');
+        try {
+            return Long.parseLong(end < 0 ? tag : tag.substring(0, end));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    // If-None-Match uses the weak comparison, and "*" matches any current representation
+    static boolean notModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(eTag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+}
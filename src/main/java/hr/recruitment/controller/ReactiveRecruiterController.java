@@ -0,0 +1,125 @@
+package hr.recruitment.controller;
+
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.ReactiveInterviewService;
+import hr.recruitment.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+// Non-blocking variants of the recruiter list endpoints, side by side with RecruiterController.
+// The request thread is released once the Flux is returned; rows then come off R2DBC as the client reads them.
+// The Accept header picks the format: application/x-ndjson streams rows in chunks of lines, text/event-stream one
+// event per row, both with backpressure; anything else gets a JSON array collected before it is written.
+// Only the NDJSON variants declare produces=, listing text/event-stream there would make MVC stream to */* clients
+@RestController
+@RequestMapping("/api/reactive/recruiter")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactiveRecruiterController {
+    
+    private final UserService userService;
+    private final ReactiveInterviewService reactiveInterviewService;
+    
+    @GetMapping("/{emailPrefix}/candidates")
+    public ResponseEntity<Flux<RecruiterCandidateViewDto>> getScoredCandidates(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view) {
+        try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            // Served from the user lookup cache, so the role check rarely touches the database
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            return ResponseEntity.ok(reactiveInterviewService.getScoredCandidateViews(viewMode));
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/all-interviews")
+    public ResponseEntity<Flux<RecruiterCandidateViewDto>> getAllInterviews(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view) {
+        try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            return ResponseEntity.ok(reactiveInterviewService.getCandidateViews(viewMode));
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping(value = "/{emailPrefix}/candidates", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<String>> streamScoredCandidates(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view) {
+        try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            return ResponseEntity.ok(reactiveInterviewService.getScoredCandidateViewLines(viewMode));
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping(value = "/{emailPrefix}/all-interviews", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<String>> streamAllInterviews(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view) {
+        try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            return ResponseEntity.ok(reactiveInterviewService.getCandidateViewLines(viewMode));
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
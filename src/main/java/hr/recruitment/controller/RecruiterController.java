@@ -1,17 +1,45 @@
 package hr.recruitment.controller;
 
+import hr.recruitment.dto.AvailabilityWindowDto;
+import hr.recruitment.dto.BulkScoreRequestDto;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateSearchResultDto;
+import hr.recruitment.dto.CursorPageDto;
+import hr.recruitment.dto.ExportFormat;
+import hr.recruitment.dto.ImportFormat;
+import hr.recruitment.dto.InterviewScoreDto;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.dto.PositionScoreStatsDto;
 import hr.recruitment.dto.RecruiterCandidateViewDto;
-import hr.recruitment.model.Interview;
-import hr.recruitment.model.User;
+import hr.recruitment.dto.ScoreUpdateResultDto;
+import hr.recruitment.dto.SkillIndexStatsDto;
+import hr.recruitment.dto.SkillMatchDto;
+import hr.recruitment.dto.UpdateScoreDto;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.dto.ViewMode;
 import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.CandidateImportService;
+import hr.recruitment.service.CandidateSkillIndex;
+import hr.recruitment.service.InterviewExportService;
+import hr.recruitment.service.InterviewScheduler;
 import hr.recruitment.service.InterviewService;
 import hr.recruitment.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/recruiter")
@@ -21,28 +49,34 @@ public class RecruiterController {
     
     private final UserService userService;
     private final InterviewService interviewService;
+    private final CandidateImportService candidateImportService;
+    private final InterviewExportService interviewExportService;
+    private final CandidateSkillIndex candidateSkillIndex;
+    private final InterviewScheduler interviewScheduler;
     
     @GetMapping("/{emailPrefix}/candidates")
-    public ResponseEntity<List<RecruiterCandidateViewDto>> getScoredCandidates(@PathVariable String emailPrefix) {
+    public ResponseEntity<List<RecruiterCandidateViewDto>> getScoredCandidates(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view) {
         try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
             // Get the recruiter user by email prefix
-            User recruiter = userService.getUserByEmailPrefix(emailPrefix);
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
             
             // Verify that the user is actually a recruiter
-            if (recruiter.getRole() != Role.ROLE_RECRUITER) {
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Get all interviews that have been scored (by any recruiter)
-            List<Interview> scoredInterviews = interviewService.getScoredInterviews();
-            
-            // Convert to DTO for front-end consumption
-            List<RecruiterCandidateViewDto> candidateViews = scoredInterviews.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            // Get all interviews that have been scored (by any recruiter), projected straight into DTOs
+            List<RecruiterCandidateViewDto> candidateViews = interviewService.getScoredCandidateViews(viewMode);
             
             return ResponseEntity.ok(candidateViews);
             
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             // User not found
             return ResponseEntity.notFound().build();
@@ -50,42 +84,393 @@ public class RecruiterController {
     }
     
     @GetMapping("/{emailPrefix}/all-interviews")
-    public ResponseEntity<List<RecruiterCandidateViewDto>> getAllInterviews(@PathVariable String emailPrefix) {
+    public ResponseEntity<List<RecruiterCandidateViewDto>> getAllInterviews(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view) {
         try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
             // Get the recruiter user by email prefix
-            User recruiter = userService.getUserByEmailPrefix(emailPrefix);
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
             
             // Verify that the user is actually a recruiter
-            if (recruiter.getRole() != Role.ROLE_RECRUITER) {
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Get all interviews in the system (scored and unscored)
-            List<Interview> allInterviews = interviewService.getAllInterviews();
-            
-            // Convert to DTO for front-end consumption
-            List<RecruiterCandidateViewDto> candidateViews = allInterviews.stream()
-                    .map(this::convertToDto)
-                    .collect(Collectors.toList());
+            // Get all interviews in the system (scored and unscored), projected straight into DTOs
+            List<RecruiterCandidateViewDto> candidateViews = interviewService.getCandidateViews(viewMode);
             
             return ResponseEntity.ok(candidateViews);
             
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/candidates/page")
+    public ResponseEntity<CursorPageDto<RecruiterCandidateViewDto>> getScoredCandidatesPage(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Keyset page of scored interviews, ordered by interview id
+            return ResponseEntity.ok(interviewService.getScoredCandidateViewsPage(viewMode, after, size));
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/all-interviews/page")
+    public ResponseEntity<CursorPageDto<RecruiterCandidateViewDto>> getAllInterviewsPage(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Keyset page of all interviews, ordered by interview id
+            return ResponseEntity.ok(interviewService.getCandidateViewsPage(viewMode, after, size));
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown view mode
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/candidates/search")
+    public ResponseEntity<CursorPageDto<CandidateSearchResultDto>> searchCandidates(
+            @PathVariable String emailPrefix,
+            @RequestParam String q,
+            @RequestParam(required = false) Long offset,
+            @RequestParam(required = false) Integer size) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Best matching candidates first, without loading their CVs
+            return ResponseEntity.ok(userService.searchCandidates(q, offset, size));
+            
+        } catch (IllegalArgumentException e) {
+            // Blank query or negative offset
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/candidates/skills")
+    public ResponseEntity<SkillMatchDto> matchCandidateSkills(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) List<String> all,
+            @RequestParam(required = false) List<String> any,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Candidates with all of "all" and at least one of "any", answered from memory
+            return ResponseEntity.ok(userService.matchCandidateSkills(all, any, after, size));
+            
+        } catch (IllegalArgumentException e) {
+            // No skills given
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/candidates/skills/stats")
+    public ResponseEntity<SkillIndexStatsDto> getSkillIndexStats(
+            @PathVariable String emailPrefix,
+            @RequestParam(defaultValue = "20") int top) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Memory used by the skill index, largest posting lists first
+            return ResponseEntity.ok(candidateSkillIndex.stats(Math.max(top, 0)));
+            
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/all-interviews/export")
+    public ResponseEntity<StreamingResponseBody> exportAllInterviews(
+            @PathVariable String emailPrefix,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String view) {
+        try {
+            ExportFormat exportFormat = ExportFormat.fromParam(format);
+            ViewMode viewMode = ViewMode.fromParam(view);
+            
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Rows are written as they come off the database cursor, nothing is collected in between
+            StreamingResponseBody export = output -> interviewExportService.exportCandidateViews(viewMode, exportFormat, output);
+            return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(export);
+            
+        } catch (IllegalArgumentException e) {
+            // Unknown format or view mode
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             // User not found
             return ResponseEntity.notFound().build();
         }
     }
     
-    private RecruiterCandidateViewDto convertToDto(Interview interview) {
-        RecruiterCandidateViewDto dto = new RecruiterCandidateViewDto();
-        dto.setInterviewId(interview.getId());
-        dto.setCandidateId(interview.getUser().getId());
-        dto.setCandidateName(interview.getUser().getName());
-        dto.setCandidateEmail(interview.getUser().getEmail());
-        dto.setPosition(interview.getPosition());
-        dto.setScore(interview.getScore());
-        dto.setCandidateInfo(interview.getUser().getInfo());
-        dto.setCandidateCv(interview.getUser().getCv());
-        return dto;
+    @GetMapping("/{emailPrefix}/candidates/{candidateId}/cv")
+    public ResponseEntity<CandidateCvDto> getCandidateCv(
+            @PathVariable String emailPrefix,
+            @PathVariable Long candidateId) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Info and CV of a single candidate, for use alongside the summary lists
+            return ResponseEntity.ok(userService.getCandidateCv(candidateId));
+            
+        } catch (RuntimeException e) {
+            // Recruiter or candidate not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/top")
+    public ResponseEntity<List<RecruiterCandidateViewDto>> getTopCandidates(
+            @PathVariable String emailPrefix,
+            @RequestParam String position,
+            @RequestParam(required = false) Integer k) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Best scored candidates for the position, served from the in-memory leaderboard
+            return ResponseEntity.ok(interviewService.getTopCandidates(position, k));
+            
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/analytics/positions")
+    public ResponseEntity<List<PositionScoreStatsDto>> getPositionStats(@PathVariable String emailPrefix) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Pending and scored counts with score statistics per position, from in-memory histograms
+            return ResponseEntity.ok(interviewService.getPositionStats());
+            
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/schedule")
+    public ResponseEntity<List<InterviewSlotDto>> getSchedule(
+            @PathVariable String emailPrefix,
+            @RequestParam Instant from,
+            @RequestParam Instant to) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // The recruiter's booked interviews overlapping [from, to), ordered by start
+            return ResponseEntity.ok(interviewScheduler.bookings(recruiter.id(), from, to));
+            
+        } catch (IllegalArgumentException e) {
+            // Window out of bounds
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/availability")
+    public ResponseEntity<List<AvailabilityWindowDto>> getAvailability(
+            @PathVariable String emailPrefix,
+            @RequestParam Instant from,
+            @RequestParam Instant to) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Free time within [from, to), from the recruiter's calendar in memory
+            return ResponseEntity.ok(interviewScheduler.availability(recruiter.id(), from, to));
+            
+        } catch (IllegalArgumentException e) {
+            // Window out of bounds
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/{emailPrefix}/interviews/{interviewId}")
+    public ResponseEntity<InterviewScoreDto> getInterview(
+            @PathVariable String emailPrefix,
+            @PathVariable Long interviewId) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // The version comes back as the ETag, to score against with If-Match
+            InterviewScoreDto interview = interviewService.getInterviewScore(interviewId);
+            return ResponseEntity.ok().eTag(EntityTags.of(interview.getVersion())).body(interview);
+            
+        } catch (RuntimeException e) {
+            // Recruiter or interview not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PutMapping("/{emailPrefix}/interviews/{interviewId}/score")
+    public ResponseEntity<InterviewScoreDto> updateScore(
+            @PathVariable String emailPrefix,
+            @PathVariable Long interviewId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateScoreDto updateScoreDto) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // With If-Match the score is only written if nobody changed the interview in between
+            InterviewScoreDto interview = interviewService.updateScore(
+                interviewId, updateScoreDto.getScore(), EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(EntityTags.of(interview.getVersion())).body(interview);
+            
+        } catch (OptimisticLockingFailureException e) {
+            // Scored by someone else since the client read it
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (RuntimeException e) {
+            // Recruiter or interview not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{emailPrefix}/scores")
+    public ResponseEntity<List<ScoreUpdateResultDto>> updateScores(
+            @PathVariable String emailPrefix,
+            @Valid @RequestBody BulkScoreRequestDto requestDto) {
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            // Score a whole session at once, each item reports UPDATED, NOT_FOUND or, when versioned, CONFLICT
+            return ResponseEntity.ok(interviewService.updateScores(requestDto.getScores()));
+            
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{emailPrefix}/candidates/import")
+    public ResponseEntity<StreamingResponseBody> importCandidates(
+            @PathVariable String emailPrefix,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request) throws IOException {
+        ImportFormat format;
+        try {
+            format = ImportFormat.fromContentType(contentType);
+        } catch (IllegalArgumentException e) {
+            // Neither CSV nor NDJSON
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        
+        try {
+            UserIdentity recruiter = userService.getUserIdentityByEmailPrefix(emailPrefix);
+            
+            if (recruiter.role() != Role.ROLE_RECRUITER) {
+                return ResponseEntity.badRequest().build();
+            }
+        } catch (RuntimeException e) {
+            // User not found
+            return ResponseEntity.notFound().build();
+        }
+        
+        // The upload is read while the report streams back, so neither is ever held in memory whole
+        InputStream upload = request.getInputStream();
+        StreamingResponseBody report = output -> candidateImportService.importCandidates(upload, format, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(report);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package hr.recruitment.dto;
+
+import java.time.Instant;
+
+// A stretch of a recruiter's time with no interview booked, half-open like the slots around it
+public record AvailabilityWindowDto(Instant startsAt, Instant endsAt) {
+}
@@ -0,0 +1,15 @@
+package hr.recruitment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkScoreRequestDto {
+    @NotEmpty(message = "At least one score is required")
+    @Size(max = 1000, message = "At most 1000 scores per request")
+    private List<@Valid ScoreUpdateDto> scores;
+}
@@ -0,0 +1,33 @@
+package hr.recruitment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hr.recruitment.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Candidate profile as returned by the cabinet endpoints, detached from the entity graph
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateCabinetDto {
+    private Long id;
+    private String name;
+    private String email;
+    private String info;
+    private String cv;
+    // Only filled in by the profile GET, the update responses leave it out
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CandidateInterviewDto> interviews;
+    // Profile version, sent as the ETag header
+    @JsonIgnore
+    private Long version;
+
+    public static CandidateCabinetDto fromUser(User user) {
+        return new CandidateCabinetDto(user.getId(), user.getName(), user.getEmail(), user.getInfo(), user.getCv(),
+            null, user.getVersion());
+    }
+}
@@ -0,0 +1,18 @@
+package hr.recruitment.dto;
+
+import hr.recruitment.model.enums.Role;
+
+// What the cabinet ETag is computed from, read without loading the profile or the interviews
+public record CandidateCabinetVersion(Long candidateId, Role role, Long profileVersion, InterviewListVersion interviews) {
+
+    // Flat form for the JPQL constructor expression
+    public CandidateCabinetVersion(Long candidateId, Role role, Long profileVersion, Long interviewCount, Long interviewIdSum,
+                                   Long interviewVersionSum) {
+        this(candidateId, role, profileVersion, new InterviewListVersion(interviewCount, interviewIdSum, interviewVersionSum));
+    }
+
+    // Profile version first, so If-Match on the profile updates accepts the cabinet ETag too
+    public String tag() {
+        return profileVersion + "." + interviews.tag();
+    }
+}
@@ -0,0 +1,14 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateCvDto {
+    private Long candidateId;
+    private String candidateInfo;
+    private String candidateCv;
+}
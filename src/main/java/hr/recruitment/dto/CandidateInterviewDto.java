@@ -0,0 +1,32 @@
+package hr.recruitment.dto;
+
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.enums.InterviewStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// A candidate's own interview, without the candidate it belongs to
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateInterviewDto {
+    private Long interviewId;
+    private String position;
+    private int score;
+    private InterviewStatus status;
+    // The booked slot, when the interview is scheduled or was before it was cancelled
+    private Instant startsAt;
+    private Instant endsAt;
+
+    public CandidateInterviewDto(Long interviewId, String position, int score) {
+        this(interviewId, position, score, InterviewStatus.REQUESTED, null, null);
+    }
+
+    public static CandidateInterviewDto fromInterview(Interview interview) {
+        return new CandidateInterviewDto(interview.getId(), interview.getPosition(), interview.getScore(),
+            interview.getStatus(), interview.getStartsAt(), interview.getEndsAt());
+    }
+}
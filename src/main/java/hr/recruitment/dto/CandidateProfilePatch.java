@@ -0,0 +1,28 @@
+package hr.recruitment.dto;
+
+// Pending change to one candidate's profile. A null name keeps the stored one; info and cv are only
+// written when set, and a set field may be null to clear it.
+public record CandidateProfilePatch(Long candidateId, String name, boolean infoSet, String info, boolean cvSet, String cv) {
+
+    public static CandidateProfilePatch info(Long candidateId, String info) {
+        return new CandidateProfilePatch(candidateId, null, true, info, false, null);
+    }
+
+    public static CandidateProfilePatch cv(Long candidateId, String cv) {
+        return new CandidateProfilePatch(candidateId, null, false, null, true, cv);
+    }
+
+    // Full profile update: the name always, info and cv only when given
+    public static CandidateProfilePatch profile(Long candidateId, CandidateProfileDto profile) {
+        return new CandidateProfilePatch(candidateId, profile.getName(),
+            profile.getInfo() != null, profile.getInfo(), profile.getCv() != null, profile.getCv());
+    }
+
+    // Fields set in the newer patch win, the rest are kept from this one
+    public CandidateProfilePatch mergedWith(CandidateProfilePatch newer) {
+        return new CandidateProfilePatch(candidateId,
+            newer.name != null ? newer.name : name,
+            infoSet || newer.infoSet, newer.infoSet ? newer.info : info,
+            cvSet || newer.cvSet, newer.cvSet ? newer.cv : cv);
+    }
+}
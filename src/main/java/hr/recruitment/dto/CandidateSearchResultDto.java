@@ -0,0 +1,16 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResultDto {
+    private Long candidateId;
+    private String candidateName;
+    private String candidateEmail;
+    // ts_rank of the match, higher is better
+    private float rank;
+}
@@ -0,0 +1,17 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    private int size;
+    // Cursor to pass back for the next page ("after" id, or "offset" for search), null when there are no more rows
+    private Long nextCursor;
+}
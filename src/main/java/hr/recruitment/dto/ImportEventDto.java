@@ -0,0 +1,39 @@
+package hr.recruitment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the NDJSON import report
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEventDto {
+    private Type type;
+    // 1-based record in the upload the error refers to (CSV header and blank NDJSON lines not counted)
+    private Long row;
+    private String message;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+
+    public enum Type {
+        ERROR,
+        PROGRESS,
+        SUMMARY
+    }
+
+    public static ImportEventDto error(long row, String message) {
+        return new ImportEventDto(Type.ERROR, row, message, null, null, null);
+    }
+
+    public static ImportEventDto progress(long processed, long imported, long failed) {
+        return new ImportEventDto(Type.PROGRESS, null, null, processed, imported, failed);
+    }
+
+    public static ImportEventDto summary(long processed, long imported, long failed) {
+        return new ImportEventDto(Type.SUMMARY, null, null, processed, imported, failed);
+    }
+}
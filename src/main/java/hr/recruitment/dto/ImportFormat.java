@@ -0,0 +1,25 @@
+package hr.recruitment.dto;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    // Header row with name and email columns, info and cv optional
+    CSV,
+    // One JSON object per line
+    NDJSON;
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            throw new IllegalArgumentException("Content-Type is required");
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                || mediaType.isCompatibleWith(MediaType.parseMediaType("application/jsonl"))) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
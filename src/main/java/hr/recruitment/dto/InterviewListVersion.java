@@ -0,0 +1,25 @@
+package hr.recruitment.dto;
+
+import hr.recruitment.model.Interview;
+
+import java.util.Collection;
+
+// Aggregate over a candidate's interview rows that changes whenever the list does: the count and id sum
+// catch inserts and deletes (new ids are always above the removed ones), the version sum catches updates
+public record InterviewListVersion(Long count, Long idSum, Long versionSum) {
+
+    // The same aggregate over interviews already loaded
+    public static InterviewListVersion of(Collection<Interview> interviews) {
+        long idSum = 0;
+        long versionSum = 0;
+        for (Interview interview : interviews) {
+            idSum += interview.getId();
+            versionSum += interview.getVersion();
+        }
+        return new InterviewListVersion((long) interviews.size(), idSum, versionSum);
+    }
+
+    public String tag() {
+        return count + "." + idSum + "." + versionSum;
+    }
+}
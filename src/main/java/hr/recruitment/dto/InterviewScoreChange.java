@@ -0,0 +1,5 @@
+package hr.recruitment.dto;
+
+// Outcome of a single score update: the interview as written and the score it replaced
+public record InterviewScoreChange(InterviewScoreDto interview, int previousScore) {
+}
@@ -0,0 +1,25 @@
+package hr.recruitment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A single interview as scored by a recruiter; the version travels as the ETag header, not in the body
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewScoreDto {
+    private Long interviewId;
+    private Long candidateId;
+    private String candidateName;
+    private String candidateEmail;
+    private String position;
+    private int score;
+    @JsonIgnore
+    private Long version;
+
+    public RecruiterCandidateViewDto toSummary() {
+        return new RecruiterCandidateSummaryDto(interviewId, candidateId, candidateName, candidateEmail, position, score);
+    }
+}
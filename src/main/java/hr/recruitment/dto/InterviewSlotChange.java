@@ -0,0 +1,5 @@
+package hr.recruitment.dto;
+
+// Outcome of booking a slot: the slot as written and the recruiter whose slot it replaced, if it replaced one
+public record InterviewSlotChange(InterviewSlotDto slot, Long previousRecruiterId) {
+}
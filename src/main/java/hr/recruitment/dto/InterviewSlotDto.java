@@ -0,0 +1,24 @@
+package hr.recruitment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import hr.recruitment.model.enums.InterviewStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// An interview's slot as booked or cancelled; the version travels as the ETag header, not in the body
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewSlotDto {
+    private Long interviewId;
+    private Long candidateId;
+    private Long recruiterId;
+    private InterviewStatus status;
+    private Instant startsAt;
+    private Instant endsAt;
+    @JsonIgnore
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Score distribution of one position. Pending interviews (score 0) are counted but left out of the
+// statistics, which cover scored interviews only and are null while a position has none.
+// Median and p90 are nearest-rank percentiles, so they are always scores that were actually given.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionScoreStatsDto {
+    private String position;
+    private long interviews;
+    private long pending;
+    private long scored;
+    private Double averageScore;
+    private Integer minScore;
+    private Integer medianScore;
+    private Integer p90Score;
+    private Integer maxScore;
+}
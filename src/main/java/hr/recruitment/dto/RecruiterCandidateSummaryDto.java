@@ -0,0 +1,14 @@
+package hr.recruitment.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// The "summary" view, see ViewMode: the unbounded info/CV text columns are never loaded,
+// so their keys are left out of the JSON instead of being sent as null
+@JsonIgnoreProperties({"candidateInfo", "candidateCv"})
+public class RecruiterCandidateSummaryDto extends RecruiterCandidateViewDto {
+
+    public RecruiterCandidateSummaryDto(Long interviewId, Long candidateId, String candidateName,
+                                        String candidateEmail, String position, int score) {
+        super(interviewId, candidateId, candidateName, candidateEmail, position, score, null, null);
+    }
+}
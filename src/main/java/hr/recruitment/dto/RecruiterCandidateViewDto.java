@@ -1,8 +1,13 @@
 package hr.recruitment.dto;
 
+import hr.recruitment.model.Interview;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class RecruiterCandidateViewDto {
     private Long interviewId;
     private Long candidateId;
@@ -12,4 +17,18 @@ public class RecruiterCandidateViewDto {
     private int score;
     private String candidateInfo;
     private String candidateCv;
-}
\ No newline at end of file
+
+    // Entity-based mapping, kept for callers that already hold a loaded Interview
+    public static RecruiterCandidateViewDto fromInterview(Interview interview) {
+        RecruiterCandidateViewDto dto = new RecruiterCandidateViewDto();
+        dto.setInterviewId(interview.getId());
+        dto.setCandidateId(interview.getUser().getId());
+        dto.setCandidateName(interview.getUser().getName());
+        dto.setCandidateEmail(interview.getUser().getEmail());
+        dto.setPosition(interview.getPosition());
+        dto.setScore(interview.getScore());
+        dto.setCandidateInfo(interview.getUser().getInfo());
+        dto.setCandidateCv(interview.getUser().getCv());
+        return dto;
+    }
+}
@@ -0,0 +1,5 @@
+package hr.recruitment.dto;
+
+// One row of the interview_score_histogram materialized view: how many interviews of a position have a score
+public record ScoreHistogramBucket(String position, int score, long interviews) {
+}
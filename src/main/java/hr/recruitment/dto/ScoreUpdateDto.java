@@ -0,0 +1,24 @@
+package hr.recruitment.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreUpdateDto {
+    @NotNull(message = "Interview id is required")
+    private Long interviewId;
+
+    @NotNull(message = "Score is required")
+    private Integer score;
+
+    // Version the recruiter scored against; when given, the update only applies if it is still current
+    private Long version;
+
+    public ScoreUpdateDto(Long interviewId, Integer score) {
+        this(interviewId, score, null);
+    }
+}
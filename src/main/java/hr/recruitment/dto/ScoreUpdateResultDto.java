@@ -0,0 +1,21 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreUpdateResultDto {
+    private Long interviewId;
+    private int score;
+    private Status status;
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        // The interview changed since the given version, nothing was written
+        CONFLICT
+    }
+}
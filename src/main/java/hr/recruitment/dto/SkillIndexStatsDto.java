@@ -0,0 +1,18 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillIndexStatsDto {
+    private int terms;
+    private long candidates;
+    // Sum of all posting list sizes
+    private long totalBytes;
+    private List<SkillTermStatsDto> largestTerms;
+}
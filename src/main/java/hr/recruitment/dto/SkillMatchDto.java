@@ -0,0 +1,18 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMatchDto {
+    // All matching candidates, not just this page
+    private long total;
+    private List<Long> candidateIds;
+    // Id to pass as "after" to fetch the next page, null when there are no more ids
+    private Long nextCursor;
+}
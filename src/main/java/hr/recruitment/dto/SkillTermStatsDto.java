@@ -0,0 +1,15 @@
+package hr.recruitment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillTermStatsDto {
+    private String term;
+    private int candidates;
+    // Size of the term's compressed posting list
+    private long bytes;
+}
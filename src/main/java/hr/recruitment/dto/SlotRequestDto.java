@@ -0,0 +1,20 @@
+package hr.recruitment.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.Instant;
+
+// The window a candidate can make, the earliest slot inside it is booked.
+// Without a duration the configured default applies, without a recruiter (email prefix) any recruiter may take it
+@Data
+public class SlotRequestDto {
+    @NotNull(message = "Earliest start is required")
+    private Instant earliestStart;
+    @NotNull(message = "Latest end is required")
+    private Instant latestEnd;
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+    private String recruiter;
+}
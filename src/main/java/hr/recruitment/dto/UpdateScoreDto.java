@@ -0,0 +1,10 @@
+package hr.recruitment.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateScoreDto {
+    @NotNull(message = "Score is required")
+    private Integer score;
+}
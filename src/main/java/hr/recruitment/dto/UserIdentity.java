@@ -0,0 +1,12 @@
+package hr.recruitment.dto;
+
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+
+// Just enough of a user to authorize a request, small enough to cache
+public record UserIdentity(Long id, Role role) {
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), user.getRole());
+    }
+}
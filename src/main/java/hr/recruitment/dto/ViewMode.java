@@ -0,0 +1,21 @@
+package hr.recruitment.dto;
+
+import java.util.Locale;
+
+public enum ViewMode {
+    // Candidate name, email, position and score only
+    SUMMARY,
+    // Summary plus candidate info and CV
+    FULL;
+
+    public static ViewMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return ViewMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown view mode: " + value);
+        }
+    }
+}
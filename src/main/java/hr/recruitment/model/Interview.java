@@ -1,12 +1,22 @@
 package hr.recruitment.model;
 
+import hr.recruitment.model.enums.InterviewStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.Instant;
 
 @Data
 @Entity
 @Table(name = "interviews")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Interview.CACHE_REGION)
 public class Interview {
+    // Second-level cache region, sized by recruitment.cache.second-level.interviews
+    public static final String CACHE_REGION = "interviews";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,4 +28,19 @@ public class Interview {
     private int score;
 
     private String position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InterviewStatus status = InterviewStatus.REQUESTED;
+
+    // The slot, set by InterviewScheduler. The recruiter is kept by id, so loading an interview never joins a second user
+    private Long recruiterId;
+
+    private Instant startsAt;
+
+    private Instant endsAt;
+
+    // Optimistic lock, also served as the interview's ETag
+    @Version
+    private Long version;
 }
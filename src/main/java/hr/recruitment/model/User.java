@@ -1,14 +1,22 @@
 package hr.recruitment.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import hr.recruitment.model.enums.Role;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Data
 @Entity
 @Table( name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 public class User {
+    // Second-level cache region, sized by recruitment.cache.second-level.users
+    public static final String CACHE_REGION = "users";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -18,6 +26,11 @@ public class User {
     @Column(unique = true)
     private String email;
 
+    // Part of the email before @, kept in sync with email and used for email prefix lookups
+    @JsonIgnore
+    @Column(name = "email_local_part", unique = true, nullable = false)
+    private String emailLocalPart;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role;
@@ -29,4 +42,20 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Interview> interviews;
 
+    // Optimistic lock, also served as the candidate profile's ETag
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void syncEmailLocalPart() {
+        if (email != null) {
+            emailLocalPart = localPartOf(email);
+        }
+    }
+
+    public static String localPartOf(String email) {
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
 }
@@ -0,0 +1,8 @@
+package hr.recruitment.model.enums;
+
+public enum InterviewStatus {
+    REQUESTED,
+    SCHEDULED,
+    CANCELLED
+
+}
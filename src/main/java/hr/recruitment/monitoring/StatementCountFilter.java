@@ -0,0 +1,51 @@
+package hr.recruitment.monitoring;
+
+import hr.recruitment.config.StatementCountProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records the number of SQL statements each request issues and warns when one exceeds the threshold,
+// which is how an N+1 regression (lazy collections loaded per row) shows up
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final StatementCountProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            chain.doFilter(request, response);
+
+            // Route template rather than the raw path, so the uri tag stays low-cardinality
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("http.server.requests.statements")
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(scope.count());
+
+            if (scope.count() > properties.warnThreshold()) {
+                log.warn("{} SQL statements for {} {} (threshold {})",
+                        scope.count(), request.getMethod(), request.getRequestURI(), properties.warnThreshold());
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package hr.recruitment.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// Counts every statement executed through the application's DataSource towards the StatementCounter scopes
+// open on the thread: Hibernate's and the JdbcTemplate writers' alike. A batch is one statement, as it is one
+// round trip. The COPY of the bulk import goes through the driver's CopyManager and is not seen here.
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTIONS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            // createStatement, prepareStatement and prepareCall
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return counting(method.getReturnType(), statement);
+            }
+            return result;
+        });
+    }
+
+    private static <T> T counting(Class<T> type, Statement statement) {
+        return proxy(type, (proxy, method, args) -> {
+            if (EXECUTIONS.contains(method.getName())) {
+                StatementCounter.record();
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    // Equal only to itself: Hibernate keys its open statements by them
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+            new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handler.invoke(proxy, method, args);
+            }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,14 +1,142 @@
 package hr.recruitment.repository;
 
+import hr.recruitment.dto.CandidateInterviewDto;
+import hr.recruitment.dto.InterviewListVersion;
+import hr.recruitment.dto.InterviewScoreDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
 import hr.recruitment.model.Interview;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface InterviewRepository extends JpaRepository<Interview, Long> {
+public interface InterviewRepository extends JpaRepository<Interview, Long>, InterviewRepositoryCustom {
+    // Rows per round trip when streaming exports
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // Query cache, invalidated by any write Hibernate makes to interviews; plain SQL score updates leave
+    // the id list as it is and evict only the rows
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Interview> findByUserId(Long userId);
+
     List<Interview> findByPosition(String position);
+
+    @Query("select distinct i.position from Interview i where i.user.id = :userId")
+    List<String> findPositionsByUserId(@Param("userId") Long userId);
     List<Interview> findByScoreGreaterThan(int score);
+
+    // A candidate's interviews without hydrating the eager Interview.user
+    @Query("select new hr.recruitment.dto.CandidateInterviewDto(i.id, i.position, i.score, i.status, i.startsAt, i.endsAt) " +
+           "from Interview i where i.user.id = :userId order by i.id")
+    List<CandidateInterviewDto> findCandidateInterviewsByUserId(@Param("userId") Long userId);
+
+    // Validator for the list above, read through idx_interviews_user_id
+    @Query("select new hr.recruitment.dto.InterviewListVersion(" +
+           "count(i), coalesce(sum(i.id), 0L), coalesce(sum(i.version), 0L)) " +
+           "from Interview i where i.user.id = :userId")
+    InterviewListVersion findInterviewListVersionByUserId(@Param("userId") Long userId);
+
+    // Recruiter views built straight from one interviews JOIN users query, no entity hydration
+    @Query("select new hr.recruitment.dto.RecruiterCandidateViewDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score, u.info, u.cv) " +
+           "from Interview i join i.user u " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateViews();
+
+    @Query("select new hr.recruitment.dto.RecruiterCandidateViewDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score, u.info, u.cv) " +
+           "from Interview i join i.user u " +
+           "where i.score > :minScore " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateViewsByScoreGreaterThan(@Param("minScore") int minScore);
+
+    // Keyset pagination on the interview id
+    @Query("select new hr.recruitment.dto.RecruiterCandidateViewDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score, u.info, u.cv) " +
+           "from Interview i join i.user u " +
+           "where i.id > :afterId " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateViewsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select new hr.recruitment.dto.RecruiterCandidateViewDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score, u.info, u.cv) " +
+           "from Interview i join i.user u " +
+           "where i.score > :minScore and i.id > :afterId " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateViewsByScoreGreaterThanAfter(@Param("minScore") int minScore,
+                                                                             @Param("afterId") long afterId,
+                                                                             Limit limit);
+
+    // Summary variants leave info and cv out of the SELECT list entirely
+    @Query("select new hr.recruitment.dto.RecruiterCandidateSummaryDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score) " +
+           "from Interview i join i.user u " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateSummaries();
+
+    @Query("select new hr.recruitment.dto.RecruiterCandidateSummaryDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score) " +
+           "from Interview i join i.user u " +
+           "where i.score > :minScore " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateSummariesByScoreGreaterThan(@Param("minScore") int minScore);
+
+    @Query("select new hr.recruitment.dto.RecruiterCandidateSummaryDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score) " +
+           "from Interview i join i.user u " +
+           "where i.id > :afterId " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateSummariesAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select new hr.recruitment.dto.RecruiterCandidateSummaryDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score) " +
+           "from Interview i join i.user u " +
+           "where i.score > :minScore and i.id > :afterId " +
+           "order by i.id")
+    List<RecruiterCandidateViewDto> findCandidateSummariesByScoreGreaterThanAfter(@Param("minScore") int minScore,
+                                                                                 @Param("afterId") long afterId,
+                                                                                 Limit limit);
+
+    // Leaderboard of scored interviews for one position, served by idx_interviews_position_score
+    @Query("select new hr.recruitment.dto.RecruiterCandidateSummaryDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score) " +
+           "from Interview i join i.user u " +
+           "where i.position = :position and i.score > 0 " +
+           "order by i.score desc, i.id")
+    List<RecruiterCandidateViewDto> findTopCandidateViewsByPosition(@Param("position") String position, Limit limit);
+
+    @Query("select new hr.recruitment.dto.InterviewScoreDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score, i.version) " +
+           "from Interview i join i.user u " +
+           "where i.id = :id")
+    Optional<InterviewScoreDto> findScoreById(@Param("id") Long id);
+
+    @Query("select i.id from Interview i where i.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Forward-only cursor over every interview for exports. Must be consumed inside a transaction,
+    // otherwise the PostgreSQL driver ignores the fetch size and buffers the whole result
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new hr.recruitment.dto.RecruiterCandidateViewDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score, u.info, u.cv) " +
+           "from Interview i join i.user u " +
+           "order by i.id")
+    Stream<RecruiterCandidateViewDto> streamCandidateViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new hr.recruitment.dto.RecruiterCandidateSummaryDto(" +
+           "i.id, u.id, u.name, u.email, i.position, i.score) " +
+           "from Interview i join i.user u " +
+           "order by i.id")
+    Stream<RecruiterCandidateViewDto> streamCandidateSummaries();
 }
@@ -0,0 +1,39 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.InterviewScoreChange;
+import hr.recruitment.dto.InterviewSlotChange;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ScoreHistogramBucket;
+import hr.recruitment.dto.ScoreUpdateDto;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface InterviewRepositoryCustom {
+    // Row counts per update, in input order; 0 for a missing interview or a stale version
+    int[] batchUpdateScores(List<ScoreUpdateDto> updates);
+
+    // Sets the score and bumps the version, only while the version still equals expectedVersion when one is given.
+    // Empty when the interview is missing or the version has moved on
+    Optional<InterviewScoreChange> updateScore(Long interviewId, int score, Long expectedVersion);
+
+    // Summaries of the given interviews, row-locked until the surrounding transaction ends so they stay
+    // exactly what the caller is about to overwrite. Must run inside a transaction
+    List<RecruiterCandidateViewDto> lockCandidateSummariesByIdIn(Collection<Long> ids);
+
+    // Refreshes the interview_score_histogram view and reads it back, one row per (position, score)
+    List<ScoreHistogramBucket> refreshScoreHistogram();
+
+    // Books the slot for the candidate's interview, replacing any slot it had. Empty when the interview is missing
+    // or not the candidate's. Throws DataIntegrityViolationException when the recruiter is already booked then
+    Optional<InterviewSlotChange> assignSlot(Long interviewId, Long candidateId, Long recruiterId, Instant startsAt, Instant endsAt);
+
+    // Cancels the candidate's booked slot. Empty when the interview is missing, not the candidate's or not scheduled
+    Optional<InterviewSlotDto> cancelSlot(Long interviewId, Long candidateId);
+
+    // The recruiter's booked slots overlapping [from, to), ordered by start; a null bound is open
+    List<InterviewSlotDto> findScheduledSlots(Long recruiterId, Instant from, Instant to);
+}
@@ -0,0 +1,170 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.InterviewScoreChange;
+import hr.recruitment.dto.InterviewScoreDto;
+import hr.recruitment.dto.InterviewSlotChange;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ScoreHistogramBucket;
+import hr.recruitment.dto.ScoreUpdateDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.enums.InterviewStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class InterviewRepositoryImpl implements InterviewRepositoryCustom {
+
+    private static final String SLOT_COLUMNS = "i.id, i.user_id, i.recruiter_id, i.status, i.starts_at, i.ends_at, i.version";
+
+    private static final RowMapper<InterviewSlotDto> SLOT_MAPPER = (resultSet, rowNum) -> new InterviewSlotDto(
+        resultSet.getLong("id"),
+        resultSet.getLong("user_id"),
+        resultSet.getObject("recruiter_id", Long.class),
+        InterviewStatus.valueOf(resultSet.getString("status")),
+        toInstant(resultSet.getObject("starts_at", OffsetDateTime.class)),
+        toInstant(resultSet.getObject("ends_at", OffsetDateTime.class)),
+        resultSet.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCache secondLevelCache;
+
+    @Override
+    public int[] batchUpdateScores(List<ScoreUpdateDto> updates) {
+        // One JDBC batch, sent to PostgreSQL in a single round trip.
+        // A null version matches any row, so unversioned items are plain overwrites
+        int[] updated = jdbcTemplate.batchUpdate(
+            "UPDATE interviews SET score = ?, version = version + 1 WHERE id = ? AND version = COALESCE(?, version)",
+            updates,
+            updates.size(),
+            (statement, update) -> {
+                statement.setInt(1, update.getScore());
+                statement.setLong(2, update.getInterviewId());
+                statement.setObject(3, update.getVersion(), Types.BIGINT);
+            })[0];
+        secondLevelCache.evict(Interview.class, updates.stream().map(ScoreUpdateDto::getInterviewId).toList());
+        return updated;
+    }
+
+    // Compare-and-set in one statement, so concurrent scorers never need a lock or a prior read.
+    // The CTE locks the row before the UPDATE reads it, which makes the score it returns exactly the one replaced
+    @Override
+    public Optional<InterviewScoreChange> updateScore(Long interviewId, int score, Long expectedVersion) {
+        List<InterviewScoreChange> updated = jdbcTemplate.query(
+            "WITH previous AS (SELECT id, score FROM interviews WHERE id = ? FOR NO KEY UPDATE) " +
+            "UPDATE interviews i SET score = ?, version = i.version + 1 " +
+            "FROM previous p, users u " +
+            "WHERE i.id = p.id AND i.version = COALESCE(CAST(? AS bigint), i.version) AND u.id = i.user_id " +
+            "RETURNING i.id, u.id AS user_id, u.name, u.email, i.position, i.score, i.version, p.score AS previous_score",
+            (resultSet, rowNum) -> new InterviewScoreChange(
+                new InterviewScoreDto(
+                    resultSet.getLong("id"),
+                    resultSet.getLong("user_id"),
+                    resultSet.getString("name"),
+                    resultSet.getString("email"),
+                    resultSet.getString("position"),
+                    resultSet.getInt("score"),
+                    resultSet.getLong("version")),
+                resultSet.getInt("previous_score")),
+            interviewId, score, expectedVersion);
+        if (!updated.isEmpty()) {
+            secondLevelCache.evict(Interview.class, interviewId);
+        }
+        return updated.stream().findFirst();
+    }
+
+    // Locks in id order, so two batches over overlapping interviews queue up instead of deadlocking
+    @Override
+    public List<RecruiterCandidateViewDto> lockCandidateSummariesByIdIn(Collection<Long> ids) {
+        return jdbcTemplate.query(
+            "SELECT i.id, u.id AS user_id, u.name, u.email, i.position, i.score " +
+            "FROM interviews i JOIN users u ON u.id = i.user_id " +
+            "WHERE i.id = ANY(?) ORDER BY i.id FOR NO KEY UPDATE OF i",
+            (resultSet, rowNum) -> new RecruiterCandidateSummaryDto(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                resultSet.getString("name"),
+                resultSet.getString("email"),
+                resultSet.getString("position"),
+                resultSet.getInt("score")),
+            (Object) ids.toArray(Long[]::new));
+    }
+
+    // The exclusion constraint, not this statement, decides whether the slot is free: a concurrent booking of an
+    // overlapping slot for the same recruiter makes one of the two fail, however stale the caller's calendar was.
+    // The CTE locks the row before the UPDATE reads it, which makes the recruiter it returns exactly the one replaced
+    @Override
+    public Optional<InterviewSlotChange> assignSlot(Long interviewId, Long candidateId, Long recruiterId,
+                                                    Instant startsAt, Instant endsAt) {
+        List<InterviewSlotChange> assigned = jdbcTemplate.query(
+            "WITH previous AS (SELECT id, recruiter_id, status FROM interviews WHERE id = ? AND user_id = ? FOR NO KEY UPDATE) " +
+            "UPDATE interviews i SET status = 'SCHEDULED', recruiter_id = ?, starts_at = ?, ends_at = ?, version = i.version + 1 " +
+            "FROM previous p " +
+            "WHERE i.id = p.id " +
+            "RETURNING " + SLOT_COLUMNS + ", CASE WHEN p.status = 'SCHEDULED' THEN p.recruiter_id END AS previous_recruiter_id",
+            (resultSet, rowNum) -> new InterviewSlotChange(
+                SLOT_MAPPER.mapRow(resultSet, rowNum),
+                resultSet.getObject("previous_recruiter_id", Long.class)),
+            interviewId, candidateId, recruiterId, toTimestamp(startsAt), toTimestamp(endsAt));
+        if (!assigned.isEmpty()) {
+            secondLevelCache.evict(Interview.class, interviewId);
+        }
+        return assigned.stream().findFirst();
+    }
+
+    @Override
+    public Optional<InterviewSlotDto> cancelSlot(Long interviewId, Long candidateId) {
+        List<InterviewSlotDto> cancelled = jdbcTemplate.query(
+            "UPDATE interviews i SET status = 'CANCELLED', version = i.version + 1 " +
+            "WHERE i.id = ? AND i.user_id = ? AND i.status = 'SCHEDULED' " +
+            "RETURNING " + SLOT_COLUMNS,
+            SLOT_MAPPER,
+            interviewId, candidateId);
+        if (!cancelled.isEmpty()) {
+            secondLevelCache.evict(Interview.class, interviewId);
+        }
+        return cancelled.stream().findFirst();
+    }
+
+    // Written as the constraint's own expressions, so the GiST index behind excl_interviews_recruiter_slot serves it
+    @Override
+    public List<InterviewSlotDto> findScheduledSlots(Long recruiterId, Instant from, Instant to) {
+        return jdbcTemplate.query(
+            "SELECT " + SLOT_COLUMNS + " FROM interviews i " +
+            "WHERE i.recruiter_id = ? AND i.status = 'SCHEDULED' " +
+            "AND tstzrange(i.starts_at, i.ends_at) && tstzrange(?, ?) " +
+            "ORDER BY i.starts_at",
+            SLOT_MAPPER,
+            recruiterId, toTimestamp(from), toTimestamp(to));
+    }
+
+    // CONCURRENTLY keeps the view readable during the refresh, at the price of diffing it against the new contents
+    @Override
+    public List<ScoreHistogramBucket> refreshScoreHistogram() {
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY interview_score_histogram");
+        return jdbcTemplate.query(
+            "SELECT position, score, interviews FROM interview_score_histogram",
+            (resultSet, rowNum) -> new ScoreHistogramBucket(
+                resultSet.getString("position"),
+                resultSet.getInt("score"),
+                resultSet.getLong("interviews")));
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static Instant toInstant(OffsetDateTime timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
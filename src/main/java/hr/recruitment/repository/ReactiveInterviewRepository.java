@@ -0,0 +1,79 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Recruiter views over R2DBC, the same SQL as the InterviewRepository projections. Rows are fetched from a
+// PostgreSQL cursor as subscribers request them, so a slow reader holds neither a thread nor a JDBC connection
+@Repository
+@RequiredArgsConstructor
+public class ReactiveInterviewRepository {
+
+    // Rows per cursor fetch; the next batch is only requested once downstream demand reaches it
+    private static final int FETCH_SIZE = 500;
+
+    private static final String VIEW_SELECT =
+        "SELECT i.id, u.id AS user_id, u.name, u.email, i.position, i.score, u.info, u.cv " +
+        "FROM interviews i JOIN users u ON u.id = i.user_id ";
+    private static final String SUMMARY_SELECT =
+        "SELECT i.id, u.id AS user_id, u.name, u.email, i.position, i.score " +
+        "FROM interviews i JOIN users u ON u.id = i.user_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<RecruiterCandidateViewDto> findCandidateViews() {
+        return views(databaseClient.sql(VIEW_SELECT + "ORDER BY i.id"));
+    }
+
+    public Flux<RecruiterCandidateViewDto> findCandidateViewsByScoreGreaterThan(int minScore) {
+        return views(databaseClient.sql(VIEW_SELECT + "WHERE i.score > :minScore ORDER BY i.id")
+            .bind("minScore", minScore));
+    }
+
+    // Summary variants leave info and cv out of the SELECT list entirely
+    public Flux<RecruiterCandidateViewDto> findCandidateSummaries() {
+        return summaries(databaseClient.sql(SUMMARY_SELECT + "ORDER BY i.id"));
+    }
+
+    public Flux<RecruiterCandidateViewDto> findCandidateSummariesByScoreGreaterThan(int minScore) {
+        return summaries(databaseClient.sql(SUMMARY_SELECT + "WHERE i.score > :minScore ORDER BY i.id")
+            .bind("minScore", minScore));
+    }
+
+    private static Flux<RecruiterCandidateViewDto> views(DatabaseClient.GenericExecuteSpec spec) {
+        return spec
+            .filter(statement -> statement.fetchSize(FETCH_SIZE))
+            .map(row -> new RecruiterCandidateViewDto(
+                row.get("id", Long.class),
+                row.get("user_id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("position", String.class),
+                row.get("score", Integer.class),
+                row.get("info", String.class),
+                row.get("cv", String.class)))
+            .all();
+    }
+
+    private static Flux<RecruiterCandidateViewDto> summaries(DatabaseClient.GenericExecuteSpec spec) {
+        return spec
+            .filter(statement -> statement.fetchSize(FETCH_SIZE))
+            .map(ReactiveInterviewRepository::toSummary)
+            .all();
+    }
+
+    private static RecruiterCandidateViewDto toSummary(Readable row) {
+        return new RecruiterCandidateSummaryDto(
+            row.get("id", Long.class),
+            row.get("user_id", Long.class),
+            row.get("name", String.class),
+            row.get("email", String.class),
+            row.get("position", String.class),
+            row.get("score", Integer.class));
+    }
+}
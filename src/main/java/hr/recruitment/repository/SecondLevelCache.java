@@ -0,0 +1,70 @@
+package hr.recruitment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// Hibernate keeps the second-level cache current for its own writes only. The JdbcTemplate writers
+// (profile patches, score updates, the candidate import) report what they changed here instead.
+// Each eviction runs at once, so the writing transaction itself reads its rows again, and inside a transaction
+// once more after the commit, since a load by another transaction before the commit may have put the old row back.
+// Every call is a no-op when the second-level cache is disabled
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public boolean contains(Class<?> entityClass, Object id) {
+        return entityManagerFactory.getCache().contains(entityClass, id);
+    }
+
+    public void evict(Class<?> entityClass, Object id) {
+        evict(entityClass, List.of(id));
+    }
+
+    public void evict(Class<?> entityClass, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<?> evicted = List.copyOf(ids);
+        nowAndAfterCommit(() -> evicted.forEach(id -> entityManagerFactory.getCache().evict(entityClass, id)));
+    }
+
+    // Rows inserted by plain SQL leave cached query results short, and nothing tells the query cache
+    public void evictQueries() {
+        nowAndAfterCommit(() -> entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions());
+    }
+
+    // Drops an entity found stale from the persistence context and from the cache,
+    // so the next query in this request reads its row again rather than reusing the instance
+    public void forget(Object entity) {
+        Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        entityManager.detach(entity);
+        entityManagerFactory.getCache().evict(Hibernate.getClass(entity), id);
+    }
+
+    private static void nowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
@@ -1,16 +1,55 @@
 package hr.recruitment.repository;
 
+import hr.recruitment.dto.CandidateCabinetVersion;
+import hr.recruitment.dto.CandidateCvDto;
 import hr.recruitment.model.User;
 import hr.recruitment.model.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
+    // Query cache: the ids come from there until Hibernate sees a write to users, the rows from the users region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<User> findByRole(Role role);
-    Optional<User> findByEmailStartingWith(String emailPrefix);
+
+    // Ids only, no rows to hydrate or cache
+    @Query("select u.id from User u where u.role = :role order by u.id")
+    List<Long> findIdsByRole(@Param("role") Role role);
+
+    Optional<User> findByEmailLocalPart(String emailLocalPart);
+
+    // Profile and interviews in one LEFT JOIN, the interviews' eager user resolves to the same row
+    @Query("select u from User u left join fetch u.interviews i " +
+           "where u.emailLocalPart = :emailLocalPart order by i.id")
+    Optional<User> findWithInterviewsByEmailLocalPart(@Param("emailLocalPart") String emailLocalPart);
+
+    // Validator for the cabinet: the profile version and an aggregate over the interviews' ids and versions,
+    // no text columns read and nothing hydrated
+    @Query("select new hr.recruitment.dto.CandidateCabinetVersion(" +
+           "u.id, u.role, u.version, count(i), coalesce(sum(i.id), 0L), coalesce(sum(i.version), 0L)) " +
+           "from User u left join u.interviews i " +
+           "where u.emailLocalPart = :emailLocalPart " +
+           "group by u.id, u.role, u.version")
+    Optional<CandidateCabinetVersion> findCabinetVersionByEmailLocalPart(@Param("emailLocalPart") String emailLocalPart);
+
+    @Query("select new hr.recruitment.dto.CandidateCvDto(u.id, u.info, u.cv) " +
+           "from User u where u.id = :id and u.role = :role")
+    Optional<CandidateCvDto> findCvByIdAndRole(@Param("id") Long id, @Param("role") Role role);
+
+    // Cursor over info and cv of every user with the role, consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new hr.recruitment.dto.CandidateCvDto(u.id, u.info, u.cv) " +
+           "from User u where u.role = :role")
+    Stream<CandidateCvDto> streamCvsByRole(@Param("role") Role role);
 }
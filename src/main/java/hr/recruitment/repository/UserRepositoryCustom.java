@@ -0,0 +1,33 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateImportRowDto;
+import hr.recruitment.dto.CandidateProfilePatch;
+import hr.recruitment.dto.CandidateSearchResultDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    // Ids of the rows actually inserted keyed by email local part; rows clashing with existing users are skipped
+    Map<String, Long> insertCandidates(List<CandidateImportRowDto> rows);
+
+    // Emails of the users holding these local parts, keyed by local part
+    Map<String, String> findEmailsByLocalParts(Collection<String> localParts);
+
+    // Candidates matching a web-search style query over name, info and cv, best match first
+    List<CandidateSearchResultDto> searchCandidates(String query, long offset, int limit);
+
+    // Applies every patch in one UPDATE; returns the resulting info and cv of the candidates actually updated
+    List<CandidateCvDto> updateCandidateProfiles(List<CandidateProfilePatch> patches);
+
+    // One UPDATE ... RETURNING guarded by role = 'ROLE_CANDIDATE'; empty when no candidate matched
+    Optional<CandidateCabinetDto> updateCandidateProfile(CandidateProfilePatch patch);
+
+    // As above, and when expectedVersion is given also guarded by the version; empty as well when that has moved on
+    Optional<CandidateCabinetDto> updateCandidateProfileByEmailLocalPart(String emailLocalPart, CandidateProfilePatch patch,
+                                                                         Long expectedVersion);
+}
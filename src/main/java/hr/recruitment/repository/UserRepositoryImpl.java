@@ -0,0 +1,212 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateImportRowDto;
+import hr.recruitment.dto.CandidateProfilePatch;
+import hr.recruitment.dto.CandidateSearchResultDto;
+import hr.recruitment.model.User;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Applies a patch source aliased p: a null name keeps the stored one, info and cv only when set.
+    // Bumps the version like a JPA update would, so versioned readers see the change
+    private static final String PATCH_ASSIGNMENTS =
+        "name = COALESCE(p.name, u.name), " +
+        "info = CASE WHEN p.info_set THEN p.info ELSE u.info END, " +
+        "cv = CASE WHEN p.cv_set THEN p.cv ELSE u.cv END, " +
+        "version = u.version + 1 ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCache secondLevelCache;
+
+    // Rows are COPYed into a session-local staging table, then moved into users with
+    // ON CONFLICT DO NOTHING so a duplicate email skips that row instead of failing the chunk.
+    // Must run inside a transaction.
+    @Override
+    public Map<String, Long> insertCandidates(List<CandidateImportRowDto> rows) {
+        Map<String, Long> insertedIds = jdbcTemplate.execute((ConnectionCallback<Map<String, Long>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TEMP TABLE IF NOT EXISTS candidate_import (" +
+                    "name VARCHAR(255), email VARCHAR(255), email_local_part VARCHAR(255), info TEXT, cv TEXT" +
+                    ") ON COMMIT DELETE ROWS");
+                statement.execute("TRUNCATE candidate_import");
+            }
+
+            // Rows are encoded straight into the driver's COPY buffer, which is sent as it fills,
+            // rather than the chunk being built up as one string first
+            try (Writer csv = new OutputStreamWriter(new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                    "COPY candidate_import (name, email, email_local_part, info, cv) FROM STDIN WITH (FORMAT csv)"),
+                    StandardCharsets.UTF_8)) {
+                for (CandidateImportRowDto row : rows) {
+                    writeCsvRow(csv, row);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not stream candidates to PostgreSQL", e);
+            }
+
+            Map<String, Long> inserted = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                     "INSERT INTO users (name, email, email_local_part, role, info, cv) " +
+                     "SELECT name, email, email_local_part, 'ROLE_CANDIDATE', info, cv FROM candidate_import " +
+                     "ON CONFLICT DO NOTHING RETURNING email_local_part, id")) {
+                while (resultSet.next()) {
+                    inserted.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+            return inserted;
+        });
+        if (!insertedIds.isEmpty()) {
+            // Cached findByRole results lack the new candidates
+            secondLevelCache.evictQueries();
+        }
+        return insertedIds;
+    }
+
+    @Override
+    public Map<String, String> findEmailsByLocalParts(Collection<String> localParts) {
+        Map<String, String> emails = new HashMap<>();
+        jdbcTemplate.query("SELECT email_local_part, email FROM users WHERE email_local_part = ANY(?)",
+            resultSet -> {
+                emails.put(resultSet.getString("email_local_part"), resultSet.getString("email"));
+            },
+            (Object) localParts.toArray(String[]::new));
+        return emails;
+    }
+
+    // Matches through idx_users_search_vector; info and cv are never read, only the stored vector
+    @Override
+    public List<CandidateSearchResultDto> searchCandidates(String query, long offset, int limit) {
+        return jdbcTemplate.query(
+            "SELECT u.id, u.name, u.email, ts_rank(u.search_vector, q) AS rank " +
+            "FROM users u, websearch_to_tsquery('english', ?) q " +
+            "WHERE u.search_vector @@ q AND u.role = 'ROLE_CANDIDATE' " +
+            "ORDER BY rank DESC, u.id " +
+            "LIMIT ? OFFSET ?",
+            (resultSet, rowNum) -> new CandidateSearchResultDto(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getString("email"),
+                resultSet.getFloat("rank")),
+            query, limit, offset);
+    }
+
+    // The patches travel as parallel arrays unnested into a join source, so the statement text
+    // is the same for any batch size. Rows that are gone or no longer candidates are skipped.
+    @Override
+    public List<CandidateCvDto> updateCandidateProfiles(List<CandidateProfilePatch> patches) {
+        Long[] ids = new Long[patches.size()];
+        String[] names = new String[patches.size()];
+        Boolean[] infoSet = new Boolean[patches.size()];
+        String[] infos = new String[patches.size()];
+        Boolean[] cvSet = new Boolean[patches.size()];
+        String[] cvs = new String[patches.size()];
+        for (int i = 0; i < patches.size(); i++) {
+            CandidateProfilePatch patch = patches.get(i);
+            ids[i] = patch.candidateId();
+            names[i] = patch.name();
+            infoSet[i] = patch.infoSet();
+            infos[i] = patch.info();
+            cvSet[i] = patch.cvSet();
+            cvs[i] = patch.cv();
+        }
+        List<CandidateCvDto> updated = jdbcTemplate.query((Connection connection) -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE users u SET " + PATCH_ASSIGNMENTS +
+                    "FROM unnest(?, ?, ?, ?, ?, ?) AS p(id, name, info_set, info, cv_set, cv) " +
+                    "WHERE u.id = p.id AND u.role = 'ROLE_CANDIDATE' " +
+                    "RETURNING u.id, u.info, u.cv");
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("text", names));
+                statement.setArray(3, connection.createArrayOf("boolean", infoSet));
+                statement.setArray(4, connection.createArrayOf("text", infos));
+                statement.setArray(5, connection.createArrayOf("boolean", cvSet));
+                statement.setArray(6, connection.createArrayOf("text", cvs));
+                return statement;
+            },
+            (resultSet, rowNum) -> new CandidateCvDto(
+                resultSet.getLong("id"),
+                resultSet.getString("info"),
+                resultSet.getString("cv")));
+        secondLevelCache.evict(User.class, updated.stream().map(CandidateCvDto::getCandidateId).toList());
+        return updated;
+    }
+
+    @Override
+    public Optional<CandidateCabinetDto> updateCandidateProfile(CandidateProfilePatch patch) {
+        return updateCandidateProfileWhere("u.id = ?", patch.candidateId(), patch, null);
+    }
+
+    @Override
+    public Optional<CandidateCabinetDto> updateCandidateProfileByEmailLocalPart(String emailLocalPart, CandidateProfilePatch patch,
+                                                                                 Long expectedVersion) {
+        return updateCandidateProfileWhere("u.email_local_part = ?", emailLocalPart, patch, expectedVersion);
+    }
+
+    // The single-row form of the batch statement, with the patch bound as scalars.
+    // A null expected version matches any row
+    private Optional<CandidateCabinetDto> updateCandidateProfileWhere(String key, Object keyValue, CandidateProfilePatch patch,
+                                                                      Long expectedVersion) {
+        List<CandidateCabinetDto> updated = jdbcTemplate.query(
+            "UPDATE users u SET " + PATCH_ASSIGNMENTS +
+            "FROM (SELECT CAST(? AS text) AS name, CAST(? AS boolean) AS info_set, CAST(? AS text) AS info, " +
+            "CAST(? AS boolean) AS cv_set, CAST(? AS text) AS cv) p " +
+            "WHERE " + key + " AND u.role = 'ROLE_CANDIDATE' AND u.version = COALESCE(CAST(? AS bigint), u.version) " +
+            "RETURNING u.id, u.name, u.email, u.info, u.cv, u.version",
+            (resultSet, rowNum) -> new CandidateCabinetDto(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getString("email"),
+                resultSet.getString("info"),
+                resultSet.getString("cv"),
+                null,
+                resultSet.getLong("version")),
+            patch.name(), patch.infoSet(), patch.info(), patch.cvSet(), patch.cv(), keyValue, expectedVersion);
+        updated.forEach(candidate -> secondLevelCache.evict(User.class, candidate.getId()));
+        return updated.stream().findFirst();
+    }
+
+    private static void writeCsvRow(Writer csv, CandidateImportRowDto row) throws IOException {
+        writeField(csv, row.getName());
+        csv.write(',');
+        writeField(csv, row.getEmail());
+        csv.write(',');
+        writeField(csv, User.localPartOf(row.getEmail()));
+        csv.write(',');
+        writeField(csv, row.getInfo());
+        csv.write(',');
+        writeField(csv, row.getCv());
+        csv.write('\n');
+    }
+
+    // In COPY csv format an unquoted empty field is NULL and a quoted one is an empty string
+    private static void writeField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+}
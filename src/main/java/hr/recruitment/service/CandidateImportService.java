@@ -0,0 +1,207 @@
+package hr.recruitment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import hr.recruitment.config.ImportProperties;
+import hr.recruitment.dto.CandidateImportRowDto;
+import hr.recruitment.dto.ImportEventDto;
+import hr.recruitment.dto.ImportFormat;
+import hr.recruitment.model.User;
+import hr.recruitment.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CandidateImportService {
+
+    private static final ObjectReader CSV_ROW_READER = new CsvMapper()
+        .readerFor(CandidateImportRowDto.class)
+        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+        .with(CsvSchema.emptySchema().withHeader());
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties importProperties;
+    private final CandidateSkillIndex candidateSkillIndex;
+
+    // Reads candidates row by row from the upload and writes them in chunks, one transaction per chunk.
+    // Every per-row error, a progress event per chunk and a final summary are written to output as NDJSON.
+    public void importCandidates(InputStream input, ImportFormat format, OutputStream output) throws IOException {
+        ImportRun run = new ImportRun(output);
+        try {
+            if (format == ImportFormat.CSV) {
+                readCsv(input, run);
+            } else {
+                readNdjson(input, run);
+            }
+            run.flushChunk();
+        } catch (IOException | RuntimeException e) {
+            // Unreadable upload, rows already committed stay imported
+            run.emit(ImportEventDto.error(run.processed, "Import aborted: " + e.getMessage()));
+        }
+        run.emit(ImportEventDto.summary(run.processed, run.imported, run.failed));
+        output.flush();
+    }
+
+    // A malformed record only fails that row, as a malformed NDJSON line does. The parser resumes at the
+    // next record; should it be stuck where it was (e.g. a quote left open to the end) the import stops there
+    private void readCsv(InputStream input, ImportRun run) throws IOException {
+        try (MappingIterator<CandidateImportRowDto> rows = CSV_ROW_READER.readValues(input)) {
+            while (true) {
+                CandidateImportRowDto row;
+                long offset = rows.getParser().currentLocation().getCharOffset();
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    if (rows.getParser().currentLocation().getCharOffset() == offset) {
+                        throw e;
+                    }
+                    run.fail(run.processed + 1, "Malformed CSV record: " + e.getOriginalMessage());
+                    continue;
+                }
+                run.accept(row);
+            }
+        }
+    }
+
+    // Line by line so a malformed line only fails that row
+    private void readNdjson(InputStream input, ImportRun run) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                CandidateImportRowDto row;
+                try {
+                    row = objectMapper.readValue(line, CandidateImportRowDto.class);
+                } catch (IOException e) {
+                    run.fail(run.processed + 1, "Malformed JSON");
+                    continue;
+                }
+                run.accept(row);
+            }
+        }
+    }
+
+    // Ids of the rows inserted, and for the rows skipped the email already holding their local part
+    private record ChunkResult(Map<String, Long> inserted, Map<String, String> existingEmails) {
+    }
+
+    private class ImportRun {
+        private final OutputStream output;
+        private final List<CandidateImportRowDto> chunk = new ArrayList<>();
+        private final List<Long> chunkRowNumbers = new ArrayList<>();
+        // Local parts in the pending chunk, the users table is unique on them. Earlier chunks are
+        // already in the table, where ON CONFLICT DO NOTHING skips their duplicates
+        private final Set<String> seenLocalParts = new HashSet<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        ImportRun(OutputStream output) {
+            this.output = output;
+        }
+
+        void accept(CandidateImportRowDto row) throws IOException {
+            long rowNumber = processed + 1;
+            Set<ConstraintViolation<CandidateImportRowDto>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                fail(rowNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (!seenLocalParts.add(User.localPartOf(row.getEmail()))) {
+                fail(rowNumber, "Duplicate email in this import: " + row.getEmail());
+                return;
+            }
+
+            processed++;
+            chunk.add(row);
+            chunkRowNumbers.add(rowNumber);
+            if (chunk.size() >= importProperties.chunkSize()) {
+                flushChunk();
+            }
+        }
+
+        void fail(long rowNumber, String message) throws IOException {
+            processed++;
+            failed++;
+            emit(ImportEventDto.error(rowNumber, message));
+        }
+
+        void flushChunk() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            ChunkResult result = transactionTemplate.execute(status -> {
+                Map<String, Long> inserted = userRepository.insertCandidates(chunk);
+                List<String> skipped = chunk.stream()
+                    .map(row -> User.localPartOf(row.getEmail()))
+                    .filter(localPart -> !inserted.containsKey(localPart))
+                    .toList();
+                return new ChunkResult(inserted,
+                    skipped.isEmpty() ? Map.of() : userRepository.findEmailsByLocalParts(skipped));
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                CandidateImportRowDto row = chunk.get(i);
+                String localPart = User.localPartOf(row.getEmail());
+                Long candidateId = result.inserted().get(localPart);
+                if (candidateId != null) {
+                    imported++;
+                    candidateSkillIndex.index(candidateId, row.getInfo(), row.getCv());
+                    continue;
+                }
+                failed++;
+                String existingEmail = result.existingEmails().get(localPart);
+                if (existingEmail == null || existingEmail.equals(row.getEmail())) {
+                    emit(ImportEventDto.error(chunkRowNumbers.get(i), "User with this email already exists: " + row.getEmail()));
+                } else {
+                    // Same local part under another domain
+                    emit(ImportEventDto.error(chunkRowNumbers.get(i), "Email local part already taken by another user: " + localPart));
+                }
+            }
+            chunk.clear();
+            chunkRowNumbers.clear();
+            seenLocalParts.clear();
+            emit(ImportEventDto.progress(processed, imported, failed));
+            output.flush();
+        }
+
+        void emit(ImportEventDto event) throws IOException {
+            output.write(objectMapper.writeValueAsBytes(event));
+            output.write('\n');
+        }
+    }
+}
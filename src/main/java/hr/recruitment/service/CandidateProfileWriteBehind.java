@@ -0,0 +1,147 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.ProfileWriteBehindProperties;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateProfilePatch;
+import hr.recruitment.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-behind buffer for candidate info and CV PATCHes. Patches to the same candidate within a window
+// coalesce (last writer wins per field) and every window all pending candidates are written in one UPDATE,
+// so a burst of autosaves costs one statement instead of a SELECT and an UPDATE each.
+// Off unless recruitment.profile-write-behind.enabled; whatever is pending is written on shutdown.
+@Slf4j
+@Component
+public class CandidateProfileWriteBehind implements DisposableBean {
+
+    private final UserRepository userRepository;
+    private final CandidateSkillIndex candidateSkillIndex;
+    private final ProfileWriteBehindProperties properties;
+
+    private final ConcurrentMap<Long, CandidateProfilePatch> pending = new ConcurrentHashMap<>();
+    // Flushes run one at a time, so a drained patch is never written after a newer one.
+    // A lock rather than synchronized: a virtual thread blocked in the UPDATE would pin its carrier.
+    private final Lock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter patches;
+    private final Counter rows;
+    private final Timer flushes;
+
+    public CandidateProfileWriteBehind(UserRepository userRepository, CandidateSkillIndex candidateSkillIndex,
+                                       ProfileWriteBehindProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.candidateSkillIndex = candidateSkillIndex;
+        this.properties = properties;
+
+        Gauge.builder("profile.writebehind.pending", pending, ConcurrentMap::size)
+            .description("Candidates with a queued profile change")
+            .register(meterRegistry);
+        this.patches = Counter.builder("profile.writebehind.patches")
+            .description("Profile PATCHes accepted into the buffer")
+            .register(meterRegistry);
+        this.rows = Counter.builder("profile.writebehind.rows")
+            .description("Candidate rows written by flushes")
+            .register(meterRegistry);
+        this.flushes = Timer.builder("profile.writebehind.flush")
+            .description("Time to write one batch of coalesced changes")
+            .register(meterRegistry);
+
+        if (properties.enabled()) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "profile-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long window = properties.window().toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, window, window, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public void submit(CandidateProfilePatch patch) {
+        if (pending.size() >= properties.maxPending() && !pending.containsKey(patch.candidateId())) {
+            // Buffer full: the caller writes the backlog itself, which throttles it to database speed
+            flush();
+        }
+        pending.merge(patch.candidateId(), patch, CandidateProfilePatch::mergedWith);
+        patches.increment();
+    }
+
+    // Writes everything queued so far. Synchronous updates call this first, since queued patches are older.
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<CandidateProfilePatch> batch = new ArrayList<>(pending.size());
+            for (Long candidateId : pending.keySet()) {
+                CandidateProfilePatch patch = pending.remove(candidateId);
+                if (patch != null) {
+                    batch.add(patch);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(properties.window().toMillis() * 2, TimeUnit.MILLISECONDS);
+        }
+        flush();
+    }
+
+    private void write(List<CandidateProfilePatch> batch) {
+        List<CandidateCvDto> updated;
+        try {
+            updated = flushes.record(() -> userRepository.updateCandidateProfiles(batch));
+        } catch (RuntimeException e) {
+            // Back into the buffer underneath anything queued meanwhile, retried on the next flush
+            for (CandidateProfilePatch patch : batch) {
+                pending.merge(patch.candidateId(), patch, (newer, older) -> older.mergedWith(newer));
+            }
+            throw e;
+        }
+        rows.increment(updated.size());
+        updated.forEach(candidate -> candidateSkillIndex.index(
+            candidate.getCandidateId(), candidate.getCandidateInfo(), candidate.getCandidateCv()));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Profile write-behind flush failed, {} candidates stay queued", pending.size(), e);
+        }
+    }
+}
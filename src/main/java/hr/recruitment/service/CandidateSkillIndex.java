@@ -0,0 +1,288 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.SkillIndexStatsDto;
+import hr.recruitment.dto.SkillTermStatsDto;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-process inverted index from skill terms in candidate info and CV to roaring bitmaps of candidate ids.
+// Built before the application starts serving, then kept current by UserService and the bulk import.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateSkillIndex implements InitializingBean {
+
+    // Letters and digits, keeping the inner punctuation of skills like c++, c# and node.js
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}][\\p{L}\\p{N}+#.]*");
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+
+    @Override
+    public void afterPropertiesSet() {
+        rebuild();
+    }
+
+    // Reads every candidate once through a streaming query, then swaps the new index in
+    public void rebuild() {
+        Postings fresh = new Postings();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CandidateCvDto> candidates = userRepository.streamCvsByRole(Role.ROLE_CANDIDATE)) {
+                candidates
+                    .filter(candidate -> indexable(candidate.getCandidateId()))
+                    .forEach(candidate -> fresh.add(candidate.getCandidateId().intValue(),
+                        terms(candidate.getCandidateInfo(), candidate.getCandidateCv())));
+            }
+        });
+        fresh.optimize();
+
+        lock.writeLock().lock();
+        try {
+            postings = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-indexes a saved user, dropping them from the index if they are no longer a candidate
+    public void index(User user) {
+        if (user.getRole() == Role.ROLE_CANDIDATE) {
+            index(user.getId(), user.getInfo(), user.getCv());
+        } else {
+            remove(user.getId());
+        }
+    }
+
+    public void index(Long candidateId, String info, String cv) {
+        if (!indexable(candidateId)) {
+            return;
+        }
+        int id = candidateId.intValue();
+        Set<String> terms = terms(info, cv);
+        lock.writeLock().lock();
+        try {
+            postings.remove(id);
+            postings.add(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long candidateId) {
+        if (!indexable(candidateId)) {
+            return;
+        }
+        int id = candidateId.intValue();
+        lock.writeLock().lock();
+        try {
+            postings.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Candidates having every term of allOf and, when anyOf is not empty, at least one of anyOf
+    public RoaringBitmap match(Collection<String> allOf, Collection<String> anyOf) {
+        Set<String> required = normalize(allOf);
+        Set<String> optional = normalize(anyOf);
+        if (required.isEmpty() && optional.isEmpty()) {
+            throw new IllegalArgumentException("At least one skill is required");
+        }
+
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>();
+            for (String term : required) {
+                RoaringBitmap posting = postings.get(term);
+                if (posting == null) {
+                    return new RoaringBitmap();
+                }
+                bitmaps.add(posting);
+            }
+            if (!optional.isEmpty()) {
+                bitmaps.add(FastAggregation.or(optional.stream()
+                    .map(postings::get)
+                    .filter(posting -> posting != null)
+                    .iterator()));
+            }
+            // Aggregations return a new bitmap, so callers never share the live postings
+            return bitmaps.size() == 1 ? bitmaps.get(0).clone() : FastAggregation.and(bitmaps.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Serialized size of each posting list, largest first
+    public SkillIndexStatsDto stats(int top) {
+        lock.readLock().lock();
+        try {
+            long totalBytes = 0;
+            List<SkillTermStatsDto> terms = new ArrayList<>();
+            for (int termId = 0; termId < postings.byTermId.size(); termId++) {
+                RoaringBitmap posting = postings.byTermId.get(termId);
+                if (posting.isEmpty()) {
+                    continue;
+                }
+                long bytes = posting.getLongSizeInBytes();
+                totalBytes += bytes;
+                terms.add(new SkillTermStatsDto(postings.termNames.get(termId), posting.getCardinality(), bytes));
+            }
+            terms.sort(Comparator.comparingLong(SkillTermStatsDto::getBytes).reversed()
+                .thenComparing(SkillTermStatsDto::getTerm));
+            return new SkillIndexStatsDto(terms.size(), postings.candidateTerms.size(), totalBytes,
+                new ArrayList<>(terms.subList(0, Math.min(top, terms.size()))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> terms(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+            while (matcher.find()) {
+                String term = stripTrailingDots(matcher.group());
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    // Query skills go through the same tokenizer, "Node.js" and "node.js" hit the same term
+    private static Set<String> normalize(Collection<String> skills) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (skills != null) {
+            for (String skill : skills) {
+                terms.addAll(terms(skill));
+            }
+        }
+        return terms;
+    }
+
+    // "Java." at the end of a sentence is the term java
+    private static String stripTrailingDots(String token) {
+        int end = token.length();
+        while (end > 0 && token.charAt(end - 1) == '.') {
+            end--;
+        }
+        return token.substring(0, end);
+    }
+
+    // The bitmaps hold ints, so candidates with an id beyond Integer.MAX_VALUE are left out of the index
+    // and never match a skill search. users.id is a BIGSERIAL, yet that many users is far off
+    private static boolean indexable(Long candidateId) {
+        if (candidateId <= Integer.MAX_VALUE) {
+            return true;
+        }
+        log.warn("Candidate {} is beyond the skill index id range and is not indexed", candidateId);
+        return false;
+    }
+
+    // Terms in the dictionary, including the free ids kept for reuse
+    int dictionarySize() {
+        lock.readLock().lock();
+        try {
+            return postings.termNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Posting lists by term id, plus the term ids of each candidate, so re-indexing a candidate only touches
+    // the postings they are in. A term whose posting empties leaves the dictionary and its id goes on a free
+    // list for the next new term, so text that keeps changing (autosaved drafts) cannot grow the dictionary
+    // beyond the terms in use at once. Guarded by the index lock
+    private static final class Postings {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        // Null at a free id
+        private final List<String> termNames = new ArrayList<>();
+        private final List<RoaringBitmap> byTermId = new ArrayList<>();
+        private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+        private final Map<Integer, int[]> candidateTerms = new HashMap<>();
+
+        // Null when no candidate has the term
+        RoaringBitmap get(String term) {
+            Integer termId = termIds.get(term);
+            if (termId == null) {
+                return null;
+            }
+            RoaringBitmap posting = byTermId.get(termId);
+            return posting.isEmpty() ? null : posting;
+        }
+
+        void add(int candidateId, Set<String> terms) {
+            int[] ids = new int[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                int termId = termIds.computeIfAbsent(term, this::newTermId);
+                byTermId.get(termId).add(candidateId);
+                ids[i++] = termId;
+            }
+            candidateTerms.put(candidateId, ids);
+        }
+
+        void remove(int candidateId) {
+            int[] ids = candidateTerms.remove(candidateId);
+            if (ids != null) {
+                for (int termId : ids) {
+                    RoaringBitmap posting = byTermId.get(termId);
+                    posting.remove(candidateId);
+                    if (posting.isEmpty()) {
+                        termIds.remove(termNames.set(termId, null));
+                        freeTermIds.push(termId);
+                    }
+                }
+            }
+        }
+
+        // A free id when there is one; its posting is empty already
+        private int newTermId(String term) {
+            Integer termId = freeTermIds.poll();
+            if (termId != null) {
+                termNames.set(termId, term);
+                return termId;
+            }
+            termNames.add(term);
+            byTermId.add(new RoaringBitmap());
+            return byTermId.size() - 1;
+        }
+
+        void optimize() {
+            byTermId.forEach(RoaringBitmap::runOptimize);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package hr.recruitment.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import hr.recruitment.dto.ExportFormat;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.repository.InterviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class InterviewExportService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema SUMMARY_SCHEMA = CsvSchema.builder()
+        .addColumn("interviewId")
+        .addColumn("candidateId")
+        .addColumn("candidateName")
+        .addColumn("candidateEmail")
+        .addColumn("position")
+        .addColumn("score")
+        .setUseHeader(true)
+        .build();
+    private static final CsvSchema FULL_SCHEMA = SUMMARY_SCHEMA.rebuild()
+        .addColumn("candidateInfo")
+        .addColumn("candidateCv")
+        .build();
+
+    private final InterviewRepository interviewRepository;
+    private final ObjectMapper objectMapper;
+
+    // Rows go from the database cursor to the output one at a time, so memory stays flat however
+    // many interviews there are. Output is flushed only by its own buffer, not per row.
+    @Transactional(readOnly = true)
+    public void exportCandidateViews(ViewMode view, ExportFormat format, OutputStream output) throws IOException {
+        long written = 0;
+        try (Stream<RecruiterCandidateViewDto> rows = view == ViewMode.SUMMARY
+                ? interviewRepository.streamCandidateSummaries()
+                : interviewRepository.streamCandidateViews();
+             SequenceWriter writer = writerFor(view, format).writeValues(output)) {
+            Iterator<RecruiterCandidateViewDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                written++;
+            }
+        }
+        // The separator only goes between values, NDJSON also ends the last line
+        if (format == ExportFormat.NDJSON && written > 0) {
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private ObjectWriter writerFor(ViewMode view, ExportFormat format) {
+        ObjectWriter writer = format == ExportFormat.CSV
+            ? CSV_MAPPER.writer(view == ViewMode.SUMMARY ? SUMMARY_SCHEMA : FULL_SCHEMA)
+                .with(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+            : objectMapper.writer().withRootValueSeparator("\n");
+        return writer
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
@@ -0,0 +1,217 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.LeaderboardProperties;
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.repository.InterviewRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+// Per-position top-K of scored interviews, loaded lazily from the (position, score DESC) index
+// and kept current by InterviewService writes once they are committed. Writes arriving while a board
+// is loading are queued on it and replayed onto the rows read, whether or not the read saw them.
+// A board that can no longer prove it holds the true top (an entry dropped or moved down while rows
+// below the cut are unknown) is discarded and reloaded on the next read. Only positions with scored
+// interviews keep a board, so any position string a caller sends cannot add one.
+@Component
+public class InterviewLeaderboard {
+
+    private static final Comparator<RecruiterCandidateViewDto> RANKING =
+        Comparator.comparingInt(RecruiterCandidateViewDto::getScore).reversed()
+            .thenComparing(RecruiterCandidateViewDto::getInterviewId);
+
+    private final InterviewRepository interviewRepository;
+    private final int capacity;
+    // A board still loading is in the map already, so the query never runs under a map lock
+    private final ConcurrentMap<String, PositionBoard> boards = new ConcurrentHashMap<>();
+
+    public InterviewLeaderboard(InterviewRepository interviewRepository, LeaderboardProperties properties) {
+        this.interviewRepository = interviewRepository;
+        this.capacity = properties.capacity();
+    }
+
+    public List<RecruiterCandidateViewDto> top(String position, int k) {
+        if (k > capacity) {
+            // Deeper than what is kept in memory, read straight from the index
+            return interviewRepository.findTopCandidateViewsByPosition(position, Limit.of(k));
+        }
+        PositionBoard loading = new PositionBoard();
+        PositionBoard board = boards.putIfAbsent(position, loading);
+        if (board == null) {
+            // This caller loads the board, concurrent readers of the position wait for it
+            board = loading;
+            try {
+                List<RecruiterCandidateViewDto> rows =
+                    interviewRepository.findTopCandidateViewsByPosition(position, Limit.of(capacity));
+                loading.fill(rows, rows.size() < capacity);
+                if (loading.isEmpty()) {
+                    boards.remove(position, loading);
+                }
+            } catch (RuntimeException e) {
+                boards.remove(position, loading);
+                loading.fail(e);
+                throw e;
+            }
+        }
+        board.loaded.join();
+        if (!board.valid()) {
+            // A write replayed onto it or an invalidation left it unable to tell the true top
+            boards.remove(position, board);
+            return interviewRepository.findTopCandidateViewsByPosition(position, Limit.of(k));
+        }
+        return board.top(k);
+    }
+
+    public void onSaved(Interview interview) {
+        onSaved(toEntry(interview));
+    }
+
+    // Summary view of the interview as it now is in the database
+    public void onSaved(RecruiterCandidateViewDto entry) {
+        PositionBoard board = boards.get(entry.getPosition());
+        if (board != null && !board.upsert(entry)) {
+            boards.remove(entry.getPosition(), board);
+        }
+    }
+
+    public void onDeleted(Interview interview) {
+        PositionBoard board = boards.get(interview.getPosition());
+        if (board != null && !board.remove(interview.getId())) {
+            boards.remove(interview.getPosition(), board);
+        }
+    }
+
+    public void invalidate(String position) {
+        if (position != null) {
+            PositionBoard board = boards.remove(position);
+            if (board != null) {
+                board.invalidate();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        boards.keySet().forEach(this::invalidate);
+    }
+
+    private static RecruiterCandidateViewDto toEntry(Interview interview) {
+        return new RecruiterCandidateSummaryDto(interview.getId(), interview.getUser().getId(),
+            interview.getUser().getName(), interview.getUser().getEmail(),
+            interview.getPosition(), interview.getScore());
+    }
+
+    private final class PositionBoard {
+        private final TreeSet<RecruiterCandidateViewDto> entries = new TreeSet<>(RANKING);
+        private final Map<Long, RecruiterCandidateViewDto> byInterviewId = new HashMap<>();
+        // Completes once the rows are in, successfully or not
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        // Writes that arrived while loading, replayed in order once the rows are in; null afterwards
+        private List<Predicate<PositionBoard>> queued = new ArrayList<>();
+        // True when every scored interview of the position is on the board
+        private boolean complete;
+        private boolean valid = true;
+
+        void fill(List<RecruiterCandidateViewDto> rows, boolean complete) {
+            synchronized (this) {
+                rows.forEach(this::add);
+                this.complete = complete;
+                for (Predicate<PositionBoard> write : queued) {
+                    valid &= write.test(this);
+                }
+                queued = null;
+            }
+            loaded.complete(null);
+        }
+
+        void fail(RuntimeException e) {
+            loaded.completeExceptionally(e);
+        }
+
+        synchronized boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        synchronized boolean valid() {
+            return valid;
+        }
+
+        synchronized void invalidate() {
+            valid = false;
+        }
+
+        synchronized List<RecruiterCandidateViewDto> top(int k) {
+            List<RecruiterCandidateViewDto> result = new ArrayList<>(Math.min(k, entries.size()));
+            Iterator<RecruiterCandidateViewDto> iterator = entries.iterator();
+            while (iterator.hasNext() && result.size() < k) {
+                result.add(iterator.next());
+            }
+            return result;
+        }
+
+        // Returns false when the board has to be reloaded
+        synchronized boolean upsert(RecruiterCandidateViewDto entry) {
+            if (queued != null) {
+                queued.add(board -> board.applyUpsert(entry));
+                return true;
+            }
+            return valid && applyUpsert(entry);
+        }
+
+        // Returns false when the board has to be reloaded
+        synchronized boolean remove(Long interviewId) {
+            if (queued != null) {
+                queued.add(board -> board.applyRemove(interviewId));
+                return true;
+            }
+            return valid && applyRemove(interviewId);
+        }
+
+        // The entry may already be on the board when the load read it, replacing it by itself is a no-op
+        private boolean applyUpsert(RecruiterCandidateViewDto entry) {
+            RecruiterCandidateViewDto previous = byInterviewId.remove(entry.getInterviewId());
+            if (previous != null) {
+                entries.remove(previous);
+                boolean movedDown = entry.getScore() <= 0 || RANKING.compare(entry, previous) > 0;
+                if (movedDown && !complete) {
+                    return false;
+                }
+            }
+            if (entry.getScore() <= 0) {
+                return true;
+            }
+            add(entry);
+            if (entries.size() > capacity) {
+                byInterviewId.remove(entries.pollLast().getInterviewId());
+                complete = false;
+            }
+            return true;
+        }
+
+        private boolean applyRemove(Long interviewId) {
+            RecruiterCandidateViewDto previous = byInterviewId.remove(interviewId);
+            if (previous == null) {
+                return true;
+            }
+            entries.remove(previous);
+            return complete;
+        }
+
+        private void add(RecruiterCandidateViewDto entry) {
+            entries.add(entry);
+            byInterviewId.put(entry.getInterviewId(), entry);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.SchedulingProperties;
+import hr.recruitment.dto.AvailabilityWindowDto;
+import hr.recruitment.dto.InterviewSlotChange;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.enums.InterviewStatus;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.InterviewRepository;
+import hr.recruitment.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+// Books interview slots. Free slots are found in per-recruiter calendars held in memory and taken there first,
+// so concurrent requests on this instance spread over different slots without waiting on each other. The booking
+// itself is one UPDATE, and the excl_interviews_recruiter_slot constraint has the final word: a slot another
+// instance booked in the meantime fails it, which reloads that recruiter's calendar and tries again.
+@Component
+public class InterviewScheduler {
+
+    // exclusion_violation
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final InterviewRepository interviewRepository;
+    private final UserRepository userRepository;
+    private final SchedulingProperties properties;
+
+    private final ConcurrentMap<Long, RecruiterCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile Roster roster;
+
+    private final Timer scheduled;
+    private final Timer unavailable;
+    private final Counter conflicts;
+
+    private record Roster(List<Long> recruiterIds, Instant loadedAt) {
+    }
+
+    public InterviewScheduler(InterviewRepository interviewRepository, UserRepository userRepository,
+                              SchedulingProperties properties, MeterRegistry meterRegistry) {
+        this.interviewRepository = interviewRepository;
+        this.userRepository = userRepository;
+        this.properties = properties;
+
+        this.scheduled = Timer.builder("interview.scheduling.allocations")
+            .description("Slot requests and how long they took")
+            .tag("outcome", "scheduled")
+            .register(meterRegistry);
+        this.unavailable = Timer.builder("interview.scheduling.allocations")
+            .description("Slot requests and how long they took")
+            .tag("outcome", "unavailable")
+            .register(meterRegistry);
+        this.conflicts = Counter.builder("interview.scheduling.conflicts")
+            .description("Slots free in memory but already booked in the database")
+            .register(meterRegistry);
+    }
+
+    // Books the earliest slot of the given length within [earliestStart, latestEnd) with the recruiter, or with
+    // whichever recruiter is free first (the least booked on a tie) when none is given. A scheduled interview
+    // moves to the new slot. Empty when no slot fits
+    public Optional<InterviewSlotDto> schedule(Long candidateId, Long interviewId, Long recruiterId,
+                                               Instant earliestStart, Instant latestEnd, Duration length) {
+        long start = System.nanoTime();
+        Duration slotLength = length != null ? length : properties.defaultDuration();
+        validate(earliestStart, latestEnd, slotLength);
+        // A slot in the past is no slot
+        Instant now = Instant.now();
+        Instant from = now.isAfter(earliestStart) ? now : earliestStart;
+
+        for (int attempt = 1; attempt <= properties.maxAttempts(); attempt++) {
+            RecruiterCalendar calendar = earliestFree(interviewId, recruiterId, from, latestEnd, slotLength);
+            if (calendar == null) {
+                break;
+            }
+            RecruiterCalendar.Slot hold = calendar.hold(interviewId, from, latestEnd, slotLength, properties.granularity());
+            if (hold == null) {
+                // Taken by a concurrent request since, look again
+                continue;
+            }
+            Optional<InterviewSlotChange> change;
+            try {
+                change = interviewRepository.assignSlot(interviewId, candidateId, calendar.recruiterId(), hold.start(), hold.end());
+            } catch (DataIntegrityViolationException e) {
+                calendar.release(hold);
+                if (!isExclusionViolation(e)) {
+                    throw e;
+                }
+                conflicts.increment();
+                calendar.expire();
+                continue;
+            } catch (RuntimeException e) {
+                calendar.release(hold);
+                throw e;
+            }
+            if (change.isEmpty()) {
+                calendar.release(hold);
+                throw new RuntimeException("Interview not found with id: " + interviewId);
+            }
+            calendar.confirm(hold);
+            Long previousRecruiterId = change.get().previousRecruiterId();
+            if (previousRecruiterId != null && !previousRecruiterId.equals(calendar.recruiterId())) {
+                forget(previousRecruiterId, interviewId);
+            }
+            scheduled.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(change.get().slot());
+        }
+        unavailable.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.empty();
+    }
+
+    // Empty when the interview is missing, not the candidate's or not scheduled
+    public Optional<InterviewSlotDto> cancel(Long candidateId, Long interviewId) {
+        Optional<InterviewSlotDto> cancelled = interviewRepository.cancelSlot(interviewId, candidateId);
+        cancelled.ifPresent(slot -> forget(slot.getRecruiterId(), interviewId));
+        return cancelled;
+    }
+
+    // Free time of the recruiter within [from, to), straight from the calendar in memory
+    public List<AvailabilityWindowDto> availability(Long recruiterId, Instant from, Instant to) {
+        validate(from, to, properties.granularity());
+        return calendar(recruiterId).free(from, to);
+    }
+
+    // The recruiter's booked interviews within [from, to), as the database has them
+    public List<InterviewSlotDto> bookings(Long recruiterId, Instant from, Instant to) {
+        validate(from, to, properties.granularity());
+        return interviewRepository.findScheduledSlots(recruiterId, from, to);
+    }
+
+    public void onDeleted(Interview interview) {
+        if (interview.getStatus() == InterviewStatus.SCHEDULED) {
+            forget(interview.getRecruiterId(), interview.getId());
+        }
+    }
+
+    private RecruiterCalendar earliestFree(Long interviewId, Long recruiterId, Instant from, Instant to, Duration length) {
+        List<Long> recruiterIds = recruiterId != null ? List.of(recruiterId) : recruiterIds();
+        RecruiterCalendar best = null;
+        Instant bestStart = null;
+        int bestSize = 0;
+        for (Long id : recruiterIds) {
+            RecruiterCalendar calendar = calendar(id);
+            Instant start = calendar.earliestFree(interviewId, from, to, length, properties.granularity());
+            if (start == null) {
+                continue;
+            }
+            int size = calendar.size();
+            if (best == null || start.isBefore(bestStart) || (start.equals(bestStart) && size < bestSize)) {
+                best = calendar;
+                bestStart = start;
+                bestSize = size;
+            }
+        }
+        return best;
+    }
+
+    private List<Long> recruiterIds() {
+        Roster current = roster;
+        Instant now = Instant.now();
+        if (current == null || current.loadedAt().plus(properties.calendarRefresh()).isBefore(now)) {
+            current = new Roster(userRepository.findIdsByRole(Role.ROLE_RECRUITER), now);
+            roster = current;
+            // Calendars of users no longer recruiting are dropped, explicitly requested ones come back on demand
+            calendars.keySet().retainAll(current.recruiterIds());
+        }
+        return current.recruiterIds();
+    }
+
+    private RecruiterCalendar calendar(Long recruiterId) {
+        RecruiterCalendar calendar = calendars.computeIfAbsent(recruiterId, RecruiterCalendar::new);
+        if (calendar.stale(Instant.now(), properties.calendarRefresh())) {
+            reload(calendar);
+        }
+        return calendar;
+    }
+
+    // One reload per calendar at a time. Meanwhile other callers go on with the slots already there,
+    // unless there are none yet or the database just refused one of them
+    private void reload(RecruiterCalendar calendar) {
+        Lock reloading = calendar.reloading();
+        if (!reloading.tryLock()) {
+            if (calendar.loaded() && !calendar.stale(Instant.now(), properties.calendarRefresh().multipliedBy(2))) {
+                return;
+            }
+            reloading.lock();
+        }
+        try {
+            Instant now = Instant.now();
+            if (!calendar.stale(now, properties.calendarRefresh())) {
+                return;
+            }
+            List<RecruiterCalendar.Slot> bookings = interviewRepository.findScheduledSlots(calendar.recruiterId(), now, null).stream()
+                .map(slot -> new RecruiterCalendar.Slot(slot.getInterviewId(), slot.getStartsAt(), slot.getEndsAt(), false))
+                .toList();
+            calendar.load(bookings, now);
+        } finally {
+            reloading.unlock();
+        }
+    }
+
+    private void forget(Long recruiterId, Long interviewId) {
+        if (recruiterId == null) {
+            return;
+        }
+        RecruiterCalendar calendar = calendars.get(recruiterId);
+        if (calendar != null) {
+            calendar.remove(interviewId);
+        }
+    }
+
+    private void validate(Instant from, Instant to, Duration length) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The window must end after it starts");
+        }
+        if (Duration.between(from, to).compareTo(properties.maxWindow()) > 0) {
+            throw new IllegalArgumentException("The window may span at most " + properties.maxWindow());
+        }
+        if (length.isNegative() || length.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+    }
+
+    private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+            && EXCLUSION_VIOLATION.equals(sqlException.getSQLState());
+    }
+}
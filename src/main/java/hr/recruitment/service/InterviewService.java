@@ -1,22 +1,57 @@
 package hr.recruitment.service;
 
+import hr.recruitment.config.LeaderboardProperties;
+import hr.recruitment.config.PaginationProperties;
+import hr.recruitment.dto.CandidateInterviewDto;
+import hr.recruitment.dto.CursorPageDto;
+import hr.recruitment.dto.InterviewListVersion;
+import hr.recruitment.dto.InterviewScoreChange;
+import hr.recruitment.dto.InterviewScoreDto;
+import hr.recruitment.dto.PositionScoreStatsDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ScoreUpdateDto;
+import hr.recruitment.dto.ScoreUpdateResultDto;
+import hr.recruitment.dto.ViewMode;
 import hr.recruitment.model.Interview;
 import hr.recruitment.repository.InterviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InterviewService {
     
     private final InterviewRepository interviewRepository;
+    private final PaginationProperties paginationProperties;
+    private final InterviewLeaderboard interviewLeaderboard;
+    private final LeaderboardProperties leaderboardProperties;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final PositionScoreAnalytics positionScoreAnalytics;
+    private final InterviewScheduler interviewScheduler;
     
     public Interview createInterview(Interview interview) {
-        return interviewRepository.save(interview);
+        Interview savedInterview = interviewRepository.save(interview);
+        interviewLeaderboard.onSaved(savedInterview);
+        positionScoreAnalytics.onCreated(savedInterview);
+        return savedInterview;
     }
     
+    // Read-only service transactions are served by the read replica when one is configured
+    @Transactional(readOnly = true)
     public List<Interview> getAllInterviews() {
         return interviewRepository.findAll();
     }
@@ -26,33 +61,207 @@ public class InterviewService {
             .orElseThrow(() -> new RuntimeException("Interview not found with id: " + id));
     }
     
+    public InterviewScoreDto getInterviewScore(Long id) {
+        return interviewRepository.findScoreById(id)
+            .orElseThrow(() -> new RuntimeException("Interview not found with id: " + id));
+    }
+    
     public List<Interview> getInterviewsByUserId(Long userId) {
         return interviewRepository.findByUserId(userId);
     }
     
+    public List<CandidateInterviewDto> getCandidateInterviews(Long candidateId) {
+        return interviewRepository.findCandidateInterviewsByUserId(candidateId);
+    }
+    
+    public InterviewListVersion getCandidateInterviewsVersion(Long candidateId) {
+        return interviewRepository.findInterviewListVersionByUserId(candidateId);
+    }
+    
+    @Transactional(readOnly = true)
     public List<Interview> getScoredInterviews() {
         // Get all interviews that have been scored (score > 0)
         return interviewRepository.findByScoreGreaterThan(0);
     }
     
+    @Transactional(readOnly = true)
+    public List<RecruiterCandidateViewDto> getCandidateViews(ViewMode view) {
+        return getCandidateViews(false, view);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RecruiterCandidateViewDto> getScoredCandidateViews(ViewMode view) {
+        return getCandidateViews(true, view);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDto<RecruiterCandidateViewDto> getCandidateViewsPage(ViewMode view, Long afterId, Integer size) {
+        return getCandidateViewsPage(false, view, afterId, size);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDto<RecruiterCandidateViewDto> getScoredCandidateViewsPage(ViewMode view, Long afterId, Integer size) {
+        return getCandidateViewsPage(true, view, afterId, size);
+    }
+    
+    // Top k scored interviews of a position, best first
+    public List<RecruiterCandidateViewDto> getTopCandidates(String position, Integer k) {
+        int limit = k == null || k <= 0 ? leaderboardProperties.defaultK() : Math.min(k, paginationProperties.maxPageSize());
+        return interviewLeaderboard.top(position, limit);
+    }
+    
+    // Score distribution per position, from the in-memory histograms
+    public List<PositionScoreStatsDto> getPositionStats() {
+        return positionScoreAnalytics.positions();
+    }
+    
+    // Read-modify-write under the version check; a concurrent change makes it re-read and re-apply
     public Interview updateInterview(Long id, Interview interviewDetails) {
-        Interview interview = getInterviewById(id);
-        interview.setUser(interviewDetails.getUser());
-        interview.setScore(interviewDetails.getScore());
-        interview.setPosition(interviewDetails.getPosition());
-        
-        return interviewRepository.save(interview);
+        return optimisticLockRetry.run(() -> {
+            Interview interview = getInterviewById(id);
+            String previousPosition = interview.getPosition();
+            int previousScore = interview.getScore();
+            interview.setUser(interviewDetails.getUser());
+            interview.setScore(interviewDetails.getScore());
+            interview.setPosition(interviewDetails.getPosition());
+            
+            Interview savedInterview = interviewRepository.save(interview);
+            // Candidate and position may both change, rebuild the affected boards
+            interviewLeaderboard.invalidate(previousPosition);
+            interviewLeaderboard.invalidate(savedInterview.getPosition());
+            positionScoreAnalytics.onChanged(previousPosition, previousScore, savedInterview.getPosition(), savedInterview.getScore());
+            return savedInterview;
+        });
+    }
+    
+    // One compare-and-set UPDATE. Without an expected version the score simply overwrites, which
+    // cannot conflict; with one a concurrent change fails it instead of being silently overwritten
+    public InterviewScoreDto updateScore(Long id, int score, Long expectedVersion) {
+        InterviewScoreChange change = interviewRepository.updateScore(id, score, expectedVersion)
+            .orElseThrow(() -> interviewRepository.existsById(id)
+                ? new OptimisticLockingFailureException("Interview " + id + " is no longer at version " + expectedVersion)
+                : new RuntimeException("Interview not found with id: " + id));
+        InterviewScoreDto updated = change.interview();
+        interviewLeaderboard.onSaved(updated.toSummary());
+        positionScoreAnalytics.onChanged(updated.getPosition(), change.previousScore(), updated.getPosition(), updated.getScore());
+        return updated;
     }
     
-    public Interview updateScore(Long id, int score) {
-        Interview interview = getInterviewById(id);
-        interview.setScore(score);
+    // All scores are written in one transaction as a single JDBC batch. The rows are locked and read first,
+    // so the leaderboard and analytics learn both the scores replaced and the ones written without a re-read.
+    // They learn it after the commit: a rollback must leave them untouched, and a board loaded meanwhile
+    // reads the old scores and needs the new ones replayed onto it
+    @Transactional
+    public List<ScoreUpdateResultDto> updateScores(List<ScoreUpdateDto> updates) {
+        Set<Long> ids = updates.stream().map(ScoreUpdateDto::getInterviewId).collect(Collectors.toSet());
+        Map<Long, RecruiterCandidateViewDto> rows = interviewRepository.lockCandidateSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(RecruiterCandidateViewDto::getInterviewId, Function.identity()));
+        int[] rowCounts = interviewRepository.batchUpdateScores(updates);
         
-        return interviewRepository.save(interview);
+        // Only a versioned item can conflict, and only those that missed need telling apart from missing ones
+        List<Long> missedVersioned = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (rowCounts[i] == 0 && updates.get(i).getVersion() != null) {
+                missedVersioned.add(updates.get(i).getInterviewId());
+            }
+        }
+        Set<Long> conflicted = missedVersioned.isEmpty()
+            ? Set.of()
+            : new HashSet<>(interviewRepository.findExistingIds(missedVersioned));
+        
+        List<ScoreUpdateResultDto> results = new ArrayList<>(updates.size());
+        Map<Long, RecruiterCandidateViewDto> updatedRows = new LinkedHashMap<>();
+        List<Runnable> analyticsDeltas = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            ScoreUpdateDto update = updates.get(i);
+            boolean updated = rowCounts[i] > 0;
+            ScoreUpdateResultDto.Status status = updated ? ScoreUpdateResultDto.Status.UPDATED
+                : conflicted.contains(update.getInterviewId()) ? ScoreUpdateResultDto.Status.CONFLICT
+                : ScoreUpdateResultDto.Status.NOT_FOUND;
+            results.add(new ScoreUpdateResultDto(update.getInterviewId(), update.getScore(), status));
+            // An interview listed twice is updated twice in order, each time from the score the last one left
+            RecruiterCandidateViewDto row = rows.get(update.getInterviewId());
+            if (updated && row != null) {
+                String position = row.getPosition();
+                int previousScore = row.getScore();
+                analyticsDeltas.add(() -> positionScoreAnalytics.onChanged(position, previousScore, position, update.getScore()));
+                row.setScore(update.getScore());
+                updatedRows.put(row.getInterviewId(), row);
+            }
+        }
+        
+        afterCommit(() -> {
+            analyticsDeltas.forEach(Runnable::run);
+            updatedRows.values().forEach(interviewLeaderboard::onSaved);
+        });
+        return results;
     }
     
     public void deleteInterview(Long id) {
-        Interview interview = getInterviewById(id);
-        interviewRepository.delete(interview);
+        Interview interview = optimisticLockRetry.run(() -> {
+            Interview current = getInterviewById(id);
+            interviewRepository.delete(current);
+            return current;
+        });
+        interviewLeaderboard.onDeleted(interview);
+        positionScoreAnalytics.onDeleted(interview);
+        interviewScheduler.onDeleted(interview);
+    }
+    
+    // Scored means score > 0; unscored lists run the queries without any score predicate
+    private List<RecruiterCandidateViewDto> getCandidateViews(boolean scoredOnly, ViewMode view) {
+        if (view == ViewMode.SUMMARY) {
+            return scoredOnly
+                ? interviewRepository.findCandidateSummariesByScoreGreaterThan(0)
+                : interviewRepository.findCandidateSummaries();
+        }
+        return scoredOnly
+            ? interviewRepository.findCandidateViewsByScoreGreaterThan(0)
+            : interviewRepository.findCandidateViews();
+    }
+    
+    private CursorPageDto<RecruiterCandidateViewDto> getCandidateViewsPage(boolean scoredOnly, ViewMode view,
+                                                                           Long afterId, Integer size) {
+        int pageSize = paginationProperties.resolve(size);
+        long cursor = cursorOrStart(afterId);
+        Limit limit = Limit.of(pageSize + 1);
+        List<RecruiterCandidateViewDto> rows;
+        if (view == ViewMode.SUMMARY) {
+            rows = scoredOnly
+                ? interviewRepository.findCandidateSummariesByScoreGreaterThanAfter(0, cursor, limit)
+                : interviewRepository.findCandidateSummariesAfter(cursor, limit);
+        } else {
+            rows = scoredOnly
+                ? interviewRepository.findCandidateViewsByScoreGreaterThanAfter(0, cursor, limit)
+                : interviewRepository.findCandidateViewsAfter(cursor, limit);
+        }
+        return toPage(rows, pageSize, RecruiterCandidateViewDto::getInterviewId);
+    }
+    
+    // Runs at once outside a transaction
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static long cursorOrStart(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
+    
+    // One extra row is fetched to know whether a next page exists without a count query
+    private static <T> CursorPageDto<T> toPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPageDto<>(rows, rows.size(), null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPageDto<>(items, pageSize, idOf.apply(items.get(pageSize - 1)));
     }
 }
@@ -0,0 +1,43 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.OptimisticLockProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// Reruns a read-modify-write that lost a version race. Each attempt must read the row again,
+// so it re-applies its change on top of the winner's instead of overwriting it.
+@Component
+public class OptimisticLockRetry {
+
+    private final OptimisticLockProperties properties;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticLockRetry(OptimisticLockProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.retries = Counter.builder("optimistic.lock.retries")
+            .description("Updates rerun after losing a version race")
+            .register(meterRegistry);
+        this.exhausted = Counter.builder("optimistic.lock.exhausted")
+            .description("Updates that still conflicted after the last attempt")
+            .register(meterRegistry);
+    }
+
+    public <T> T run(Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attemptNumber >= properties.maxAttempts()) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.AnalyticsProperties;
+import hr.recruitment.dto.PositionScoreStatsDto;
+import hr.recruitment.dto.ScoreHistogramBucket;
+import hr.recruitment.model.Interview;
+import hr.recruitment.repository.InterviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-position score histograms held in memory, so score statistics cost positions times distinct scores
+// rather than a pass over every interview. InterviewService applies each of its writes as a delta, and
+// UserService the interviews cascaded away with their candidate. Everything else (rolled-back batches,
+// manual SQL, writes racing a reconcile) is corrected when the histograms are replaced from the
+// interview_score_histogram view: on the first read, then every reconcile interval.
+@Slf4j
+@Component
+public class PositionScoreAnalytics implements DisposableBean {
+
+    private static final int PENDING = 0;
+
+    private final InterviewRepository interviewRepository;
+    private final AnalyticsProperties properties;
+
+    // Null until the first reconcile; deltas arriving before then are already in the view it reads
+    private volatile Map<String, ScoreHistogram> histograms;
+    private final Lock histogramLock = new ReentrantLock();
+    // One refresh at a time, held apart from the histogram lock so writers never wait on the view
+    private final Lock reconcileLock = new ReentrantLock();
+    private final ScheduledExecutorService reconciler;
+
+    private final Timer reconciles;
+    private final Counter drifted;
+
+    public PositionScoreAnalytics(InterviewRepository interviewRepository, AnalyticsProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.interviewRepository = interviewRepository;
+        this.properties = properties;
+
+        this.reconciles = Timer.builder("interview.analytics.reconcile")
+            .description("Time to refresh the score histogram view and reload it")
+            .register(meterRegistry);
+        this.drifted = Counter.builder("interview.analytics.drifted")
+            .description("Positions whose in-memory histogram disagreed with the view when reconciled")
+            .register(meterRegistry);
+
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "position-analytics-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.reconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // Statistics of every position, ordered by position
+    public List<PositionScoreStatsDto> positions() {
+        if (histograms == null) {
+            reconcileLock.lock();
+            try {
+                if (histograms == null) {
+                    reload();
+                }
+            } finally {
+                reconcileLock.unlock();
+            }
+        }
+        histogramLock.lock();
+        try {
+            return new TreeMap<>(histograms).entrySet().stream()
+                .map(entry -> entry.getValue().stats(entry.getKey()))
+                .toList();
+        } finally {
+            histogramLock.unlock();
+        }
+    }
+
+    public void onCreated(Interview interview) {
+        apply(null, PENDING, interview.getPosition(), interview.getScore());
+    }
+
+    // Position and score the interview had before the write, and the ones it has now
+    public void onChanged(String previousPosition, int previousScore, String position, int score) {
+        apply(previousPosition, previousScore, position, score);
+    }
+
+    public void onDeleted(Interview interview) {
+        apply(interview.getPosition(), interview.getScore(), null, PENDING);
+    }
+
+    // Replaces the histograms with the freshly refreshed view
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reload();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        reconciler.shutdownNow();
+        reconciler.awaitTermination(properties.reconcileInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void apply(String fromPosition, int fromScore, String toPosition, int toScore) {
+        histogramLock.lock();
+        try {
+            Map<String, ScoreHistogram> current = histograms;
+            if (current == null) {
+                return;
+            }
+            if (fromPosition != null) {
+                ScoreHistogram histogram = current.get(fromPosition);
+                if (histogram != null && histogram.add(fromScore, -1)) {
+                    current.remove(fromPosition);
+                }
+            }
+            if (toPosition != null) {
+                current.computeIfAbsent(toPosition, position -> new ScoreHistogram()).add(toScore, 1);
+            }
+        } finally {
+            histogramLock.unlock();
+        }
+    }
+
+    private void reload() {
+        List<ScoreHistogramBucket> buckets = reconciles.record(interviewRepository::refreshScoreHistogram);
+        Map<String, ScoreHistogram> fresh = new HashMap<>();
+        for (ScoreHistogramBucket bucket : buckets) {
+            fresh.computeIfAbsent(bucket.position(), position -> new ScoreHistogram()).add(bucket.score(), bucket.interviews());
+        }
+        histogramLock.lock();
+        try {
+            if (histograms != null) {
+                drifted.increment(countDrifted(histograms, fresh));
+            }
+            histograms = fresh;
+        } finally {
+            histogramLock.unlock();
+        }
+    }
+
+    private static long countDrifted(Map<String, ScoreHistogram> held, Map<String, ScoreHistogram> fresh) {
+        Set<String> positions = new HashSet<>(held.keySet());
+        positions.addAll(fresh.keySet());
+        return positions.stream()
+            .filter(position -> !ScoreHistogram.same(held.get(position), fresh.get(position)))
+            .count();
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Position analytics reconcile failed, keeping the in-memory histograms", e);
+        }
+    }
+
+    // Interview count per score of one position, in score order
+    private static final class ScoreHistogram {
+
+        private final TreeMap<Integer, Long> counts = new TreeMap<>();
+
+        // True once the histogram is empty
+        boolean add(int score, long interviews) {
+            long count = counts.getOrDefault(score, 0L) + interviews;
+            if (count > 0) {
+                counts.put(score, count);
+            } else {
+                counts.remove(score);
+            }
+            return counts.isEmpty();
+        }
+
+        static boolean same(ScoreHistogram a, ScoreHistogram b) {
+            return a == null || b == null ? a == b : a.counts.equals(b.counts);
+        }
+
+        PositionScoreStatsDto stats(String position) {
+            long interviews = 0;
+            long pending = 0;
+            long scored = 0;
+            long scoreSum = 0;
+            for (Map.Entry<Integer, Long> bucket : counts.entrySet()) {
+                interviews += bucket.getValue();
+                if (bucket.getKey() == PENDING) {
+                    pending += bucket.getValue();
+                } else if (bucket.getKey() > PENDING) {
+                    scored += bucket.getValue();
+                    scoreSum += bucket.getKey() * bucket.getValue();
+                }
+            }
+            PositionScoreStatsDto stats = new PositionScoreStatsDto();
+            stats.setPosition(position);
+            stats.setInterviews(interviews);
+            stats.setPending(pending);
+            stats.setScored(scored);
+            if (scored == 0) {
+                return stats;
+            }
+            Map<Integer, Long> scoredCounts = counts.tailMap(PENDING, false);
+            stats.setAverageScore((double) scoreSum / scored);
+            stats.setMinScore(counts.higherKey(PENDING));
+            stats.setMedianScore(nearestRank(scoredCounts, (scored + 1) / 2));
+            stats.setP90Score(nearestRank(scoredCounts, (9 * scored + 9) / 10));
+            stats.setMaxScore(counts.lastKey());
+            return stats;
+        }
+
+        // Score of the rank-th interview in ascending order, ranks starting at 1
+        private static int nearestRank(Map<Integer, Long> scoredCounts, long rank) {
+            long seen = 0;
+            int score = PENDING;
+            for (Map.Entry<Integer, Long> bucket : scoredCounts.entrySet()) {
+                score = bucket.getKey();
+                seen += bucket.getValue();
+                if (seen >= rank) {
+                    break;
+                }
+            }
+            return score;
+        }
+    }
+}
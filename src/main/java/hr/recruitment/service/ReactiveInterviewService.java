@@ -0,0 +1,69 @@
+package hr.recruitment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.repository.ReactiveInterviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+// Non-blocking counterpart of the InterviewService recruiter list reads
+@Service
+@RequiredArgsConstructor
+public class ReactiveInterviewService {
+
+    // Rows per NDJSON chunk. MVC writes and flushes every element of a stream separately,
+    // so rows go out in chunks of lines; demand is still counted in chunks, keeping backpressure
+    private static final int NDJSON_CHUNK_ROWS = 256;
+
+    private final ReactiveInterviewRepository reactiveInterviewRepository;
+    private final ObjectMapper objectMapper;
+
+    public Flux<RecruiterCandidateViewDto> getCandidateViews(ViewMode view) {
+        return getCandidateViews(false, view);
+    }
+
+    public Flux<RecruiterCandidateViewDto> getScoredCandidateViews(ViewMode view) {
+        return getCandidateViews(true, view);
+    }
+
+    // The same views as NDJSON text, each element a chunk of complete lines
+    public Flux<String> getCandidateViewLines(ViewMode view) {
+        return toNdjsonChunks(getCandidateViews(view));
+    }
+
+    public Flux<String> getScoredCandidateViewLines(ViewMode view) {
+        return toNdjsonChunks(getScoredCandidateViews(view));
+    }
+
+    // Scored means score > 0; unscored lists run the queries without any score predicate
+    private Flux<RecruiterCandidateViewDto> getCandidateViews(boolean scoredOnly, ViewMode view) {
+        if (view == ViewMode.SUMMARY) {
+            return scoredOnly
+                ? reactiveInterviewRepository.findCandidateSummariesByScoreGreaterThan(0)
+                : reactiveInterviewRepository.findCandidateSummaries();
+        }
+        return scoredOnly
+            ? reactiveInterviewRepository.findCandidateViewsByScoreGreaterThan(0)
+            : reactiveInterviewRepository.findCandidateViews();
+    }
+
+    private Flux<String> toNdjsonChunks(Flux<RecruiterCandidateViewDto> rows) {
+        ObjectWriter writer = objectMapper.writer();
+        return rows.buffer(NDJSON_CHUNK_ROWS).map(chunk -> {
+            StringBuilder lines = new StringBuilder();
+            try {
+                for (RecruiterCandidateViewDto row : chunk) {
+                    lines.append(writer.writeValueAsString(row)).append('\n');
+                }
+            } catch (JsonProcessingException e) {
+                throw Exceptions.propagate(e);
+            }
+            return lines.toString();
+        });
+    }
+}
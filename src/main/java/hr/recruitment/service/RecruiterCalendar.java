@@ -0,0 +1,254 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.AvailabilityWindowDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One recruiter's booked slots in memory, keyed by start. The slots of a recruiter never overlap (the database
+// excludes it), so a sorted map serves as the interval tree: the only slot that can contain an instant is the one
+// starting at or before it, and the slots inside a range are the ones starting in it, each found in O(log n).
+// A slot still being written to the database is held here first, so concurrent requests on this instance pass it by.
+// An interview moving within the calendar vacates its booked slot while it holds the new one, as the two may overlap
+final class RecruiterCalendar {
+
+    record Slot(Long interviewId, Instant start, Instant end, boolean held) {
+    }
+
+    private final Long recruiterId;
+    private final Lock lock = new ReentrantLock();
+    // One reload at a time, held apart from the slot lock so bookings never wait on the database
+    private final Lock reloading = new ReentrantLock();
+    private final NavigableMap<Instant, Slot> slots = new TreeMap<>();
+    // Booked slot of each interview, to find it again when it is cancelled or moves
+    private final Map<Long, Slot> booked = new HashMap<>();
+    // Null until the first load
+    private volatile Instant loadedAt;
+    private volatile boolean expired;
+
+    RecruiterCalendar(Long recruiterId) {
+        this.recruiterId = recruiterId;
+    }
+
+    Long recruiterId() {
+        return recruiterId;
+    }
+
+    Lock reloading() {
+        return reloading;
+    }
+
+    boolean loaded() {
+        return loadedAt != null;
+    }
+
+    boolean stale(Instant now, Duration refresh) {
+        return expired || loadedAt == null || loadedAt.plus(refresh).isBefore(now);
+    }
+
+    // Reloaded by the next caller, e.g. after the database refused a slot this calendar showed as free
+    void expire() {
+        expired = true;
+    }
+
+    // Replaces the bookings with those read from the database. Holds still being written survive unless a
+    // booking read now covers them; a booking confirmed while the read ran can go missing, which the
+    // exclusion constraint catches and reports as a conflict on the next attempt to use its slot
+    void load(List<Slot> bookings, Instant readAt) {
+        lock.lock();
+        try {
+            List<Slot> holds = slots.values().stream().filter(Slot::held).toList();
+            slots.clear();
+            booked.clear();
+            bookings.forEach(this::book);
+            for (Slot hold : holds) {
+                Slot vacated = vacate(hold.interviewId());
+                if (isFree(hold.start(), hold.end())) {
+                    slots.put(hold.start(), hold);
+                } else {
+                    restore(vacated);
+                }
+            }
+            loadedAt = readAt;
+            expired = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Earliest start in [from, to) on a step boundary where length fits between the slots, or null.
+    // The slot the interview is booked in, if any, counts as free: it is the one being moved
+    Instant earliestFree(Long interviewId, Instant from, Instant to, Duration length, Duration step) {
+        lock.lock();
+        try {
+            Slot vacated = vacate(interviewId);
+            try {
+                return findFree(from, to, length, step);
+            } finally {
+                restore(vacated);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Takes the earliest free slot for the interview until it is confirmed or released, or null when none fits.
+    // The interview's own booking is left out of the search and stays vacated while the hold lasts
+    Slot hold(Long interviewId, Instant from, Instant to, Duration length, Duration step) {
+        lock.lock();
+        try {
+            Slot vacated = vacate(interviewId);
+            Instant start = findFree(from, to, length, step);
+            if (start == null) {
+                restore(vacated);
+                return null;
+            }
+            Slot hold = new Slot(interviewId, start, start.plus(length), true);
+            slots.put(start, hold);
+            return hold;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The hold is in the database now: it becomes a booking and the interview's previous slot here is freed
+    void confirm(Slot hold) {
+        lock.lock();
+        try {
+            slots.remove(hold.start(), hold);
+            unbook(hold.interviewId());
+            if (isFree(hold.start(), hold.end())) {
+                book(new Slot(hold.interviewId(), hold.start(), hold.end(), false));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the hold; a booking it vacated takes its slot back
+    void release(Slot hold) {
+        lock.lock();
+        try {
+            slots.remove(hold.start(), hold);
+            restore(booked.get(hold.interviewId()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Frees the interview's booked slot, after a cancellation or a move to another recruiter
+    void remove(Long interviewId) {
+        lock.lock();
+        try {
+            unbook(interviewId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The gaps between slots within [from, to); held slots count as taken
+    List<AvailabilityWindowDto> free(Instant from, Instant to) {
+        lock.lock();
+        try {
+            List<AvailabilityWindowDto> windows = new ArrayList<>();
+            Instant cursor = from;
+            Instant first = slots.floorKey(from);
+            for (Slot slot : slots.tailMap(first != null ? first : from, true).values()) {
+                if (!slot.start().isBefore(to)) {
+                    break;
+                }
+                if (slot.start().isAfter(cursor)) {
+                    windows.add(new AvailabilityWindowDto(cursor, slot.start()));
+                }
+                if (slot.end().isAfter(cursor)) {
+                    cursor = slot.end();
+                }
+            }
+            if (cursor.isBefore(to)) {
+                windows.add(new AvailabilityWindowDto(cursor, to));
+            }
+            return windows;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Steps past whichever slot is in the way until the length fits or the window ends
+    private Instant findFree(Instant from, Instant to, Duration length, Duration step) {
+        Instant start = align(from, step);
+        while (!start.plus(length).isAfter(to)) {
+            Instant end = start.plus(length);
+            Map.Entry<Instant, Slot> before = slots.floorEntry(start);
+            if (before != null && before.getValue().end().isAfter(start)) {
+                start = align(before.getValue().end(), step);
+                continue;
+            }
+            Map.Entry<Instant, Slot> inside = slots.higherEntry(start);
+            if (inside != null && inside.getKey().isBefore(end)) {
+                start = align(inside.getValue().end(), step);
+                continue;
+            }
+            return start;
+        }
+        return null;
+    }
+
+    private boolean isFree(Instant start, Instant end) {
+        Map.Entry<Instant, Slot> before = slots.floorEntry(start);
+        if (before != null && before.getValue().end().isAfter(start)) {
+            return false;
+        }
+        Instant next = slots.higherKey(start);
+        return next == null || !next.isBefore(end);
+    }
+
+    private void book(Slot slot) {
+        slots.put(slot.start(), slot);
+        booked.put(slot.interviewId(), slot);
+    }
+
+    private void unbook(Long interviewId) {
+        Slot slot = booked.remove(interviewId);
+        if (slot != null) {
+            slots.remove(slot.start(), slot);
+        }
+    }
+
+    // Takes the interview's booking out of the slots but keeps it booked; null when there was none in them
+    private Slot vacate(Long interviewId) {
+        Slot slot = interviewId != null ? booked.get(interviewId) : null;
+        return slot != null && slots.remove(slot.start(), slot) ? slot : null;
+    }
+
+    // Puts a vacated booking back, unless it was moved or its time has been taken meanwhile
+    private void restore(Slot slot) {
+        if (slot != null && slot.equals(booked.get(slot.interviewId())) && isFree(slot.start(), slot.end())) {
+            slots.put(slot.start(), slot);
+        }
+    }
+
+    // The first step boundary (counted from the epoch, so UTC) at or after the instant
+    static Instant align(Instant instant, Duration step) {
+        long stepMillis = step.toMillis();
+        long millis = instant.toEpochMilli();
+        Instant aligned = Instant.ofEpochMilli(millis - Math.floorMod(millis, stepMillis));
+        return aligned.isBefore(instant) ? aligned.plus(step) : aligned;
+    }
+}
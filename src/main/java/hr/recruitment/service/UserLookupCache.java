@@ -0,0 +1,82 @@
+package hr.recruitment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import hr.recruitment.config.UserLookupCacheProperties;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Bounded, TTL-evicting email prefix -> (id, role) cache in front of the LIKE lookup
+@Component
+public class UserLookupCache implements MeterBinder {
+
+    private final Cache<String, UserIdentity> cache;
+    // Bumped by every eviction, so a load that started before one never puts its result back
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserLookupCache(UserLookupCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .build();
+    }
+
+    public UserIdentity get(String emailPrefix) {
+        return cache.getIfPresent(emailPrefix);
+    }
+
+    // The loader runs outside the cache's compute lock: a blocking query under that monitor would pin
+    // a virtual thread to its carrier. Concurrent misses on one key may both load. The result is only
+    // cached when no eviction happened since the load started, checked under the entry's lock, which
+    // evict() takes as well; otherwise it may predate the change and is returned uncached.
+    // A loader exception is propagated and nothing is cached.
+    public UserIdentity get(String emailPrefix, Function<String, UserIdentity> loader) {
+        UserIdentity cached = cache.getIfPresent(emailPrefix);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        UserIdentity loaded = loader.apply(emailPrefix);
+        cache.asMap().compute(emailPrefix, (key, current) -> generation.get() == loadedAt ? loaded : current);
+        return loaded;
+    }
+
+    public void put(String emailPrefix, UserIdentity identity) {
+        cache.put(emailPrefix, identity);
+    }
+
+    public void evict(User user) {
+        if (user.getEmail() != null) {
+            generation.incrementAndGet();
+            cache.invalidate(User.localPartOf(user.getEmail()));
+        }
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // Publishes hits, misses, evictions and size as cache.* meters tagged cache=userLookup
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userLookup");
+    }
+}
@@ -1,20 +1,55 @@
 package hr.recruitment.service;
 
+import hr.recruitment.config.PaginationProperties;
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateCabinetVersion;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateInterviewDto;
 import hr.recruitment.dto.CandidateProfileDto;
+import hr.recruitment.dto.CandidateProfilePatch;
+import hr.recruitment.dto.CandidateSearchResultDto;
+import hr.recruitment.dto.CursorPageDto;
+import hr.recruitment.dto.InterviewListVersion;
+import hr.recruitment.dto.SkillMatchDto;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.model.Interview;
 import hr.recruitment.model.User;
 import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.InterviewRepository;
+import hr.recruitment.repository.SecondLevelCache;
 import hr.recruitment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     
     private final UserRepository userRepository;
+    private final InterviewRepository interviewRepository;
+    private final SecondLevelCache secondLevelCache;
+    private final UserLookupCache userLookupCache;
+    private final PaginationProperties paginationProperties;
+    private final CandidateSkillIndex candidateSkillIndex;
+    private final CandidateProfileWriteBehind candidateProfileWriteBehind;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final InterviewLeaderboard interviewLeaderboard;
+    private final PositionScoreAnalytics positionScoreAnalytics;
+    private final InterviewScheduler interviewScheduler;
     
+    // Listings and search go to the read replica when recruitment.read-replica is enabled
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -24,126 +59,298 @@ public class UserService {
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
     
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(Role role) {
         return userRepository.findByRole(role);
     }
     
-    public User updateUser(Long id, User userDetails) {
-        User user = getUserById(id);
-        
-        if (userDetails.getName() != null) {
-            user.setName(userDetails.getName());
+    public CandidateCvDto getCandidateCv(Long candidateId) {
+        return userRepository.findCvByIdAndRole(candidateId, Role.ROLE_CANDIDATE)
+            .orElseThrow(() -> new RuntimeException("Candidate not found with id: " + candidateId));
+    }
+    
+    // Ranked full-text search over candidate name, info and CV, paged by offset
+    @Transactional(readOnly = true)
+    public CursorPageDto<CandidateSearchResultDto> searchCandidates(String query, Long offset, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
         }
-        if (userDetails.getEmail() != null) {
-            user.setEmail(userDetails.getEmail());
+        if (offset != null && offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
         }
-        if (userDetails.getRole() != null) {
-            user.setRole(userDetails.getRole());
+        int pageSize = paginationProperties.resolve(size);
+        long start = offset == null ? 0L : offset;
+        // One extra row tells whether a next page exists without a count query
+        List<CandidateSearchResultDto> rows = userRepository.searchCandidates(query, start, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPageDto<>(rows, rows.size(), null);
         }
-        if (userDetails.getInfo() != null) {
-            user.setInfo(userDetails.getInfo());
+        return new CursorPageDto<>(rows.subList(0, pageSize), pageSize, start + pageSize);
+    }
+    
+    // Boolean skill filter answered from the in-memory index, candidate ids ascending
+    public SkillMatchDto matchCandidateSkills(List<String> allOf, List<String> anyOf, Long afterId, Integer size) {
+        RoaringBitmap matches = candidateSkillIndex.match(allOf, anyOf);
+        int pageSize = paginationProperties.resolve(size);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        if (afterId != null) {
+            if (afterId >= Integer.MAX_VALUE) {
+                return new SkillMatchDto(matches.getLongCardinality(), List.of(), null);
+            }
+            iterator.advanceIfNeeded((int) Math.max(afterId + 1, 0));
         }
-        if (userDetails.getCv() != null) {
-            user.setCv(userDetails.getCv());
+        List<Long> candidateIds = new ArrayList<>(pageSize);
+        while (iterator.hasNext() && candidateIds.size() < pageSize) {
+            candidateIds.add((long) iterator.next());
         }
-        
-        return userRepository.save(user);
+        Long nextCursor = iterator.hasNext() ? candidateIds.get(candidateIds.size() - 1) : null;
+        return new SkillMatchDto(matches.getLongCardinality(), candidateIds, nextCursor);
     }
     
-    public void deleteUser(Long id) {
-        User user = getUserById(id);
-        userRepository.delete(user);
+    // Read-modify-write under the version check; a concurrent change makes it re-read and re-apply
+    public User updateUser(Long id, User userDetails) {
+        candidateProfileWriteBehind.flush();
+        return optimisticLockRetry.run(() -> {
+            User user = getUserById(id);
+            // Email and role may change, so drop the entry under the old prefix too
+            userLookupCache.evict(user);
+            String previousName = user.getName();
+            String previousEmail = user.getEmail();
+            
+            if (userDetails.getName() != null) {
+                user.setName(userDetails.getName());
+            }
+            if (userDetails.getEmail() != null) {
+                user.setEmail(userDetails.getEmail());
+            }
+            if (userDetails.getRole() != null) {
+                user.setRole(userDetails.getRole());
+            }
+            if (userDetails.getInfo() != null) {
+                user.setInfo(userDetails.getInfo());
+            }
+            if (userDetails.getCv() != null) {
+                user.setCv(userDetails.getCv());
+            }
+            
+            User savedUser = userRepository.save(user);
+            userLookupCache.evict(savedUser);
+            candidateSkillIndex.index(savedUser);
+            if (!Objects.equals(previousName, savedUser.getName()) || !Objects.equals(previousEmail, savedUser.getEmail())) {
+                invalidateLeaderboards(savedUser.getId());
+            }
+            return savedUser;
+        });
     }
     
-    public User updateCandidateProfile(Long candidateId, CandidateProfileDto profileDto) {
-        User candidate = getUserById(candidateId);
-        
-        // Verify that the user is actually a candidate
-        if (candidate.getRole() != Role.ROLE_CANDIDATE) {
-            throw new IllegalArgumentException("User is not a candidate");
-        }
-        
-        candidate.setName(profileDto.getName());
-        if (profileDto.getInfo() != null) {
-            candidate.setInfo(profileDto.getInfo());
+    // The user's interviews go with them (cascade), so everything kept in memory about those is told too
+    public void deleteUser(Long id) {
+        List<Interview> interviews = new ArrayList<>();
+        User user = optimisticLockRetry.run(() -> {
+            User current = getUserById(id);
+            interviews.clear();
+            interviews.addAll(interviewRepository.findByUserId(current.getId()));
+            userRepository.delete(current);
+            return current;
+        });
+        userLookupCache.evict(user);
+        candidateSkillIndex.remove(user.getId());
+        for (Interview interview : interviews) {
+            interviewLeaderboard.onDeleted(interview);
+            positionScoreAnalytics.onDeleted(interview);
+            interviewScheduler.onDeleted(interview);
         }
-        if (profileDto.getCv() != null) {
-            candidate.setCv(profileDto.getCv());
+    }
+    
+    // Candidate mutators are one UPDATE ... RETURNING with the role check in its WHERE clause,
+    // instead of a SELECT, a check in Java and an UPDATE
+    public CandidateCabinetDto updateCandidateProfile(Long candidateId, CandidateProfileDto profileDto) {
+        candidateProfileWriteBehind.flush();
+        return updatedCandidateById(CandidateProfilePatch.profile(candidateId, profileDto));
+    }
+    
+    public CandidateCabinetDto updateCandidateInfo(Long candidateId, String info) {
+        candidateProfileWriteBehind.flush();
+        return updatedCandidateById(CandidateProfilePatch.info(candidateId, info));
+    }
+    
+    public CandidateCabinetDto updateCandidateCV(Long candidateId, String cv) {
+        candidateProfileWriteBehind.flush();
+        return updatedCandidateById(CandidateProfilePatch.cv(candidateId, cv));
+    }
+    
+    // Methods for working with email prefixes
+    public User getUserByEmailPrefix(String emailPrefix) {
+        UserIdentity cached = userLookupCache.get(emailPrefix);
+        if (cached != null) {
+            // Primary key lookup instead of the prefix scan
+            return getUserById(cached.id());
         }
         
-        return userRepository.save(candidate);
+        User user = findUserByEmailPrefix(emailPrefix);
+        userLookupCache.put(emailPrefix, UserIdentity.of(user));
+        return user;
     }
     
-    public User updateCandidateInfo(Long candidateId, String info) {
-        User candidate = getUserById(candidateId);
+    // Candidate profile with interview summaries, fetched in a single query
+    public CandidateCabinetDto getCandidateCabinet(String emailPrefix) {
+        User candidate = userRepository.findWithInterviewsByEmailLocalPart(emailPrefix)
+            .orElseThrow(() -> new RuntimeException("User not found with email prefix: " + emailPrefix));
         
         // Verify that the user is actually a candidate
         if (candidate.getRole() != Role.ROLE_CANDIDATE) {
             throw new IllegalArgumentException("User is not a candidate");
         }
         
-        candidate.setInfo(info);
-        return userRepository.save(candidate);
+        return toCabinet(candidate, candidate.getInterviews());
     }
     
-    public User updateCandidateCV(Long candidateId, String cv) {
-        User candidate = getUserById(candidateId);
+    // The cabinet as of a validator just read. Served from the second-level cache when the cached profile and
+    // interviews add up to that validator, otherwise read with the single query above
+    public CandidateCabinetDto getCandidateCabinet(String emailPrefix, CandidateCabinetVersion current) {
+        return getCachedCandidateCabinet(current).orElseGet(() -> getCandidateCabinet(emailPrefix));
+    }
+    
+    // What the cabinet ETag is built from, one aggregate query instead of the profile and interview rows
+    public CandidateCabinetVersion getCandidateCabinetVersion(String emailPrefix) {
+        CandidateCabinetVersion version = userRepository.findCabinetVersionByEmailLocalPart(emailPrefix)
+            .orElseThrow(() -> new RuntimeException("User not found with email prefix: " + emailPrefix));
         
         // Verify that the user is actually a candidate
-        if (candidate.getRole() != Role.ROLE_CANDIDATE) {
+        if (version.role() != Role.ROLE_CANDIDATE) {
             throw new IllegalArgumentException("User is not a candidate");
         }
-        
-        candidate.setCv(cv);
-        return userRepository.save(candidate);
+        return version;
     }
     
-    // Methods for working with email prefixes
-    public User getUserByEmailPrefix(String emailPrefix) {
-        return userRepository.findByEmailStartingWith(emailPrefix + "@")
-            .orElseThrow(() -> new RuntimeException("User not found with email prefix: " + emailPrefix));
+    // Id and role only, served from the cache without touching the database on a hit
+    public UserIdentity getUserIdentityByEmailPrefix(String emailPrefix) {
+        return userLookupCache.get(emailPrefix, prefix -> UserIdentity.of(findUserByEmailPrefix(prefix)));
     }
     
-    public User updateCandidateProfileByEmailPrefix(String emailPrefix, CandidateProfileDto profileDto) {
-        User candidate = getUserByEmailPrefix(emailPrefix);
-        
-        // Verify that the user is actually a candidate
-        if (candidate.getRole() != Role.ROLE_CANDIDATE) {
-            throw new IllegalArgumentException("User is not a candidate");
+    private Optional<CandidateCabinetDto> getCachedCandidateCabinet(CandidateCabinetVersion current) {
+        // Not cached yet: the join query is one statement where the two lookups below would be two
+        if (!secondLevelCache.contains(User.class, current.candidateId())) {
+            return Optional.empty();
         }
+        User candidate = userRepository.findById(current.candidateId()).orElse(null);
+        if (candidate == null) {
+            return Optional.empty();
+        }
+        List<Interview> interviews = interviewRepository.findByUserId(candidate.getId());
         
-        candidate.setName(profileDto.getName());
-        if (profileDto.getInfo() != null) {
-            candidate.setInfo(profileDto.getInfo());
+        boolean interviewsCurrent = current.interviews().equals(InterviewListVersion.of(interviews));
+        if (interviewsCurrent && current.profileVersion().equals(candidate.getVersion())) {
+            return Optional.of(toCabinet(candidate, interviews));
         }
-        if (profileDto.getCv() != null) {
-            candidate.setCv(profileDto.getCv());
+        // Cached copies the validator disagrees with, e.g. put back by a load racing a plain SQL write
+        secondLevelCache.forget(candidate);
+        interviews.forEach(secondLevelCache::forget);
+        if (!interviewsCurrent) {
+            secondLevelCache.evictQueries();
         }
-        
-        return userRepository.save(candidate);
+        return Optional.empty();
+    }
+    
+    private static CandidateCabinetDto toCabinet(User candidate, List<Interview> interviews) {
+        CandidateCabinetDto cabinet = CandidateCabinetDto.fromUser(candidate);
+        cabinet.setInterviews(interviews.stream()
+            .sorted(Comparator.comparing(Interview::getId))
+            .map(CandidateInterviewDto::fromInterview)
+            .toList());
+        return cabinet;
+    }
+    
+    private User findUserByEmailPrefix(String emailPrefix) {
+        return userRepository.findByEmailLocalPart(emailPrefix)
+            .orElseThrow(() -> new RuntimeException("User not found with email prefix: " + emailPrefix));
+    }
+    
+    // Keyed on email_local_part directly, so no lookup precedes the UPDATE
+    public CandidateCabinetDto updateCandidateProfileByEmailPrefix(String emailPrefix, CandidateProfileDto profileDto) {
+        return updateCandidateProfileByEmailPrefix(emailPrefix, profileDto, null);
+    }
+    
+    // The expected version variants only write while the profile is still at that version (If-Match)
+    public CandidateCabinetDto updateCandidateProfileByEmailPrefix(String emailPrefix, CandidateProfileDto profileDto,
+                                                                   Long expectedVersion) {
+        return updateCandidateByEmailPrefix(emailPrefix, CandidateProfilePatch.profile(null, profileDto), expectedVersion);
+    }
+    
+    public CandidateCabinetDto updateCandidateInfoByEmailPrefix(String emailPrefix, String info) {
+        return updateCandidateInfoByEmailPrefix(emailPrefix, info, null);
+    }
+    
+    public CandidateCabinetDto updateCandidateInfoByEmailPrefix(String emailPrefix, String info, Long expectedVersion) {
+        return updateCandidateByEmailPrefix(emailPrefix, CandidateProfilePatch.info(null, info), expectedVersion);
+    }
+    
+    public CandidateCabinetDto updateCandidateCVByEmailPrefix(String emailPrefix, String cv) {
+        return updateCandidateCVByEmailPrefix(emailPrefix, cv, null);
+    }
+    
+    public CandidateCabinetDto updateCandidateCVByEmailPrefix(String emailPrefix, String cv, Long expectedVersion) {
+        return updateCandidateByEmailPrefix(emailPrefix, CandidateProfilePatch.cv(null, cv), expectedVersion);
     }
     
-    public User updateCandidateInfoByEmailPrefix(String emailPrefix, String info) {
-        User candidate = getUserByEmailPrefix(emailPrefix);
+    public boolean isProfileWriteBehindEnabled() {
+        return candidateProfileWriteBehind.isEnabled();
+    }
+    
+    // Write-behind variants: the candidate is resolved from the lookup cache and the change is queued,
+    // nothing is read from or written to the database on the request thread
+    public void queueCandidateInfoByEmailPrefix(String emailPrefix, String info) {
+        candidateProfileWriteBehind.submit(CandidateProfilePatch.info(getCandidateIdByEmailPrefix(emailPrefix), info));
+    }
+    
+    public void queueCandidateCVByEmailPrefix(String emailPrefix, String cv) {
+        candidateProfileWriteBehind.submit(CandidateProfilePatch.cv(getCandidateIdByEmailPrefix(emailPrefix), cv));
+    }
+    
+    private Long getCandidateIdByEmailPrefix(String emailPrefix) {
+        UserIdentity candidate = getUserIdentityByEmailPrefix(emailPrefix);
         
         // Verify that the user is actually a candidate
-        if (candidate.getRole() != Role.ROLE_CANDIDATE) {
+        if (candidate.role() != Role.ROLE_CANDIDATE) {
             throw new IllegalArgumentException("User is not a candidate");
         }
-        
-        candidate.setInfo(info);
-        return userRepository.save(candidate);
+        return candidate.id();
     }
     
-    public User updateCandidateCVByEmailPrefix(String emailPrefix, String cv) {
-        User candidate = getUserByEmailPrefix(emailPrefix);
-        
-        // Verify that the user is actually a candidate
-        if (candidate.getRole() != Role.ROLE_CANDIDATE) {
-            throw new IllegalArgumentException("User is not a candidate");
+    private CandidateCabinetDto updateCandidateByEmailPrefix(String emailPrefix, CandidateProfilePatch patch,
+                                                             Long expectedVersion) {
+        candidateProfileWriteBehind.flush();
+        return updatedCandidate(patch,
+            userRepository.updateCandidateProfileByEmailLocalPart(emailPrefix, patch, expectedVersion),
+            () -> userRepository.findByEmailLocalPart(emailPrefix),
+            "User not found with email prefix: " + emailPrefix);
+    }
+    
+    // No row updated: only then is the user looked up, to tell a missing user from a non-candidate
+    // and, for a candidate, from a stale expected version
+    private CandidateCabinetDto updatedCandidateById(CandidateProfilePatch patch) {
+        Long candidateId = patch.candidateId();
+        return updatedCandidate(patch, userRepository.updateCandidateProfile(patch),
+            () -> userRepository.findById(candidateId), "User not found with id: " + candidateId);
+    }
+    
+    private CandidateCabinetDto updatedCandidate(CandidateProfilePatch patch, Optional<CandidateCabinetDto> updated,
+                                                 Supplier<Optional<User>> user, String notFoundMessage) {
+        CandidateCabinetDto candidate = updated.orElseThrow(() -> user.get()
+            .<RuntimeException>map(existing -> existing.getRole() == Role.ROLE_CANDIDATE
+                ? new OptimisticLockingFailureException("Candidate " + existing.getId() + " has changed since it was read")
+                : new IllegalArgumentException("User is not a candidate"))
+            .orElseGet(() -> new RuntimeException(notFoundMessage)));
+        // Id and role are unchanged, so the lookup cache entry stays valid
+        candidateSkillIndex.index(candidate.getId(), candidate.getInfo(), candidate.getCv());
+        if (patch.name() != null) {
+            invalidateLeaderboards(candidate.getId());
         }
-        
-        candidate.setCv(cv);
-        return userRepository.save(candidate);
+        return candidate;
+    }
+    
+    // Leaderboard entries carry the candidate's name and email
+    private void invalidateLeaderboards(Long userId) {
+        interviewRepository.findPositionsByUserId(userId).forEach(interviewLeaderboard::invalidate);
     }
 }
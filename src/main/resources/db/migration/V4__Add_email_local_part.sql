@@ -0,0 +1,10 @@
+-- Persist the part of the email before @ so prefix lookups are an exact match
+ALTER TABLE users ADD COLUMN email_local_part VARCHAR(255);
+
+-- Backfill existing users
+UPDATE users SET email_local_part = split_part(email, '@', 1);
+
+ALTER TABLE users ALTER COLUMN email_local_part SET NOT NULL;
+
+-- Unique btree index, usable for equality regardless of collation
+CREATE UNIQUE INDEX ux_users_email_local_part ON users(email_local_part);
@@ -0,0 +1,2 @@
+-- Serves per-position leaderboards (top scored interviews of a position) as an index range scan
+CREATE INDEX idx_interviews_position_score ON interviews(position, score DESC, id);
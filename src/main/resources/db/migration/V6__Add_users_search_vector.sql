@@ -0,0 +1,9 @@
+-- Full-text search over candidate profiles, weighted name > info > cv.
+-- Generated and stored, so it stays in sync with every write path (JPA, import COPY)
+ALTER TABLE users ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(info, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(cv, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_users_search_vector ON users USING GIN (search_vector);
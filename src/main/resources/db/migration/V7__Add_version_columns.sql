@@ -0,0 +1,4 @@
+-- Optimistic locking: JPA checks and bumps these through @Version, the JDBC writers bump them by hand.
+-- Existing rows start at 0, which is also what the column default gives imported candidates.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE interviews ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
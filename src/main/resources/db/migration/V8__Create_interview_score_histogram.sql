@@ -0,0 +1,9 @@
+-- Interview counts per (position, score), the ground truth that PositionScoreAnalytics reconciles its
+-- in-memory histograms against. Its size follows positions times distinct scores, not interviews.
+CREATE MATERIALIZED VIEW interview_score_histogram AS
+SELECT position, score, count(*) AS interviews
+FROM interviews
+GROUP BY position, score;
+
+-- Required by REFRESH MATERIALIZED VIEW CONCURRENTLY, which keeps the view readable while it runs
+CREATE UNIQUE INDEX idx_interview_score_histogram ON interview_score_histogram(position, score);
@@ -0,0 +1,18 @@
+-- Interview slots: the recruiter who holds the interview and when. Interviews start out REQUESTED with no
+-- slot; the scheduler sets all three slot columns when it books one. CANCELLED keeps the last slot for the record.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE interviews
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'REQUESTED'
+        CHECK (status IN ('REQUESTED', 'SCHEDULED', 'CANCELLED')),
+    ADD COLUMN recruiter_id BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    ADD COLUMN starts_at TIMESTAMPTZ,
+    ADD COLUMN ends_at TIMESTAMPTZ,
+    ADD CONSTRAINT chk_interviews_slot CHECK (status <> 'SCHEDULED' OR starts_at < ends_at);
+
+-- No recruiter is ever booked twice at once, whichever instance or transaction books the slots.
+-- Ranges are half-open, so back-to-back interviews do not overlap. The GiST index behind the constraint
+-- also serves loading a recruiter's calendar
+ALTER TABLE interviews ADD CONSTRAINT excl_interviews_recruiter_slot
+    EXCLUDE USING gist (recruiter_id WITH =, tstzrange(starts_at, ends_at) WITH &&)
+    WHERE (status = 'SCHEDULED');
@@ -0,0 +1,149 @@
+package hr.recruitment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The "replica" is a stand-in: a second pool on the test database, told apart by its application_name.
+// Not @Transactional, since a read-only service call inside a test transaction would join it and stay on the primary
+@SpringBootTest(properties = {
+    "recruitment.read-replica.enabled=true",
+    "recruitment.read-replica.url=jdbc:postgresql://localhost:5432/recruitment_db?ApplicationName=replica",
+    // Checks run only when a test asks for one
+    "recruitment.read-replica.check-interval=1h"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String SERVICE_READ = "hr.recruitment.service.UserService.getUsersByRole";
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findAll";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void restoreReplica() {
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    void readOnlyServiceTransaction_UsesReplica() {
+        assertEquals("replica", applicationName(SERVICE_READ, true));
+    }
+
+    @Test
+    void readOnlyTransactionOutsideServices_UsesPrimary() {
+        assertNotEquals("replica", applicationName(REPOSITORY_READ, true));
+    }
+
+    @Test
+    void readWriteServiceTransaction_UsesPrimary() {
+        assertNotEquals("replica", applicationName(SERVICE_READ, false));
+    }
+
+    @Test
+    void replicaLaggingBeyondMaxLag_FallsBackToPrimaryUntilCaughtUp() {
+        replicaLagMonitor.record(30.0);
+        assertNotEquals("replica", applicationName(SERVICE_READ, true));
+
+        replicaLagMonitor.record(0.5);
+        assertEquals("replica", applicationName(SERVICE_READ, true));
+    }
+
+    @Test
+    void replicaWithUnknownLag_FallsBackToPrimary() {
+        replicaLagMonitor.record(null);
+
+        assertNotEquals("replica", applicationName(SERVICE_READ, true));
+    }
+
+    @Test
+    void readOnlyServiceMethod_IsCountedAgainstReplica() {
+        double before = replicaConnections();
+
+        assertFalse(userService.getUsersByRole(Role.ROLE_RECRUITER).isEmpty());
+
+        assertEquals(before + 1, replicaConnections());
+    }
+
+    @Test
+    void replicaRead_LeavesSecondLevelCacheToPrimaryReads() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictAllRegions();
+        double before = replicaConnections();
+
+        User recruiter = userService.getUsersByRole(Role.ROLE_RECRUITER).get(0);
+
+        assertEquals(before + 1, replicaConnections());
+        assertFalse(cache.contains(User.class, recruiter.getId()));
+        // A plain SQL write that evicts nothing: had the replica read cached the row, the primary read below
+        // would still show the old name, as it would after a write the replica had not replayed yet
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE users SET name = ? WHERE id = ?", "Renamed Recruiter", recruiter.getId());
+        try {
+            assertEquals("Renamed Recruiter", userService.getUserById(recruiter.getId()).getName());
+            assertTrue(cache.contains(User.class, recruiter.getId()));
+        } finally {
+            jdbcTemplate.update("UPDATE users SET name = ? WHERE id = ?", recruiter.getName(), recruiter.getId());
+            cache.evictAllRegions();
+        }
+    }
+
+    @Test
+    void unreachableReplica_IsNeverCaughtUp() throws InterruptedException {
+        ReadReplicaProperties properties = new ReadReplicaProperties(true, null, null, null, null, null, Duration.ofHours(1));
+        try (HikariDataSource unreachable = new HikariDataSource()) {
+            unreachable.setJdbcUrl("jdbc:postgresql://localhost:1/recruitment_db");
+            unreachable.setConnectionTimeout(250);
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(unreachable, properties, new SimpleMeterRegistry());
+
+            assertFalse(monitor.caughtUp());
+            monitor.destroy();
+        }
+    }
+
+    private String applicationName(String transactionName, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(transactionName);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+            new JdbcTemplate(dataSource).queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+
+    private double replicaConnections() {
+        return meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count();
+    }
+}
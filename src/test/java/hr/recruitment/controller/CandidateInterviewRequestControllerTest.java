@@ -1,10 +1,16 @@
 package hr.recruitment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.recruitment.dto.CandidateInterviewDto;
+import hr.recruitment.dto.InterviewListVersion;
+import hr.recruitment.dto.InterviewSlotDto;
 import hr.recruitment.dto.NewInterviewRequestDto;
+import hr.recruitment.dto.UserIdentity;
 import hr.recruitment.model.Interview;
 import hr.recruitment.model.User;
+import hr.recruitment.model.enums.InterviewStatus;
 import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.InterviewScheduler;
 import hr.recruitment.service.InterviewService;
 import hr.recruitment.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,8 +23,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +45,9 @@ class CandidateInterviewRequestControllerTest {
     @Mock
     private InterviewService interviewService;
 
+    @Mock
+    private InterviewScheduler interviewScheduler;
+
     @InjectMocks
     private CandidateInterviewRequestController candidateInterviewRequestController;
 
@@ -90,11 +102,10 @@ class CandidateInterviewRequestControllerTest {
                         .content(objectMapper.writeValueAsString(interviewRequestDto)))
                 .andExpect(status().isCreated())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.interviewId").value(1))
                 .andExpect(jsonPath("$.position").value("Senior Java Developer"))
                 .andExpect(jsonPath("$.score").value(0))
-                .andExpect(jsonPath("$.user.id").value(1))
-                .andExpect(jsonPath("$.user.name").value("John Doe"));
+                .andExpect(jsonPath("$.user").doesNotExist());
 
         verify(userService).getUserByEmailPrefix("johndoe");
         verify(interviewService).createInterview(any(Interview.class));
@@ -168,65 +179,95 @@ class CandidateInterviewRequestControllerTest {
     @Test
     void getCandidateInterviews_Success() throws Exception {
         // Given
-        Interview interview2 = new Interview();
-        interview2.setId(2L);
-        interview2.setUser(candidateUser);
-        interview2.setPosition("Full Stack Developer");
-        interview2.setScore(85);
-
-        List<Interview> interviews = Arrays.asList(interview, interview2);
+        List<CandidateInterviewDto> interviews = Arrays.asList(
+                CandidateInterviewDto.fromInterview(interview),
+                new CandidateInterviewDto(2L, "Full Stack Developer", 85));
 
-        when(userService.getUserByEmailPrefix("johndoe")).thenReturn(candidateUser);
-        when(interviewService.getInterviewsByUserId(1L)).thenReturn(interviews);
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewService.getCandidateInterviewsVersion(1L)).thenReturn(new InterviewListVersion(2L, 3L, 5L));
+        when(interviewService.getCandidateInterviews(1L)).thenReturn(interviews);
 
         // When & Then
         mockMvc.perform(get("/api/candidate/johndoe/interviews"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"2.3.5\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
                 .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].interviewId").value(1))
                 .andExpect(jsonPath("$[0].position").value("Senior Java Developer"))
                 .andExpect(jsonPath("$[0].score").value(0))
-                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].interviewId").value(2))
                 .andExpect(jsonPath("$[1].position").value("Full Stack Developer"))
                 .andExpect(jsonPath("$[1].score").value(85));
 
-        verify(userService).getUserByEmailPrefix("johndoe");
-        verify(interviewService).getInterviewsByUserId(1L);
+        verify(userService).getUserIdentityByEmailPrefix("johndoe");
+        verify(interviewService).getCandidateInterviews(1L);
+    }
+
+    @Test
+    void getCandidateInterviews_IfNoneMatchCurrent_NotModifiedWithoutLoadingList() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewService.getCandidateInterviewsVersion(1L)).thenReturn(new InterviewListVersion(2L, 3L, 5L));
+
+        // When & Then
+        mockMvc.perform(get("/api/candidate/johndoe/interviews").header("If-None-Match", "\"2.3.5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2.3.5\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().string(""));
+
+        verify(interviewService, never()).getCandidateInterviews(anyLong());
+    }
+
+    @Test
+    void getCandidateInterviews_IfNoneMatchStale_FullResponse() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewService.getCandidateInterviewsVersion(1L)).thenReturn(new InterviewListVersion(2L, 3L, 6L));
+        when(interviewService.getCandidateInterviews(1L)).thenReturn(List.of(new CandidateInterviewDto(2L, "Full Stack Developer", 90)));
+
+        // When & Then
+        mockMvc.perform(get("/api/candidate/johndoe/interviews").header("If-None-Match", "\"2.3.5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.3.6\""))
+                .andExpect(jsonPath("$[0].score").value(90));
     }
 
     @Test
     void getCandidateInterviews_UserNotFound() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("nonexistent"))
+        when(userService.getUserIdentityByEmailPrefix("nonexistent"))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
         mockMvc.perform(get("/api/candidate/nonexistent/interviews"))
                 .andExpect(status().isNotFound());
 
-        verify(userService).getUserByEmailPrefix("nonexistent");
-        verify(interviewService, never()).getInterviewsByUserId(anyLong());
+        verify(userService).getUserIdentityByEmailPrefix("nonexistent");
+        verify(interviewService, never()).getCandidateInterviews(anyLong());
     }
 
     @Test
     void getCandidateInterviews_UserNotCandidate() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("janesmith")).thenReturn(recruiterUser);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
 
         // When & Then
         mockMvc.perform(get("/api/candidate/janesmith/interviews"))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).getUserByEmailPrefix("janesmith");
-        verify(interviewService, never()).getInterviewsByUserId(anyLong());
+        verify(userService).getUserIdentityByEmailPrefix("janesmith");
+        verify(interviewService, never()).getCandidateInterviews(anyLong());
     }
 
     @Test
     void getCandidateInterviews_EmptyList() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("johndoe")).thenReturn(candidateUser);
-        when(interviewService.getInterviewsByUserId(1L)).thenReturn(Arrays.asList());
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewService.getCandidateInterviewsVersion(1L)).thenReturn(new InterviewListVersion(0L, 0L, 0L));
+        when(interviewService.getCandidateInterviews(1L)).thenReturn(Arrays.asList());
 
         // When & Then
         mockMvc.perform(get("/api/candidate/johndoe/interviews"))
@@ -234,8 +275,8 @@ class CandidateInterviewRequestControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(userService).getUserByEmailPrefix("johndoe");
-        verify(interviewService).getInterviewsByUserId(1L);
+        verify(userService).getUserIdentityByEmailPrefix("johndoe");
+        verify(interviewService).getCandidateInterviews(1L);
     }
 
     @Test
@@ -261,4 +302,133 @@ class CandidateInterviewRequestControllerTest {
             interview.getScore() == 0
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    void scheduleInterview_Success() throws Exception {
+        // Given
+        Instant start = Instant.parse("2030-01-07T09:00:00Z");
+        Instant end = Instant.parse("2030-01-07T10:00:00Z");
+        InterviewSlotDto slot = new InterviewSlotDto(1L, 1L, 2L, InterviewStatus.SCHEDULED, start, end, 4L);
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewScheduler.schedule(1L, 1L, 2L, start, Instant.parse("2030-01-08T00:00:00Z"), Duration.ofMinutes(60)))
+            .thenReturn(Optional.of(slot));
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/johndoe/interviews/1/slot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"earliestStart": "2030-01-07T09:00:00Z", "latestEnd": "2030-01-08T00:00:00Z",
+                             "durationMinutes": 60, "recruiter": "janesmith"}
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.recruiterId").value(2))
+                .andExpect(jsonPath("$.status").value("SCHEDULED"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void scheduleInterview_AnyRecruiterDefaultDuration() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewScheduler.schedule(eq(1L), eq(1L), isNull(), any(Instant.class), any(Instant.class), isNull()))
+            .thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/johndoe/interviews/1/slot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"earliestStart": "2030-01-07T09:00:00Z", "latestEnd": "2030-01-07T10:00:00Z"}
+                            """))
+                .andExpect(status().isConflict());
+
+        verify(userService, never()).getUserIdentityByEmailPrefix("janesmith");
+    }
+
+    @Test
+    void scheduleInterview_RecruiterNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/johndoe/interviews/1/slot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"earliestStart": "2030-01-07T09:00:00Z", "latestEnd": "2030-01-08T00:00:00Z",
+                             "recruiter": "johndoe"}
+                            """))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(interviewScheduler);
+    }
+
+    @Test
+    void scheduleInterview_InvalidWindow() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewScheduler.schedule(any(), any(), any(), any(), any(), any()))
+            .thenThrow(new IllegalArgumentException("The window must end after it starts"));
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/johndoe/interviews/1/slot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"earliestStart": "2030-01-08T00:00:00Z", "latestEnd": "2030-01-07T00:00:00Z"}
+                            """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scheduleInterview_MissingWindow() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/candidate/johndoe/interviews/1/slot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"durationMinutes\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService, interviewScheduler);
+    }
+
+    @Test
+    void scheduleInterview_InterviewNotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewScheduler.schedule(any(), any(), any(), any(), any(), any()))
+            .thenThrow(new RuntimeException("Interview not found with id: 99"));
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/johndoe/interviews/99/slot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"earliestStart": "2030-01-07T09:00:00Z", "latestEnd": "2030-01-08T00:00:00Z"}
+                            """))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelInterview_Success() throws Exception {
+        // Given
+        InterviewSlotDto slot = new InterviewSlotDto(1L, 1L, 2L, InterviewStatus.CANCELLED,
+            Instant.parse("2030-01-07T09:00:00Z"), Instant.parse("2030-01-07T10:00:00Z"), 5L);
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewScheduler.cancel(1L, 1L)).thenReturn(Optional.of(slot));
+
+        // When & Then
+        mockMvc.perform(delete("/api/candidate/johndoe/interviews/1/slot"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void cancelInterview_NotScheduled() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+        when(interviewScheduler.cancel(1L, 1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(delete("/api/candidate/johndoe/interviews/1/slot"))
+                .andExpect(status().isNotFound());
+    }
+}
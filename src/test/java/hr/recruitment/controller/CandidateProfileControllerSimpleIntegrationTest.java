@@ -1,5 +1,6 @@
 package hr.recruitment.controller;
 
+import hr.recruitment.dto.CandidateCabinetDto;
 import hr.recruitment.model.User;
 import hr.recruitment.model.enums.Role;
 import hr.recruitment.repository.UserRepository;
@@ -56,22 +57,22 @@ class CandidateProfileControllerSimpleIntegrationTest {
         String emailPrefix = candidate.getEmail().split("@")[0];
 
         try {
-            var response = candidateProfileController.getCandidateProfile(emailPrefix);
+            var response = candidateProfileController.getCandidateProfile(emailPrefix, null);
             
             assertEquals(200, response.getStatusCode().value());
-            User responseBody = response.getBody();
+            CandidateCabinetDto responseBody = response.getBody();
             assertNotNull(responseBody);
             
             assertEquals(candidate.getId(), responseBody.getId());
             assertEquals(candidate.getName(), responseBody.getName());
             assertEquals(candidate.getEmail(), responseBody.getEmail());
-            assertEquals(Role.ROLE_CANDIDATE, responseBody.getRole());
+            assertEquals(candidate.getInterviews().size(), responseBody.getInterviews().size());
             
             System.out.println("✅ GET Success Test: Retrieved candidate profile for " + emailPrefix);
             System.out.println("   - ID: " + responseBody.getId());
             System.out.println("   - Name: " + responseBody.getName());
             System.out.println("   - Email: " + responseBody.getEmail());
-            System.out.println("   - Role: " + responseBody.getRole());
+            System.out.println("   - Interviews: " + responseBody.getInterviews().size());
         } catch (Exception e) {
             fail("Should not throw exception for valid candidate: " + e.getMessage());
         }
@@ -88,7 +89,7 @@ class CandidateProfileControllerSimpleIntegrationTest {
         User recruiter = recruiterOpt.get();
         String emailPrefix = recruiter.getEmail().split("@")[0];
 
-        var response = candidateProfileController.getCandidateProfile(emailPrefix);
+        var response = candidateProfileController.getCandidateProfile(emailPrefix, null);
         assertEquals(400, response.getStatusCode().value());
         
         System.out.println("✅ GET 400 Test: Correctly rejected recruiter " + emailPrefix);
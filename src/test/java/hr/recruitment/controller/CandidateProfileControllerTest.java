@@ -1,6 +1,9 @@
 package hr.recruitment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateCabinetVersion;
+import hr.recruitment.dto.CandidateInterviewDto;
 import hr.recruitment.dto.CandidateProfileDto;
 import hr.recruitment.dto.UpdateCvDto;
 import hr.recruitment.dto.UpdateInfoDto;
@@ -13,10 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -78,45 +84,87 @@ class CandidateProfileControllerTest {
     @Test
     void getCandidateProfile_Success() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("johndoe")).thenReturn(candidateUser);
+        candidateUser.setVersion(2L);
+        CandidateCabinetDto cabinet = CandidateCabinetDto.fromUser(candidateUser);
+        cabinet.setInterviews(List.of(new CandidateInterviewDto(10L, "Java Developer", 85)));
+        CandidateCabinetVersion version = new CandidateCabinetVersion(2L, Role.ROLE_CANDIDATE, 2L, 1L, 10L, 4L);
+        when(userService.getCandidateCabinetVersion("johndoe"))
+                .thenReturn(version);
+        when(userService.getCandidateCabinet("johndoe", version)).thenReturn(cabinet);
 
         // When & Then
         mockMvc.perform(get("/api/candidate/cabinet/johndoe"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"2.1.10.4\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.version").doesNotExist())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("John Doe"))
                 .andExpect(jsonPath("$.email").value("johndoe@example.com"))
-                .andExpect(jsonPath("$.role").value("ROLE_CANDIDATE"))
                 .andExpect(jsonPath("$.info").value("Software Developer"))
-                .andExpect(jsonPath("$.cv").value("My CV content"));
+                .andExpect(jsonPath("$.cv").value("My CV content"))
+                .andExpect(jsonPath("$.interviews[0].interviewId").value(10))
+                .andExpect(jsonPath("$.interviews[0].position").value("Java Developer"))
+                .andExpect(jsonPath("$.interviews[0].score").value(85))
+                .andExpect(jsonPath("$.interviews[0].user").doesNotExist());
 
-        verify(userService).getUserByEmailPrefix("johndoe");
+        verify(userService).getCandidateCabinet("johndoe", version);
     }
 
     @Test
     void getCandidateProfile_UserNotFound() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("nonexistent"))
+        when(userService.getCandidateCabinetVersion("nonexistent"))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
         mockMvc.perform(get("/api/candidate/cabinet/nonexistent"))
                 .andExpect(status().isNotFound());
 
-        verify(userService).getUserByEmailPrefix("nonexistent");
+        verify(userService, never()).getCandidateCabinet(anyString(), any());
     }
 
     @Test
     void getCandidateProfile_UserNotCandidate() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("janesmith")).thenReturn(recruiterUser);
+        when(userService.getCandidateCabinetVersion("janesmith"))
+                .thenThrow(new IllegalArgumentException("User is not a candidate"));
 
         // When & Then
         mockMvc.perform(get("/api/candidate/cabinet/janesmith"))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).getUserByEmailPrefix("janesmith");
+        verify(userService, never()).getCandidateCabinet(anyString(), any());
+    }
+
+    @Test
+    void getCandidateProfile_IfNoneMatchCurrent_NotModifiedWithoutLoadingProfile() throws Exception {
+        // Given
+        when(userService.getCandidateCabinetVersion("johndoe"))
+                .thenReturn(new CandidateCabinetVersion(2L, Role.ROLE_CANDIDATE, 2L, 1L, 10L, 4L));
+
+        // When & Then
+        mockMvc.perform(get("/api/candidate/cabinet/johndoe").header("If-None-Match", "W/\"1.1.10.0\", \"2.1.10.4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2.1.10.4\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+        verify(userService, never()).getCandidateCabinet(anyString(), any());
+    }
+
+    @Test
+    void updateCandidateProfile_CabinetETagAsIfMatch_ChecksProfileVersion() throws Exception {
+        // Given
+        when(userService.updateCandidateProfileByEmailPrefix(eq("johndoe"), any(CandidateProfileDto.class), eq(2L)))
+                .thenReturn(CandidateCabinetDto.fromUser(candidateUser));
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/cabinet/johndoe")
+                        .header("If-Match", "\"2.1.10.4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(candidateProfileDto)))
+                .andExpect(status().isOk());
     }
 
     @Test
@@ -130,8 +178,8 @@ class CandidateProfileControllerTest {
         updatedCandidate.setInfo("Senior Software Developer");
         updatedCandidate.setCv("Updated CV content");
 
-        when(userService.updateCandidateProfileByEmailPrefix(eq("johndoe"), any(CandidateProfileDto.class)))
-                .thenReturn(updatedCandidate);
+        when(userService.updateCandidateProfileByEmailPrefix(eq("johndoe"), any(CandidateProfileDto.class), isNull()))
+                .thenReturn(CandidateCabinetDto.fromUser(updatedCandidate));
 
         // When & Then
         mockMvc.perform(put("/api/candidate/cabinet/johndoe")
@@ -141,15 +189,16 @@ class CandidateProfileControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.name").value("Updated John Doe"))
                 .andExpect(jsonPath("$.info").value("Senior Software Developer"))
-                .andExpect(jsonPath("$.cv").value("Updated CV content"));
+                .andExpect(jsonPath("$.cv").value("Updated CV content"))
+                .andExpect(jsonPath("$.interviews").doesNotExist());
 
-        verify(userService).updateCandidateProfileByEmailPrefix(eq("johndoe"), any(CandidateProfileDto.class));
+        verify(userService).updateCandidateProfileByEmailPrefix(eq("johndoe"), any(CandidateProfileDto.class), isNull());
     }
 
     @Test
     void updateCandidateProfile_UserNotCandidate() throws Exception {
         // Given
-        when(userService.updateCandidateProfileByEmailPrefix(eq("janesmith"), any(CandidateProfileDto.class)))
+        when(userService.updateCandidateProfileByEmailPrefix(eq("janesmith"), any(CandidateProfileDto.class), isNull()))
                 .thenThrow(new IllegalArgumentException("User is not a candidate"));
 
         // When & Then
@@ -158,13 +207,13 @@ class CandidateProfileControllerTest {
                         .content(objectMapper.writeValueAsString(candidateProfileDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).updateCandidateProfileByEmailPrefix(eq("janesmith"), any(CandidateProfileDto.class));
+        verify(userService).updateCandidateProfileByEmailPrefix(eq("janesmith"), any(CandidateProfileDto.class), isNull());
     }
 
     @Test
     void updateCandidateProfile_UserNotFound() throws Exception {
         // Given
-        when(userService.updateCandidateProfileByEmailPrefix(eq("nonexistent"), any(CandidateProfileDto.class)))
+        when(userService.updateCandidateProfileByEmailPrefix(eq("nonexistent"), any(CandidateProfileDto.class), isNull()))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
@@ -173,7 +222,7 @@ class CandidateProfileControllerTest {
                         .content(objectMapper.writeValueAsString(candidateProfileDto)))
                 .andExpect(status().isNotFound());
 
-        verify(userService).updateCandidateProfileByEmailPrefix(eq("nonexistent"), any(CandidateProfileDto.class));
+        verify(userService).updateCandidateProfileByEmailPrefix(eq("nonexistent"), any(CandidateProfileDto.class), isNull());
     }
 
     @Test
@@ -190,7 +239,7 @@ class CandidateProfileControllerTest {
                 .andExpect(status().isBadRequest());
 
         // Verify service was not called due to validation failure
-        verify(userService, never()).updateCandidateProfileByEmailPrefix(anyString(), any(CandidateProfileDto.class));
+        verify(userService, never()).updateCandidateProfileByEmailPrefix(anyString(), any(CandidateProfileDto.class), any());
     }
 
     @Test
@@ -203,8 +252,8 @@ class CandidateProfileControllerTest {
         updatedCandidate.setRole(Role.ROLE_CANDIDATE);
         updatedCandidate.setInfo("Updated professional info");
 
-        when(userService.updateCandidateInfoByEmailPrefix("johndoe", "Updated professional info"))
-                .thenReturn(updatedCandidate);
+        when(userService.updateCandidateInfoByEmailPrefix(eq("johndoe"), eq("Updated professional info"), isNull()))
+                .thenReturn(CandidateCabinetDto.fromUser(updatedCandidate));
 
         // When & Then
         mockMvc.perform(patch("/api/candidate/cabinet/johndoe/info")
@@ -214,13 +263,13 @@ class CandidateProfileControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.info").value("Updated professional info"));
 
-        verify(userService).updateCandidateInfoByEmailPrefix("johndoe", "Updated professional info");
+        verify(userService).updateCandidateInfoByEmailPrefix(eq("johndoe"), eq("Updated professional info"), isNull());
     }
 
     @Test
     void updateCandidateInfo_UserNotCandidate() throws Exception {
         // Given
-        when(userService.updateCandidateInfoByEmailPrefix("janesmith", "Updated professional info"))
+        when(userService.updateCandidateInfoByEmailPrefix(eq("janesmith"), eq("Updated professional info"), isNull()))
                 .thenThrow(new IllegalArgumentException("User is not a candidate"));
 
         // When & Then
@@ -229,13 +278,13 @@ class CandidateProfileControllerTest {
                         .content(objectMapper.writeValueAsString(updateInfoDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).updateCandidateInfoByEmailPrefix("janesmith", "Updated professional info");
+        verify(userService).updateCandidateInfoByEmailPrefix(eq("janesmith"), eq("Updated professional info"), isNull());
     }
 
     @Test
     void updateCandidateInfo_UserNotFound() throws Exception {
         // Given
-        when(userService.updateCandidateInfoByEmailPrefix("nonexistent", "Updated professional info"))
+        when(userService.updateCandidateInfoByEmailPrefix(eq("nonexistent"), eq("Updated professional info"), isNull()))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
@@ -244,7 +293,7 @@ class CandidateProfileControllerTest {
                         .content(objectMapper.writeValueAsString(updateInfoDto)))
                 .andExpect(status().isNotFound());
 
-        verify(userService).updateCandidateInfoByEmailPrefix("nonexistent", "Updated professional info");
+        verify(userService).updateCandidateInfoByEmailPrefix(eq("nonexistent"), eq("Updated professional info"), isNull());
     }
 
     @Test
@@ -257,8 +306,8 @@ class CandidateProfileControllerTest {
         updatedCandidate.setRole(Role.ROLE_CANDIDATE);
         updatedCandidate.setCv("Updated CV");
 
-        when(userService.updateCandidateCVByEmailPrefix("johndoe", "Updated CV"))
-                .thenReturn(updatedCandidate);
+        when(userService.updateCandidateCVByEmailPrefix(eq("johndoe"), eq("Updated CV"), isNull()))
+                .thenReturn(CandidateCabinetDto.fromUser(updatedCandidate));
 
         // When & Then
         mockMvc.perform(patch("/api/candidate/cabinet/johndoe/cv")
@@ -268,13 +317,13 @@ class CandidateProfileControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.cv").value("Updated CV"));
 
-        verify(userService).updateCandidateCVByEmailPrefix("johndoe", "Updated CV");
+        verify(userService).updateCandidateCVByEmailPrefix(eq("johndoe"), eq("Updated CV"), isNull());
     }
 
     @Test
     void updateCandidateCV_UserNotCandidate() throws Exception {
         // Given
-        when(userService.updateCandidateCVByEmailPrefix("janesmith", "Updated CV"))
+        when(userService.updateCandidateCVByEmailPrefix(eq("janesmith"), eq("Updated CV"), isNull()))
                 .thenThrow(new IllegalArgumentException("User is not a candidate"));
 
         // When & Then
@@ -283,13 +332,13 @@ class CandidateProfileControllerTest {
                         .content(objectMapper.writeValueAsString(updateCvDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).updateCandidateCVByEmailPrefix("janesmith", "Updated CV");
+        verify(userService).updateCandidateCVByEmailPrefix(eq("janesmith"), eq("Updated CV"), isNull());
     }
 
     @Test
     void updateCandidateCV_UserNotFound() throws Exception {
         // Given
-        when(userService.updateCandidateCVByEmailPrefix("nonexistent", "Updated CV"))
+        when(userService.updateCandidateCVByEmailPrefix(eq("nonexistent"), eq("Updated CV"), isNull()))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
@@ -298,7 +347,7 @@ class CandidateProfileControllerTest {
                         .content(objectMapper.writeValueAsString(updateCvDto)))
                 .andExpect(status().isNotFound());
 
-        verify(userService).updateCandidateCVByEmailPrefix("nonexistent", "Updated CV");
+        verify(userService).updateCandidateCVByEmailPrefix(eq("nonexistent"), eq("Updated CV"), isNull());
     }
 
     @Test
@@ -314,8 +363,8 @@ class CandidateProfileControllerTest {
         updatedCandidate.setRole(Role.ROLE_CANDIDATE);
         updatedCandidate.setCv(null);
 
-        when(userService.updateCandidateCVByEmailPrefix("johndoe", null))
-                .thenReturn(updatedCandidate);
+        when(userService.updateCandidateCVByEmailPrefix(eq("johndoe"), isNull(), isNull()))
+                .thenReturn(CandidateCabinetDto.fromUser(updatedCandidate));
 
         // When & Then
         mockMvc.perform(patch("/api/candidate/cabinet/johndoe/cv")
@@ -325,7 +374,7 @@ class CandidateProfileControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.cv").isEmpty());
 
-        verify(userService).updateCandidateCVByEmailPrefix("johndoe", null);
+        verify(userService).updateCandidateCVByEmailPrefix(eq("johndoe"), isNull(), isNull());
     }
 
     @Test
@@ -341,8 +390,8 @@ class CandidateProfileControllerTest {
         updatedCandidate.setRole(Role.ROLE_CANDIDATE);
         updatedCandidate.setInfo(null);
 
-        when(userService.updateCandidateInfoByEmailPrefix("johndoe", null))
-                .thenReturn(updatedCandidate);
+        when(userService.updateCandidateInfoByEmailPrefix(eq("johndoe"), isNull(), isNull()))
+                .thenReturn(CandidateCabinetDto.fromUser(updatedCandidate));
 
         // When & Then
         mockMvc.perform(patch("/api/candidate/cabinet/johndoe/info")
@@ -352,6 +401,98 @@ class CandidateProfileControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.info").isEmpty());
 
-        verify(userService).updateCandidateInfoByEmailPrefix("johndoe", null);
+        verify(userService).updateCandidateInfoByEmailPrefix(eq("johndoe"), isNull(), isNull());
+    }
+
+    @Test
+    void updateCandidateInfo_WriteBehindQueuesAndAccepts() throws Exception {
+        // Given
+        when(userService.isProfileWriteBehindEnabled()).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(patch("/api/candidate/cabinet/johndoe/info")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateInfoDto)))
+                .andExpect(status().isAccepted());
+
+        verify(userService).queueCandidateInfoByEmailPrefix("johndoe", "Updated professional info");
+        verify(userService, never()).updateCandidateInfoByEmailPrefix(anyString(), any(), any());
+    }
+
+    @Test
+    void updateCandidateCV_WriteBehindUserNotCandidate() throws Exception {
+        // Given
+        when(userService.isProfileWriteBehindEnabled()).thenReturn(true);
+        doThrow(new IllegalArgumentException("User is not a candidate"))
+                .when(userService).queueCandidateCVByEmailPrefix("janesmith", "Updated CV");
+
+        // When & Then
+        mockMvc.perform(patch("/api/candidate/cabinet/janesmith/cv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCvDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).updateCandidateCVByEmailPrefix(anyString(), any(), any());
+    }
+
+    @Test
+    void updateCandidateInfo_IfMatch_ReturnsNewETag() throws Exception {
+        // Given
+        candidateUser.setVersion(3L);
+        when(userService.updateCandidateInfoByEmailPrefix("johndoe", "Updated professional info", 2L))
+                .thenReturn(CandidateCabinetDto.fromUser(candidateUser));
+
+        // When & Then
+        mockMvc.perform(patch("/api/candidate/cabinet/johndoe/info")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateInfoDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void updateCandidateProfile_StaleIfMatch_PreconditionFailed() throws Exception {
+        // Given
+        when(userService.updateCandidateProfileByEmailPrefix(eq("johndoe"), any(CandidateProfileDto.class), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("Candidate 1 has changed since it was read"));
+
+        // When & Then
+        mockMvc.perform(put("/api/candidate/cabinet/johndoe")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(candidateProfileDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateCandidateCV_ForeignIfMatch_NeverMatches() throws Exception {
+        // Given
+        when(userService.updateCandidateCVByEmailPrefix("johndoe", "Updated CV", -1L))
+                .thenThrow(new OptimisticLockingFailureException("Candidate 1 has changed since it was read"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/candidate/cabinet/johndoe/cv")
+                        .header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateCvDto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateCandidateInfo_IfMatchBypassesWriteBehind() throws Exception {
+        // Given
+        lenient().when(userService.isProfileWriteBehindEnabled()).thenReturn(true);
+        when(userService.updateCandidateInfoByEmailPrefix("johndoe", "Updated professional info", 2L))
+                .thenReturn(CandidateCabinetDto.fromUser(candidateUser));
+
+        // When & Then
+        mockMvc.perform(patch("/api/candidate/cabinet/johndoe/info")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateInfoDto)))
+                .andExpect(status().isOk());
+
+        verify(userService, never()).queueCandidateInfoByEmailPrefix(anyString(), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package hr.recruitment.controller;
+
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.repository.InterviewRepository;
+import hr.recruitment.service.CandidateSkillIndex;
+import hr.recruitment.service.InterviewService;
+import hr.recruitment.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+
+    private Interview interview;
+    private User candidate;
+    private String emailPrefix;
+
+    @BeforeEach
+    void setUp() {
+        interview = interviewRepository.findAll().get(0);
+        candidate = interview.getUser();
+        emailPrefix = User.localPartOf(candidate.getEmail());
+    }
+
+    @AfterEach
+    void restoreIndex() {
+        // Updates are rolled back with the test transaction, the shared index has to follow
+        candidateSkillIndex.index(candidate.getId(), candidate.getInfo(), candidate.getCv());
+    }
+
+    @Test
+    void cabinet_RevalidatesUntilProfileChanges() throws Exception {
+        String eTag = eTag("/api/candidate/cabinet/{emailPrefix}");
+        mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", emailPrefix).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        userService.updateCandidateInfoByEmailPrefix(emailPrefix, "Changed while polling");
+
+        mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", emailPrefix).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+        assertNotEquals(eTag, eTag("/api/candidate/cabinet/{emailPrefix}"));
+    }
+
+    @Test
+    void cabinetAndInterviews_ChangeWhenAnInterviewIsScored() throws Exception {
+        String cabinetTag = eTag("/api/candidate/cabinet/{emailPrefix}");
+        String interviewsTag = eTag("/api/candidate/{emailPrefix}/interviews");
+
+        interviewService.updateScore(interview.getId(), interview.getScore() + 1, null);
+
+        assertNotEquals(cabinetTag, eTag("/api/candidate/cabinet/{emailPrefix}"));
+        assertNotEquals(interviewsTag, eTag("/api/candidate/{emailPrefix}/interviews"));
+    }
+
+    @Test
+    void interviews_ChangeWhenAnInterviewIsAdded() throws Exception {
+        String eTag = eTag("/api/candidate/{emailPrefix}/interviews");
+
+        Interview added = new Interview();
+        added.setUser(candidate);
+        added.setPosition("Site Reliability Engineer");
+        interviewService.createInterview(added);
+
+        mockMvc.perform(get("/api/candidate/{emailPrefix}/interviews", emailPrefix).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
+    private String eTag(String path) throws Exception {
+        return mockMvc.perform(get(path, emailPrefix))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+}
@@ -0,0 +1,52 @@
+package hr.recruitment.controller;
+
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void prometheus_ExposesEndpointRepositoryPoolHibernateAndCacheMeters() throws Exception {
+        // Given
+        User recruiter = userRepository.findByRole(Role.ROLE_RECRUITER).get(0);
+        String emailPrefix = User.localPartOf(recruiter.getEmail());
+        mockMvc.perform(get("/api/recruiter/{emailPrefix}/candidates/page", emailPrefix).param("size", "5"))
+                .andExpect(status().isOk());
+
+        // When
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "Endpoint latency histogram");
+        assertTrue(scrape.contains("uri=\"/api/recruiter/{emailPrefix}/candidates/page\""), "Endpoint tagged by route template");
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"), "Repository method histograms");
+        assertTrue(scrape.contains("repository=\"UserRepository\""), "Repository timers tagged by repository");
+        assertTrue(scrape.contains("hikaricp_connections_pending"), "Hikari pool saturation gauge");
+        assertTrue(scrape.contains("hibernate_query_executions_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("cache_gets_total{cache=\"userLookup\""), "User lookup cache meters");
+    }
+}
@@ -0,0 +1,163 @@
+package hr.recruitment.controller;
+
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.ReactiveInterviewService;
+import hr.recruitment.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRecruiterControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ReactiveInterviewService reactiveInterviewService;
+
+    @InjectMocks
+    private ReactiveRecruiterController reactiveRecruiterController;
+
+    private User recruiterUser;
+    private User candidateUser;
+    private RecruiterCandidateViewDto first;
+    private RecruiterCandidateViewDto second;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reactiveRecruiterController).build();
+
+        recruiterUser = new User();
+        recruiterUser.setId(2L);
+        recruiterUser.setEmail("janesmith@example.com");
+        recruiterUser.setRole(Role.ROLE_RECRUITER);
+
+        candidateUser = new User();
+        candidateUser.setId(1L);
+        candidateUser.setEmail("johndoe@example.com");
+        candidateUser.setRole(Role.ROLE_CANDIDATE);
+
+        first = new RecruiterCandidateSummaryDto(1L, 1L, "John Doe", "johndoe@example.com", "Senior Java Developer", 85);
+        second = new RecruiterCandidateSummaryDto(2L, 1L, "John Doe", "johndoe@example.com", "QA Engineer", 0);
+    }
+
+    @Test
+    void getAllInterviews_DefaultsToJsonArray() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(reactiveInterviewService.getCandidateViews(ViewMode.SUMMARY)).thenReturn(Flux.just(first, second));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/recruiter/janesmith/all-interviews")
+                        .param("view", "summary")
+                        .accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].interviewId").value(1))
+                .andExpect(jsonPath("$[0]", not(hasKey("candidateCv"))))
+                .andExpect(jsonPath("$[1].score").value(0));
+    }
+
+    @Test
+    void getAllInterviews_StreamsNdjsonChunks() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(reactiveInterviewService.getCandidateViewLines(ViewMode.FULL)).thenReturn(Flux.just(
+                "{\"interviewId\":1}\n{\"interviewId\":2}\n", "{\"interviewId\":3}\n"));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/recruiter/janesmith/all-interviews")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"interviewId\":1}\n{\"interviewId\":2}\n{\"interviewId\":3}\n"));
+
+        verify(reactiveInterviewService, never()).getCandidateViews(any());
+    }
+
+    @Test
+    void getScoredCandidates_StreamsServerSentEvents() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(reactiveInterviewService.getScoredCandidateViews(ViewMode.FULL)).thenReturn(Flux.just(first));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/reactive/recruiter/janesmith/candidates")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("data:{\"interviewId\":1")));
+    }
+
+    @Test
+    void getAllInterviews_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/reactive/recruiter/johndoe/all-interviews"))
+                .andExpect(status().isBadRequest());
+
+        verify(reactiveInterviewService, never()).getCandidateViews(any());
+    }
+
+    @Test
+    void getAllInterviews_UnknownView() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/reactive/recruiter/janesmith/all-interviews").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getUserIdentityByEmailPrefix(anyString());
+    }
+
+    @Test
+    void getScoredCandidates_UserNotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("nobody"))
+                .thenThrow(new RuntimeException("User not found with email prefix: nobody"));
+
+        // When & Then
+        mockMvc.perform(get("/api/reactive/recruiter/nobody/candidates"))
+                .andExpect(status().isNotFound());
+    }
+}
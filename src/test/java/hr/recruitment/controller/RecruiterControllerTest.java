@@ -1,8 +1,31 @@
 package hr.recruitment.controller;
 
+import hr.recruitment.dto.AvailabilityWindowDto;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateSearchResultDto;
+import hr.recruitment.dto.CursorPageDto;
+import hr.recruitment.dto.ExportFormat;
+import hr.recruitment.dto.ImportFormat;
+import hr.recruitment.dto.InterviewScoreDto;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.dto.PositionScoreStatsDto;
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ScoreUpdateDto;
+import hr.recruitment.dto.ScoreUpdateResultDto;
+import hr.recruitment.dto.SkillIndexStatsDto;
+import hr.recruitment.dto.SkillMatchDto;
+import hr.recruitment.dto.SkillTermStatsDto;
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.dto.ViewMode;
 import hr.recruitment.model.Interview;
 import hr.recruitment.model.User;
+import hr.recruitment.model.enums.InterviewStatus;
 import hr.recruitment.model.enums.Role;
+import hr.recruitment.service.CandidateImportService;
+import hr.recruitment.service.CandidateSkillIndex;
+import hr.recruitment.service.InterviewExportService;
+import hr.recruitment.service.InterviewScheduler;
 import hr.recruitment.service.InterviewService;
 import hr.recruitment.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +34,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +64,18 @@ class RecruiterControllerTest {
     @Mock
     private InterviewService interviewService;
 
+    @Mock
+    private CandidateImportService candidateImportService;
+
+    @Mock
+    private InterviewExportService interviewExportService;
+
+    @Mock
+    private CandidateSkillIndex candidateSkillIndex;
+
+    @Mock
+    private InterviewScheduler interviewScheduler;
+
     @InjectMocks
     private RecruiterController recruiterController;
 
@@ -87,9 +130,9 @@ class RecruiterControllerTest {
     @Test
     void getScoredCandidates_Success() throws Exception {
         // Given
-        List<Interview> scoredInterviews = Arrays.asList(scoredInterview);
-        when(userService.getUserByEmailPrefix("janesmith")).thenReturn(recruiterUser);
-        when(interviewService.getScoredInterviews()).thenReturn(scoredInterviews);
+        List<RecruiterCandidateViewDto> scoredViews = views(scoredInterview);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getScoredCandidateViews(ViewMode.FULL)).thenReturn(scoredViews);
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/janesmith/candidates"))
@@ -105,42 +148,42 @@ class RecruiterControllerTest {
                 .andExpect(jsonPath("$[0].candidateInfo").value("Software Developer"))
                 .andExpect(jsonPath("$[0].candidateCv").value("Experienced Java developer with 3 years experience"));
 
-        verify(userService).getUserByEmailPrefix("janesmith");
-        verify(interviewService).getScoredInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("janesmith");
+        verify(interviewService).getScoredCandidateViews(ViewMode.FULL);
     }
 
     @Test
     void getScoredCandidates_UserNotFound() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("nonexistent"))
+        when(userService.getUserIdentityByEmailPrefix("nonexistent"))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/nonexistent/candidates"))
                 .andExpect(status().isNotFound());
 
-        verify(userService).getUserByEmailPrefix("nonexistent");
-        verify(interviewService, never()).getScoredInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("nonexistent");
+        verify(interviewService, never()).getScoredCandidateViews(any());
     }
 
     @Test
     void getScoredCandidates_UserNotRecruiter() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("admin")).thenReturn(adminUser);
+        when(userService.getUserIdentityByEmailPrefix("admin")).thenReturn(UserIdentity.of(adminUser));
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/admin/candidates"))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).getUserByEmailPrefix("admin");
-        verify(interviewService, never()).getScoredInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("admin");
+        verify(interviewService, never()).getScoredCandidateViews(any());
     }
 
     @Test
     void getScoredCandidates_EmptyList() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("janesmith")).thenReturn(recruiterUser);
-        when(interviewService.getScoredInterviews()).thenReturn(Arrays.asList());
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getScoredCandidateViews(ViewMode.FULL)).thenReturn(Arrays.asList());
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/janesmith/candidates"))
@@ -148,16 +191,16 @@ class RecruiterControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(userService).getUserByEmailPrefix("janesmith");
-        verify(interviewService).getScoredInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("janesmith");
+        verify(interviewService).getScoredCandidateViews(ViewMode.FULL);
     }
 
     @Test
     void getAllInterviews_Success() throws Exception {
         // Given
-        List<Interview> allInterviews = Arrays.asList(scoredInterview, unscoredInterview);
-        when(userService.getUserByEmailPrefix("janesmith")).thenReturn(recruiterUser);
-        when(interviewService.getAllInterviews()).thenReturn(allInterviews);
+        List<RecruiterCandidateViewDto> allViews = views(scoredInterview, unscoredInterview);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getCandidateViews(ViewMode.FULL)).thenReturn(allViews);
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/janesmith/all-interviews"))
@@ -169,35 +212,35 @@ class RecruiterControllerTest {
                 .andExpect(jsonPath("$[1].interviewId").value(2))
                 .andExpect(jsonPath("$[1].score").value(0));
 
-        verify(userService).getUserByEmailPrefix("janesmith");
-        verify(interviewService).getAllInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("janesmith");
+        verify(interviewService).getCandidateViews(ViewMode.FULL);
     }
 
     @Test
     void getAllInterviews_UserNotFound() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("nonexistent"))
+        when(userService.getUserIdentityByEmailPrefix("nonexistent"))
                 .thenThrow(new RuntimeException("User not found"));
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/nonexistent/all-interviews"))
                 .andExpect(status().isNotFound());
 
-        verify(userService).getUserByEmailPrefix("nonexistent");
-        verify(interviewService, never()).getAllInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("nonexistent");
+        verify(interviewService, never()).getCandidateViews(any());
     }
 
     @Test
     void getAllInterviews_UserNotRecruiter() throws Exception {
         // Given
-        when(userService.getUserByEmailPrefix("johndoe")).thenReturn(candidateUser);
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/johndoe/all-interviews"))
                 .andExpect(status().isBadRequest());
 
-        verify(userService).getUserByEmailPrefix("johndoe");
-        verify(interviewService, never()).getAllInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("johndoe");
+        verify(interviewService, never()).getCandidateViews(any());
     }
 
     @Test
@@ -217,9 +260,9 @@ class RecruiterControllerTest {
         anotherInterview.setPosition("React Developer");
         anotherInterview.setScore(75);
 
-        List<Interview> multipleInterviews = Arrays.asList(scoredInterview, anotherInterview);
-        when(userService.getUserByEmailPrefix("janesmith")).thenReturn(recruiterUser);
-        when(interviewService.getAllInterviews()).thenReturn(multipleInterviews);
+        List<RecruiterCandidateViewDto> multipleViews = views(scoredInterview, anotherInterview);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getCandidateViews(ViewMode.FULL)).thenReturn(multipleViews);
 
         // When & Then
         mockMvc.perform(get("/api/recruiter/janesmith/all-interviews"))
@@ -231,7 +274,728 @@ class RecruiterControllerTest {
                 .andExpect(jsonPath("$[0].position").value("Senior Java Developer"))
                 .andExpect(jsonPath("$[1].position").value("React Developer"));
 
-        verify(userService).getUserByEmailPrefix("janesmith");
-        verify(interviewService).getAllInterviews();
+        verify(userService).getUserIdentityByEmailPrefix("janesmith");
+        verify(interviewService).getCandidateViews(ViewMode.FULL);
+    }
+
+    @Test
+    void getAllInterviewsPage_ReturnsItemsAndNextCursor() throws Exception {
+        // Given
+        CursorPageDto<RecruiterCandidateViewDto> page = new CursorPageDto<>(views(scoredInterview, unscoredInterview), 2, 2L);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getCandidateViewsPage(ViewMode.FULL, null, 2)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/all-interviews/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].interviewId").value(1))
+                .andExpect(jsonPath("$.items[1].interviewId").value(2))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(2));
+
+        verify(interviewService).getCandidateViewsPage(ViewMode.FULL, null, 2);
+    }
+
+    @Test
+    void getAllInterviewsPage_LastPageHasNoCursor() throws Exception {
+        // Given
+        CursorPageDto<RecruiterCandidateViewDto> page = new CursorPageDto<>(views(unscoredInterview), 1, null);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getCandidateViewsPage(ViewMode.FULL, 1L, null)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/all-interviews/page").param("after", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].interviewId").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(interviewService).getCandidateViewsPage(ViewMode.FULL, 1L, null);
+    }
+
+    @Test
+    void getAllInterviewsPage_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/all-interviews/page"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).getCandidateViewsPage(any(), any(), any());
+    }
+
+    @Test
+    void getScoredCandidatesPage_Success() throws Exception {
+        // Given
+        CursorPageDto<RecruiterCandidateViewDto> page = new CursorPageDto<>(views(scoredInterview), 1, null);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getScoredCandidateViewsPage(ViewMode.FULL, null, null)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].score").value(85));
+
+        verify(interviewService).getScoredCandidateViewsPage(ViewMode.FULL, null, null);
+    }
+
+    @Test
+    void getScoredCandidatesPage_UserNotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("nonexistent"))
+                .thenThrow(new RuntimeException("User not found"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/nonexistent/candidates/page"))
+                .andExpect(status().isNotFound());
+
+        verify(interviewService, never()).getScoredCandidateViewsPage(any(), any(), any());
+    }
+
+    @Test
+    void getAllInterviews_SummaryView_OmitsInfoAndCv() throws Exception {
+        // Given
+        RecruiterCandidateViewDto summary = new RecruiterCandidateSummaryDto(1L, 1L, "John Doe",
+                "johndoe@example.com", "Senior Java Developer", 85);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getCandidateViews(ViewMode.SUMMARY)).thenReturn(List.of(summary));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/all-interviews").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].candidateName").value("John Doe"))
+                .andExpect(jsonPath("$[0].score").value(85))
+                .andExpect(jsonPath("$[0]", not(hasKey("candidateInfo"))))
+                .andExpect(jsonPath("$[0]", not(hasKey("candidateCv"))));
+
+        verify(interviewService).getCandidateViews(ViewMode.SUMMARY);
+    }
+
+    @Test
+    void getAllInterviews_FullView_KeepsNullInfoAndCv() throws Exception {
+        // Given
+        candidateUser.setInfo(null);
+        candidateUser.setCv(null);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getCandidateViews(ViewMode.FULL)).thenReturn(views(scoredInterview));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/all-interviews"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", hasKey("candidateInfo")))
+                .andExpect(jsonPath("$[0]", hasKey("candidateCv")))
+                .andExpect(jsonPath("$[0].candidateInfo").isEmpty());
+    }
+
+    @Test
+    void getScoredCandidatesPage_SummaryView() throws Exception {
+        // Given
+        CursorPageDto<RecruiterCandidateViewDto> page = new CursorPageDto<>(List.of(), 0, null);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getScoredCandidateViewsPage(ViewMode.SUMMARY, null, 20)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/page")
+                        .param("view", "summary")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+
+        verify(interviewService).getScoredCandidateViewsPage(ViewMode.SUMMARY, null, 20);
+    }
+
+    @Test
+    void getAllInterviews_UnknownView_BadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/all-interviews").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).getCandidateViews(any());
+    }
+
+    @Test
+    void getCandidateCv_Success() throws Exception {
+        // Given
+        CandidateCvDto cv = new CandidateCvDto(1L, "Software Developer", "Experienced Java developer with 3 years experience");
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(userService.getCandidateCv(1L)).thenReturn(cv);
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/1/cv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.candidateId").value(1))
+                .andExpect(jsonPath("$.candidateInfo").value("Software Developer"))
+                .andExpect(jsonPath("$.candidateCv").value("Experienced Java developer with 3 years experience"));
+
+        verify(userService).getCandidateCv(1L);
+    }
+
+    @Test
+    void getCandidateCv_CandidateNotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(userService.getCandidateCv(99L)).thenThrow(new RuntimeException("Candidate not found"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/99/cv"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCandidateCv_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/candidates/1/cv"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getCandidateCv(any());
+    }
+
+    @Test
+    void getTopCandidates_Success() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getTopCandidates("Senior Java Developer", 5)).thenReturn(views(scoredInterview));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/top")
+                        .param("position", "Senior Java Developer")
+                        .param("k", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].interviewId").value(1))
+                .andExpect(jsonPath("$[0].score").value(85));
+
+        verify(interviewService).getTopCandidates("Senior Java Developer", 5);
+    }
+
+    @Test
+    void getTopCandidates_MissingPosition() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/top"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).getTopCandidates(any(), any());
+    }
+
+    @Test
+    void getTopCandidates_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/top").param("position", "Senior Java Developer"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).getTopCandidates(any(), any());
+    }
+
+    @Test
+    void getPositionStats_Success() throws Exception {
+        // Given
+        PositionScoreStatsDto stats = new PositionScoreStatsDto("Senior Java Developer", 3, 1, 2, 80.0, 75, 75, 85, 85);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getPositionStats()).thenReturn(List.of(stats));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/analytics/positions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].position").value("Senior Java Developer"))
+                .andExpect(jsonPath("$[0].pending").value(1))
+                .andExpect(jsonPath("$[0].scored").value(2))
+                .andExpect(jsonPath("$[0].averageScore").value(80.0))
+                .andExpect(jsonPath("$[0].p90Score").value(85));
+    }
+
+    @Test
+    void getPositionStats_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/analytics/positions"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).getPositionStats();
+    }
+
+    @Test
+    void updateScores_ReturnsPerItemResults() throws Exception {
+        // Given
+        List<ScoreUpdateResultDto> results = List.of(
+                new ScoreUpdateResultDto(1L, 90, ScoreUpdateResultDto.Status.UPDATED),
+                new ScoreUpdateResultDto(99L, 70, ScoreUpdateResultDto.Status.NOT_FOUND));
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.updateScores(anyList())).thenReturn(results);
+
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/janesmith/scores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scores\":[{\"interviewId\":1,\"score\":90},{\"interviewId\":99,\"score\":70}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].interviewId").value(1))
+                .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$[1].interviewId").value(99))
+                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+
+        verify(interviewService).updateScores(List.of(new ScoreUpdateDto(1L, 90), new ScoreUpdateDto(99L, 70)));
+    }
+
+    @Test
+    void updateScores_EmptyBatch_BadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/janesmith/scores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scores\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).updateScores(anyList());
+    }
+
+    @Test
+    void updateScores_MissingScore_BadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/janesmith/scores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scores\":[{\"interviewId\":1}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).updateScores(anyList());
+    }
+
+    @Test
+    void updateScores_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/johndoe/scores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scores\":[{\"interviewId\":1,\"score\":90}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).updateScores(anyList());
+    }
+
+    @Test
+    void updateScores_VersionedItemReportsConflict() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.updateScores(anyList())).thenReturn(
+                List.of(new ScoreUpdateResultDto(1L, 90, ScoreUpdateResultDto.Status.CONFLICT)));
+
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/janesmith/scores")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"scores\":[{\"interviewId\":1,\"score\":90,\"version\":4}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CONFLICT"));
+
+        verify(interviewService).updateScores(List.of(new ScoreUpdateDto(1L, 90, 4L)));
+    }
+
+    @Test
+    void getInterview_ReturnsVersionAsETag() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getInterviewScore(1L)).thenReturn(
+                new InterviewScoreDto(1L, 1L, "John Doe", "johndoe@example.com", "Senior Java Developer", 85, 3L));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/interviews/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.interviewId").value(1))
+                .andExpect(jsonPath("$.score").value(85))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getInterview_NotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.getInterviewScore(99L)).thenThrow(new RuntimeException("Interview not found"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/interviews/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateScore_IfMatch_ReturnsNewETag() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.updateScore(1L, 90, 3L)).thenReturn(
+                new InterviewScoreDto(1L, 1L, "John Doe", "johndoe@example.com", "Senior Java Developer", 90, 4L));
+
+        // When & Then
+        mockMvc.perform(put("/api/recruiter/janesmith/interviews/1/score")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\":90}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.score").value(90));
+    }
+
+    @Test
+    void updateScore_StaleIfMatch_PreconditionFailed() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.updateScore(1L, 90, 3L))
+                .thenThrow(new OptimisticLockingFailureException("Interview 1 is no longer at version 3"));
+
+        // When & Then
+        mockMvc.perform(put("/api/recruiter/janesmith/interviews/1/score")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\":90}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateScore_WithoutIfMatch_Unconditional() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewService.updateScore(1L, 90, null)).thenReturn(
+                new InterviewScoreDto(1L, 1L, "John Doe", "johndoe@example.com", "Senior Java Developer", 90, 4L));
+
+        // When & Then
+        mockMvc.perform(put("/api/recruiter/janesmith/interviews/1/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\":90}"))
+                .andExpect(status().isOk());
+
+        verify(interviewService).updateScore(1L, 90, null);
+    }
+
+    @Test
+    void updateScore_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(put("/api/recruiter/johndoe/interviews/1/score")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"score\":90}"))
+                .andExpect(status().isBadRequest());
+
+        verify(interviewService, never()).updateScore(any(), anyInt(), any());
+    }
+
+    private static List<RecruiterCandidateViewDto> views(Interview... interviews) {
+        return Arrays.stream(interviews).map(RecruiterCandidateViewDto::fromInterview).toList();
+    }
+
+    @Test
+    void importCandidates_StreamsReport() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(2);
+            output.write("{\"type\":\"SUMMARY\",\"processed\":1,\"imported\":1,\"failed\":0}\n".getBytes());
+            return null;
+        }).when(candidateImportService).importCandidates(any(InputStream.class), eq(ImportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/recruiter/janesmith/candidates/import")
+                        .contentType("text/csv")
+                        .content("name,email\nAna Kovac,ana.kovac@jobs.example\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"type\":\"SUMMARY\",\"processed\":1,\"imported\":1,\"failed\":0}\n"));
+    }
+
+    @Test
+    void importCandidates_UnsupportedContentType() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/janesmith/candidates/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<candidates/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(userService, candidateImportService);
+    }
+
+    @Test
+    void importCandidates_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/johndoe/candidates/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(candidateImportService);
+    }
+
+    @Test
+    void importCandidates_UserNotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("nobody")).thenThrow(new RuntimeException("User not found"));
+
+        // When & Then
+        mockMvc.perform(post("/api/recruiter/nobody/candidates/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(candidateImportService);
+    }
+
+    @Test
+    void exportAllInterviews_StreamsCsv() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(2);
+            output.write("interviewId,candidateId\n1,1\n".getBytes());
+            return null;
+        }).when(interviewExportService).exportCandidateViews(eq(ViewMode.SUMMARY), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/recruiter/janesmith/all-interviews/export")
+                        .param("format", "csv")
+                        .param("view", "summary"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("interviewId,candidateId\n1,1\n"));
+    }
+
+    @Test
+    void exportAllInterviews_DefaultsToFullNdjson() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/recruiter/janesmith/all-interviews/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        verify(interviewExportService).exportCandidateViews(eq(ViewMode.FULL), eq(ExportFormat.NDJSON), any(OutputStream.class));
+    }
+
+    @Test
+    void exportAllInterviews_UnknownFormat() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/all-interviews/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService, interviewExportService);
+    }
+
+    @Test
+    void exportAllInterviews_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/all-interviews/export"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(interviewExportService);
+    }
+
+    @Test
+    void searchCandidates_ReturnsRankedPage() throws Exception {
+        // Given
+        CursorPageDto<CandidateSearchResultDto> page = new CursorPageDto<>(
+                List.of(new CandidateSearchResultDto(1L, "John Doe", "johndoe@example.com", 0.6f)), 1, 1L);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(userService.searchCandidates("java spring", null, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/search")
+                        .param("q", "java spring")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].candidateId").value(1))
+                .andExpect(jsonPath("$.items[0].candidateName").value("John Doe"))
+                .andExpect(jsonPath("$.items[0].candidateCv").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(1));
+    }
+
+    @Test
+    void searchCandidates_BlankQuery() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(userService.searchCandidates(" ", null, null)).thenThrow(new IllegalArgumentException("Search query is required"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchCandidates_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/candidates/search").param("q", "java"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).searchCandidates(any(), any(), any());
+    }
+
+    @Test
+    void matchCandidateSkills_ReturnsMatchingIds() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(userService.matchCandidateSkills(List.of("java", "spring"), List.of("kotlin", "scala"), null, null))
+                .thenReturn(new SkillMatchDto(2, List.of(1L, 5L), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/skills")
+                        .param("all", "java,spring")
+                        .param("any", "kotlin", "scala"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.candidateIds[1]").value(5));
+    }
+
+    @Test
+    void matchCandidateSkills_NoSkills() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(userService.matchCandidateSkills(null, null, null, null))
+                .thenThrow(new IllegalArgumentException("At least one skill is required"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/skills"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSkillIndexStats_ReturnsLargestTerms() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(candidateSkillIndex.stats(5)).thenReturn(new SkillIndexStatsDto(120, 40, 4096,
+                List.of(new SkillTermStatsDto("java", 30, 88))));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/candidates/skills/stats").param("top", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.terms").value(120))
+                .andExpect(jsonPath("$.largestTerms[0].term").value("java"))
+                .andExpect(jsonPath("$.largestTerms[0].bytes").value(88));
+    }
+
+    @Test
+    void getSkillIndexStats_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/candidates/skills/stats"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(candidateSkillIndex);
+    }
+
+    @Test
+    void getSchedule_Success() throws Exception {
+        // Given
+        Instant from = Instant.parse("2030-01-07T00:00:00Z");
+        Instant to = Instant.parse("2030-01-08T00:00:00Z");
+        InterviewSlotDto slot = new InterviewSlotDto(1L, 1L, 2L, InterviewStatus.SCHEDULED,
+            Instant.parse("2030-01-07T09:00:00Z"), Instant.parse("2030-01-07T10:00:00Z"), 3L);
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewScheduler.bookings(2L, from, to)).thenReturn(List.of(slot));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/schedule")
+                        .param("from", "2030-01-07T00:00:00Z")
+                        .param("to", "2030-01-08T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].interviewId").value(1))
+                .andExpect(jsonPath("$[0].status").value("SCHEDULED"));
+    }
+
+    @Test
+    void getSchedule_UserNotRecruiter() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("johndoe")).thenReturn(UserIdentity.of(candidateUser));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/johndoe/schedule")
+                        .param("from", "2030-01-07T00:00:00Z")
+                        .param("to", "2030-01-08T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(interviewScheduler);
+    }
+
+    @Test
+    void getAvailability_Success() throws Exception {
+        // Given
+        Instant from = Instant.parse("2030-01-07T09:00:00Z");
+        Instant to = Instant.parse("2030-01-07T12:00:00Z");
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewScheduler.availability(2L, from, to)).thenReturn(List.of(
+            new AvailabilityWindowDto(from, Instant.parse("2030-01-07T10:00:00Z")),
+            new AvailabilityWindowDto(Instant.parse("2030-01-07T11:00:00Z"), to)));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/availability")
+                        .param("from", "2030-01-07T09:00:00Z")
+                        .param("to", "2030-01-07T12:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].endsAt").exists());
+    }
+
+    @Test
+    void getAvailability_InvalidWindow() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("janesmith")).thenReturn(UserIdentity.of(recruiterUser));
+        when(interviewScheduler.availability(eq(2L), any(Instant.class), any(Instant.class)))
+            .thenThrow(new IllegalArgumentException("The window must end after it starts"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/janesmith/availability")
+                        .param("from", "2030-01-08T00:00:00Z")
+                        .param("to", "2030-01-07T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAvailability_UserNotFound() throws Exception {
+        // Given
+        when(userService.getUserIdentityByEmailPrefix("nonexistent"))
+                .thenThrow(new RuntimeException("User not found with email prefix: nonexistent"));
+
+        // When & Then
+        mockMvc.perform(get("/api/recruiter/nonexistent/availability")
+                        .param("from", "2030-01-07T00:00:00Z")
+                        .param("to", "2030-01-08T00:00:00Z"))
+                .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+}
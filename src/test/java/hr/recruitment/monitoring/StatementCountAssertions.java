@@ -0,0 +1,26 @@
+package hr.recruitment.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Pins the number of SQL statements, Hibernate and JdbcTemplate alike, an action executes, e.g.
+//   assertStatementCount(2, () -> mockMvc.perform(get("/api/recruiter/{emailPrefix}/top", prefix)));
+// A higher count after a change usually means a new lazy load per row (N+1).
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static void assertStatementCount(long expected, Action action) throws Exception {
+        long actual;
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            action.run();
+            actual = scope.count();
+        }
+        assertEquals(expected, actual, "SQL statements issued");
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,180 @@
+package hr.recruitment.monitoring;
+
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.InterviewRepository;
+import hr.recruitment.repository.UserRepository;
+import hr.recruitment.service.InterviewService;
+import hr.recruitment.service.UserLookupCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static hr.recruitment.monitoring.StatementCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    private String recruiterPrefix;
+    private String candidatePrefix;
+    private Interview interview;
+
+    @BeforeEach
+    void setUp() {
+        User recruiter = userRepository.findByRole(Role.ROLE_RECRUITER).get(0);
+        recruiterPrefix = User.localPartOf(recruiter.getEmail());
+        // A candidate with interviews, so the cabinet has a collection to load
+        interview = interviewRepository.findAll().get(0);
+        User candidate = interview.getUser();
+        candidatePrefix = User.localPartOf(candidate.getEmail());
+        // Every request below starts with a cold email prefix lookup
+        userLookupCache.evictAll();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @Test
+    void candidatesPage_LookupPlusOnePageQuery() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/recruiter/{emailPrefix}/candidates/page", recruiterPrefix)
+                        .param("size", "10"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void allInterviewsPage_LookupPlusOnePageQuery() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/recruiter/{emailPrefix}/all-interviews/page", recruiterPrefix)
+                        .param("size", "10"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void candidatesSummary_LookupPlusOneProjectionQuery() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/recruiter/{emailPrefix}/candidates", recruiterPrefix)
+                        .param("view", "summary"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void candidateCabinet_ValidatorPlusProfileAndInterviewsInOneQuery() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", candidatePrefix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interviews").isNotEmpty()));
+    }
+
+    @Test
+    void candidateCabinet_Cached_ValidatorOnly() throws Exception {
+        // The first request caches the entities, the second the interview list query
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", candidatePrefix)).andExpect(status().isOk());
+        }
+
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", candidatePrefix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interviews").isNotEmpty()));
+    }
+
+    @Test
+    void candidateCabinet_NotModified_ValidatorOnly() throws Exception {
+        String eTag = mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", candidatePrefix))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/candidate/cabinet/{emailPrefix}", candidatePrefix)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void candidateInterviews_LookupValidatorPlusOneProjectionQuery() throws Exception {
+        assertStatementCount(3, () -> mockMvc.perform(get("/api/candidate/{emailPrefix}/interviews", candidatePrefix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].interviewId").exists()));
+    }
+
+    @Test
+    void candidateInterviews_NotModified_CachedLookupAndValidatorOnly() throws Exception {
+        String eTag = mockMvc.perform(get("/api/candidate/{emailPrefix}/interviews", candidatePrefix))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/candidate/{emailPrefix}/interviews", candidatePrefix)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified()));
+    }
+
+    // The score writes below go through JdbcTemplate, not Hibernate, and are counted all the same
+    @Test
+    void updateScore_LookupPlusOneUpdate() throws Exception {
+        try {
+            assertStatementCount(2, () -> mockMvc.perform(put("/api/recruiter/{emailPrefix}/interviews/{interviewId}/score",
+                            recruiterPrefix, interview.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"score\": 77}"))
+                    .andExpect(status().isOk()));
+        } finally {
+            interviewService.updateScore(interview.getId(), interview.getScore(), null);
+        }
+    }
+
+    @Test
+    void updateScores_LookupLockPlusOneBatch() throws Exception {
+        try {
+            assertStatementCount(3, () -> mockMvc.perform(post("/api/recruiter/{emailPrefix}/scores", recruiterPrefix)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"scores\": [{\"interviewId\": %d, \"score\": 66}, {\"interviewId\": %d, \"score\": 67}]}"
+                                    .formatted(interview.getId(), interview.getId())))
+                    .andExpect(status().isOk()));
+        } finally {
+            interviewService.updateScore(interview.getId(), interview.getScore(), null);
+        }
+    }
+
+    @Test
+    void filter_RecordsStatementsPerRouteTemplate() throws Exception {
+        mockMvc.perform(get("/api/recruiter/{emailPrefix}/candidates/page", recruiterPrefix))
+                .andExpect(status().isOk());
+
+        DistributionSummary summary = meterRegistry.find("http.server.requests.statements")
+                .tag("uri", "/api/recruiter/{emailPrefix}/candidates/page")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.count() >= 1);
+        assertTrue(summary.max() >= 2);
+    }
+}
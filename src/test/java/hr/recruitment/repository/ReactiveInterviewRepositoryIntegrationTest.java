@@ -0,0 +1,61 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// R2DBC runs on its own connections and cannot see a test transaction, so this reads committed sample data only
+@SpringBootTest
+@ActiveProfiles("test")
+class ReactiveInterviewRepositoryIntegrationTest {
+
+    @Autowired
+    private ReactiveInterviewRepository reactiveInterviewRepository;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Test
+    void findCandidateViews_MatchesJpaProjection() {
+        List<RecruiterCandidateViewDto> reactive = reactiveInterviewRepository.findCandidateViewsByScoreGreaterThan(0)
+                .collectList().block();
+
+        assertFalse(reactive.isEmpty(), "Should have scored sample interviews in database");
+        assertEquals(interviewRepository.findCandidateViewsByScoreGreaterThan(0), reactive);
+    }
+
+    @Test
+    void findCandidateViews_Unfiltered_MatchesJpaProjection() {
+        List<RecruiterCandidateViewDto> reactive = reactiveInterviewRepository.findCandidateViews()
+                .collectList().block();
+
+        assertEquals(interviewRepository.findCandidateViews(), reactive);
+    }
+
+    @Test
+    void findCandidateSummaries_MatchesJpaProjectionWithoutInfoAndCv() {
+        List<RecruiterCandidateViewDto> reactive = reactiveInterviewRepository
+                .findCandidateSummaries()
+                .collectList().block();
+
+        assertEquals(interviewRepository.findCandidateSummaries(), reactive);
+        assertTrue(reactive.stream().allMatch(view -> view.getCandidateInfo() == null && view.getCandidateCv() == null));
+    }
+
+    @Test
+    void findCandidateSummaries_HonoursDemand() {
+        // A subscriber asking for two rows gets two, the cursor is cancelled for the rest
+        List<RecruiterCandidateViewDto> firstTwo = reactiveInterviewRepository
+                .findCandidateSummaries()
+                .take(2, true)
+                .collectList().block();
+
+        assertEquals(interviewRepository.findCandidateSummaries().subList(0, 2), firstTwo);
+    }
+}
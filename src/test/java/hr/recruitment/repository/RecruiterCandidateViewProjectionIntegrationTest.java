@@ -0,0 +1,127 @@
+package hr.recruitment.repository;
+
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecruiterCandidateViewProjectionIntegrationTest {
+
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void projection_ReturnsSameRowsAsEntityMapping() {
+        List<RecruiterCandidateViewDto> viaEntities = entityPath().stream()
+                .sorted(Comparator.comparing(RecruiterCandidateViewDto::getInterviewId))
+                .toList();
+        entityManager.clear();
+        List<RecruiterCandidateViewDto> viaProjection = projectionPath();
+
+        assertFalse(viaProjection.isEmpty(), "Should have sample interviews in database");
+        assertEquals(viaEntities, viaProjection);
+    }
+
+    @Test
+    void projection_UsesSingleStatementAndNoEntities() {
+        Measurement entity = measure(this::entityPath);
+        Measurement projection = measure(this::projectionPath);
+
+        assertEquals(1, projection.statementsPerCall(), "Projection should be a single interviews JOIN users query");
+        assertEquals(0, projection.entitiesPerCall(), "Projection should not hydrate any entity");
+        assertTrue(entity.statementsPerCall() > projection.statementsPerCall(),
+                "Entity path should need extra statements to load users");
+        assertTrue(entity.entitiesPerCall() > 0);
+
+        System.out.println("\n📊 Recruiter view query comparison (" + entity.rows() + " rows, " + ITERATIONS + " iterations):");
+        System.out.println("   Entity path:     " + entity.statementsPerCall() + " statements, "
+                + entity.entitiesPerCall() + " entities, " + entity.bytesPerCall() + " bytes allocated per call");
+        System.out.println("   Projection path: " + projection.statementsPerCall() + " statements, "
+                + projection.entitiesPerCall() + " entities, " + projection.bytesPerCall() + " bytes allocated per call");
+    }
+
+    @Test
+    void unfilteredViews_IncludeEveryScore() {
+        Long userId = interviewRepository.findAll().get(0).getUser().getId();
+        entityManager.createNativeQuery("INSERT INTO interviews (user_id, score, position) VALUES (?, ?, 'Lowest Score')")
+                .setParameter(1, userId)
+                .setParameter(2, Integer.MIN_VALUE)
+                .executeUpdate();
+
+        assertTrue(interviewRepository.findCandidateViews().stream()
+                .anyMatch(view -> view.getScore() == Integer.MIN_VALUE));
+        assertTrue(interviewRepository.findCandidateSummaries().stream()
+                .anyMatch(view -> view.getScore() == Integer.MIN_VALUE));
+        assertEquals(interviewRepository.count(), interviewRepository.findCandidateViews().size());
+    }
+
+    private List<RecruiterCandidateViewDto> entityPath() {
+        return interviewRepository.findAll().stream()
+                .map(RecruiterCandidateViewDto::fromInterview)
+                .toList();
+    }
+
+    private List<RecruiterCandidateViewDto> projectionPath() {
+        return interviewRepository.findCandidateViews();
+    }
+
+    private Measurement measure(Supplier<List<RecruiterCandidateViewDto>> path) {
+        // Warm up so class loading and query plan compilation are not counted
+        for (int i = 0; i < 5; i++) {
+            path.get();
+            entityManager.clear();
+        }
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        statistics.clear();
+        long bytesBefore = threadBean.getCurrentThreadAllocatedBytes();
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows = path.get().size();
+            entityManager.clear();
+        }
+        long bytes = threadBean.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        return new Measurement(rows,
+                statistics.getPrepareStatementCount() / ITERATIONS,
+                statistics.getEntityLoadCount() / ITERATIONS,
+                bytes / ITERATIONS);
+    }
+
+    private record Measurement(int rows, long statementsPerCall, long entitiesPerCall, long bytesPerCall) {
+    }
+}
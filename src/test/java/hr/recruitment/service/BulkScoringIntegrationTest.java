@@ -0,0 +1,53 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.ScoreUpdateDto;
+import hr.recruitment.dto.ScoreUpdateResultDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.repository.InterviewRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BulkScoringIntegrationTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void updateScores_UpdatesExistingAndReportsMissing() {
+        List<Interview> interviews = interviewRepository.findAll();
+        assertTrue(interviews.size() >= 2, "Should have sample interviews in database");
+        Long firstId = interviews.get(0).getId();
+        Long secondId = interviews.get(1).getId();
+
+        List<ScoreUpdateResultDto> results = interviewService.updateScores(List.of(
+                new ScoreUpdateDto(firstId, 42),
+                new ScoreUpdateDto(-1L, 50),
+                new ScoreUpdateDto(secondId, 0)));
+
+        assertEquals(List.of(
+                new ScoreUpdateResultDto(firstId, 42, ScoreUpdateResultDto.Status.UPDATED),
+                new ScoreUpdateResultDto(-1L, 50, ScoreUpdateResultDto.Status.NOT_FOUND),
+                new ScoreUpdateResultDto(secondId, 0, ScoreUpdateResultDto.Status.UPDATED)), results);
+
+        entityManager.clear();
+        assertEquals(42, interviewService.getInterviewById(firstId).getScore());
+        assertEquals(0, interviewService.getInterviewById(secondId).getScore());
+    }
+}
@@ -0,0 +1,161 @@
+package hr.recruitment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.recruitment.dto.ImportEventDto;
+import hr.recruitment.dto.ImportFormat;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "recruitment.import.chunk-size=2")
+class CandidateImportIntegrationTest {
+
+    @Autowired
+    private CandidateImportService candidateImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void importCsv_InsertsValidRowsAndReportsErrors() throws IOException {
+        String csv = """
+                name,email,info,cv
+                Ana Kovac,ana.kovac@jobs.example,Java developer,"10 years of Java, Spring"
+                Marko Horvat,marko.horvat@jobs.example,,
+                No Email,,,
+                Duplicate Ana,ana.kovac@other.example,,
+                Existing Admin,admin1@example.com,,
+                Ivan Babic,ivan.babic@jobs.example,"Says ""hi\"\"",
+                """;
+
+        List<ImportEventDto> events = runImport(csv, ImportFormat.CSV);
+
+        ImportEventDto summary = events.get(events.size() - 1);
+        assertEquals(ImportEventDto.Type.SUMMARY, summary.getType());
+        assertEquals(6, summary.getProcessed());
+        assertEquals(3, summary.getImported());
+        assertEquals(3, summary.getFailed());
+
+        List<Long> errorRows = events.stream()
+                .filter(event -> event.getType() == ImportEventDto.Type.ERROR)
+                .map(ImportEventDto::getRow)
+                .sorted()
+                .toList();
+        assertEquals(List.of(3L, 4L, 5L), errorRows);
+        assertEquals("Email local part already taken by another user: ana.kovac", errorMessage(events, 4));
+        assertEquals("User with this email already exists: admin1@example.com", errorMessage(events, 5));
+        assertTrue(events.stream().anyMatch(event -> event.getType() == ImportEventDto.Type.PROGRESS));
+
+        User ana = userRepository.findByEmailLocalPart("ana.kovac").orElseThrow();
+        assertEquals(Role.ROLE_CANDIDATE, ana.getRole());
+        assertEquals("10 years of Java, Spring", ana.getCv());
+        User marko = userRepository.findByEmailLocalPart("marko.horvat").orElseThrow();
+        assertNull(marko.getInfo());
+        assertNull(marko.getCv());
+        assertEquals("Says \"hi\"", userRepository.findByEmailLocalPart("ivan.babic").orElseThrow().getInfo());
+        assertEquals(Role.ROLE_ADMIN, userRepository.findByEmailLocalPart("admin1").orElseThrow().getRole());
+    }
+
+    @Test
+    void importNdjson_SkipsMalformedLines() throws IOException {
+        String ndjson = """
+                {"name":"Petra Novak","email":"petra.novak@jobs.example","cv":"Kotlin"}
+                {not json
+
+                {"name":"Luka Juric","email":"not-an-email"}
+                {"name":"Sara Maric","email":"sara.maric@jobs.example"}
+                """;
+
+        List<ImportEventDto> events = runImport(ndjson, ImportFormat.NDJSON);
+
+        ImportEventDto summary = events.get(events.size() - 1);
+        assertEquals(4, summary.getProcessed());
+        assertEquals(2, summary.getImported());
+        assertEquals(2, summary.getFailed());
+        assertEquals("Kotlin", userRepository.findByEmailLocalPart("petra.novak").orElseThrow().getCv());
+        assertTrue(userRepository.findByEmailLocalPart("sara.maric").isPresent());
+    }
+
+    @Test
+    void importCsv_DuplicatesWithinAndAcrossChunks() throws IOException {
+        String csv = """
+                name,email,info,cv
+                Nina Pavic,nina.pavic@jobs.example,,
+                Nina Again,nina.pavic@jobs.example,,
+                Tomo Vukic,tomo.vukic@jobs.example,,
+                Nina Later,nina.pavic@jobs.example,,
+                """;
+
+        List<ImportEventDto> events = runImport(csv, ImportFormat.CSV);
+
+        ImportEventDto summary = events.get(events.size() - 1);
+        assertEquals(2, summary.getImported());
+        assertEquals(2, summary.getFailed());
+        // Caught before the insert within a chunk, by the unique index once the first chunk is in
+        assertEquals("Duplicate email in this import: nina.pavic@jobs.example", errorMessage(events, 2));
+        assertEquals("User with this email already exists: nina.pavic@jobs.example", errorMessage(events, 4));
+        assertEquals("Nina Pavic", userRepository.findByEmailLocalPart("nina.pavic").orElseThrow().getName());
+    }
+
+    @Test
+    void importCsv_MalformedRecordFailsOnlyThatRow() throws IOException {
+        String csv = """
+                name,email,info,cv
+                Dora Simic,dora.simic@jobs.example,,
+                Too Many,too.many@jobs.example,,,extra,columns
+                Filip Kos,filip.kos@jobs.example,"Multi
+                line info",
+                """;
+
+        List<ImportEventDto> events = runImport(csv, ImportFormat.CSV);
+
+        ImportEventDto summary = events.get(events.size() - 1);
+        assertEquals(3, summary.getProcessed());
+        assertEquals(2, summary.getImported());
+        assertEquals(1, summary.getFailed());
+        assertTrue(errorMessage(events, 2).startsWith("Malformed CSV record"));
+        assertEquals("Multi\nline info", userRepository.findByEmailLocalPart("filip.kos").orElseThrow().getInfo());
+        assertTrue(userRepository.findByEmailLocalPart("too.many").isEmpty());
+    }
+
+    private static String errorMessage(List<ImportEventDto> events, long row) {
+        return events.stream()
+                .filter(event -> event.getType() == ImportEventDto.Type.ERROR && event.getRow() == row)
+                .map(ImportEventDto::getMessage)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<ImportEventDto> runImport(String body, ImportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        candidateImportService.importCandidates(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, output);
+
+        List<ImportEventDto> events = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            events.add(objectMapper.readValue(line, ImportEventDto.class));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,130 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateProfileDto;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CandidateProfileUpdateIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User candidate;
+    private String emailPrefix;
+
+    @BeforeEach
+    void setUp() {
+        candidate = userRepository.findByRole(Role.ROLE_CANDIDATE).get(0);
+        emailPrefix = User.localPartOf(candidate.getEmail());
+    }
+
+    @AfterEach
+    void restoreIndex() {
+        // The updates are rolled back with the test transaction, the shared index has to follow
+        candidateSkillIndex.index(candidate.getId(), candidate.getInfo(), candidate.getCv());
+    }
+
+    @Test
+    void updateCandidateInfoByEmailPrefix_ReturnsUpdatedRow() {
+        CandidateCabinetDto updated = userService.updateCandidateInfoByEmailPrefix(emailPrefix, "Updated info");
+
+        assertEquals(candidate.getId(), updated.getId());
+        assertEquals(candidate.getName(), updated.getName());
+        assertEquals(candidate.getEmail(), updated.getEmail());
+        assertEquals("Updated info", updated.getInfo());
+        assertEquals(candidate.getCv(), updated.getCv());
+        assertEquals("Updated info", row(candidate.getId()).get("info"));
+    }
+
+    @Test
+    void updateCandidateProfileByEmailPrefix_KeepsFieldsNotGiven() {
+        CandidateProfileDto profile = new CandidateProfileDto();
+        profile.setName("Renamed Candidate");
+        profile.setCv("Rust and Go");
+
+        CandidateCabinetDto updated = userService.updateCandidateProfileByEmailPrefix(emailPrefix, profile);
+
+        assertEquals("Renamed Candidate", updated.getName());
+        assertEquals(candidate.getInfo(), updated.getInfo());
+        assertEquals("Rust and Go", updated.getCv());
+        assertEquals(1, candidateSkillIndex.match(List.of("rust", "go"), null).getCardinality());
+    }
+
+    @Test
+    void updateCandidateCV_NullClears() {
+        CandidateCabinetDto updated = userService.updateCandidateCV(candidate.getId(), null);
+
+        assertNull(updated.getCv());
+        assertNull(row(candidate.getId()).get("cv"));
+    }
+
+    @Test
+    void updateCandidateInfoByEmailPrefix_RecruiterRejectedAndUnchanged() {
+        User recruiter = userRepository.findByRole(Role.ROLE_RECRUITER).get(0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.updateCandidateInfoByEmailPrefix(User.localPartOf(recruiter.getEmail()), "Hijacked"));
+        assertEquals(recruiter.getInfo(), row(recruiter.getId()).get("info"));
+    }
+
+    @Test
+    void updateCandidateInfo_UnknownUserIsNotFound() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> userService.updateCandidateInfoByEmailPrefix("no-such-user", "Info"));
+        assertFalse(e instanceof IllegalArgumentException);
+
+        e = assertThrows(RuntimeException.class, () -> userService.updateCandidateInfo(Long.MAX_VALUE, "Info"));
+        assertFalse(e instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void updateCandidateInfoByEmailPrefix_CurrentVersion_BumpsVersion() {
+        CandidateCabinetDto updated = userService.updateCandidateInfoByEmailPrefix(emailPrefix, "Updated info", candidate.getVersion());
+
+        assertEquals(candidate.getVersion() + 1, updated.getVersion());
+        assertEquals("Updated info", row(candidate.getId()).get("info"));
+    }
+
+    @Test
+    void updateCandidateInfoByEmailPrefix_StaleVersion_ConflictsAndUnchanged() {
+        userService.updateCandidateCVByEmailPrefix(emailPrefix, "Newer CV");
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> userService.updateCandidateInfoByEmailPrefix(emailPrefix, "Stale info", candidate.getVersion()));
+        assertEquals(candidate.getInfo(), row(candidate.getId()).get("info"));
+        assertEquals("Newer CV", row(candidate.getId()).get("cv"));
+    }
+
+    // Read past the persistence context, which still holds the entities as loaded
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap("SELECT info, cv FROM users WHERE id = ?", id);
+    }
+}
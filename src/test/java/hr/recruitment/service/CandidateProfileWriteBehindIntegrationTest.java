@@ -0,0 +1,63 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateProfilePatch;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CandidateProfileWriteBehindIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void updateCandidateProfiles_AppliesOnlySetFieldsInOneStatement() {
+        List<User> candidates = userRepository.findByRole(Role.ROLE_CANDIDATE);
+        User first = candidates.get(0);
+        User second = candidates.get(1);
+
+        List<CandidateCvDto> updated = userRepository.updateCandidateProfiles(List.of(
+                new CandidateProfilePatch(first.getId(), null, true, "New info", true, null),
+                CandidateProfilePatch.cv(second.getId(), "New CV")));
+
+        assertEquals(2, updated.size());
+        assertEquals(Map.of("info", "New info"), row(first.getId(), "info"));
+        assertNull(row(first.getId(), "cv").get("cv"));
+        assertEquals(second.getInfo(), row(second.getId(), "info").get("info"));
+        assertEquals("New CV", row(second.getId(), "cv").get("cv"));
+    }
+
+    @Test
+    void updateCandidateProfiles_SkipsNonCandidates() {
+        User recruiter = userRepository.findByRole(Role.ROLE_RECRUITER).get(0);
+
+        List<CandidateCvDto> updated = userRepository.updateCandidateProfiles(List.of(
+                CandidateProfilePatch.info(recruiter.getId(), "Should not be written")));
+
+        assertTrue(updated.isEmpty());
+        assertEquals(recruiter.getInfo(), row(recruiter.getId(), "info").get("info"));
+    }
+
+    // Read past the persistence context, which still holds the entities as loaded
+    private Map<String, Object> row(Long id, String column) {
+        return jdbcTemplate.queryForMap("SELECT " + column + " FROM users WHERE id = ?", id);
+    }
+}
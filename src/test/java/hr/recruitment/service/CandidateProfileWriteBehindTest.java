@@ -0,0 +1,136 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.ProfileWriteBehindProperties;
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.CandidateProfilePatch;
+import hr.recruitment.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateProfileWriteBehindTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CandidateSkillIndex candidateSkillIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CandidateProfileWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Disabled, so nothing flushes in the background and each test flushes explicitly
+        writeBehind = new CandidateProfileWriteBehind(userRepository, candidateSkillIndex,
+                new ProfileWriteBehindProperties(false, Duration.ofMillis(500), 2), meterRegistry);
+    }
+
+    @Test
+    void flush_CoalescesPatchesPerCandidateLastWriterWinsPerField() {
+        when(userRepository.updateCandidateProfiles(anyList())).thenReturn(List.of());
+        writeBehind.submit(CandidateProfilePatch.info(1L, "first"));
+        writeBehind.submit(CandidateProfilePatch.cv(1L, "cv"));
+        writeBehind.submit(CandidateProfilePatch.info(1L, "second"));
+        writeBehind.submit(CandidateProfilePatch.info(2L, null));
+
+        writeBehind.flush();
+
+        List<CandidateProfilePatch> batch = captureBatch();
+        assertEquals(2, batch.size());
+        assertTrue(batch.contains(new CandidateProfilePatch(1L, null, true, "second", true, "cv")));
+        assertTrue(batch.contains(new CandidateProfilePatch(2L, null, true, null, false, null)));
+        assertEquals(0, writeBehind.pendingCount());
+        assertEquals(4, meterRegistry.get("profile.writebehind.patches").counter().count());
+    }
+
+    @Test
+    void flush_ReindexesUpdatedCandidates() {
+        when(userRepository.updateCandidateProfiles(anyList()))
+                .thenReturn(List.of(new CandidateCvDto(1L, "info", "Java and Go")));
+        writeBehind.submit(CandidateProfilePatch.cv(1L, "Java and Go"));
+
+        writeBehind.flush();
+
+        verify(candidateSkillIndex).index(1L, "info", "Java and Go");
+        assertEquals(1, meterRegistry.get("profile.writebehind.rows").counter().count());
+    }
+
+    @Test
+    void flush_NothingPendingSkipsDatabase() {
+        writeBehind.flush();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void flush_FailureRequeuesBeneathNewerPatches() {
+        when(userRepository.updateCandidateProfiles(anyList()))
+                .thenAnswer(invocation -> {
+                    // Arrives while the failing batch is being written
+                    writeBehind.submit(CandidateProfilePatch.info(1L, "newer"));
+                    throw new IllegalStateException("Database unavailable");
+                })
+                .thenReturn(List.of());
+        writeBehind.submit(CandidateProfilePatch.info(1L, "older"));
+        writeBehind.submit(CandidateProfilePatch.cv(1L, "cv"));
+
+        assertThrows(IllegalStateException.class, () -> writeBehind.flush());
+        assertEquals(1, writeBehind.pendingCount());
+
+        writeBehind.flush();
+        assertEquals(List.of(new CandidateProfilePatch(1L, null, true, "newer", true, "cv")), captureLastBatch());
+    }
+
+    @Test
+    void submit_FullBufferFlushesOnCallerThread() {
+        when(userRepository.updateCandidateProfiles(anyList())).thenReturn(List.of());
+        writeBehind.submit(CandidateProfilePatch.info(1L, "a"));
+        writeBehind.submit(CandidateProfilePatch.info(2L, "b"));
+        // Coalescing into a queued candidate does not need room
+        writeBehind.submit(CandidateProfilePatch.info(2L, "c"));
+        verifyNoInteractions(userRepository);
+
+        writeBehind.submit(CandidateProfilePatch.info(3L, "d"));
+
+        assertEquals(2, captureBatch().size());
+        assertEquals(1, writeBehind.pendingCount());
+    }
+
+    @Test
+    void destroy_FlushesPending() throws Exception {
+        when(userRepository.updateCandidateProfiles(anyList())).thenReturn(List.of());
+        writeBehind.submit(CandidateProfilePatch.cv(1L, "cv"));
+
+        writeBehind.destroy();
+
+        assertEquals(List.of(CandidateProfilePatch.cv(1L, "cv")), captureBatch());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CandidateProfilePatch> captureBatch() {
+        ArgumentCaptor<List<CandidateProfilePatch>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).updateCandidateProfiles(batch.capture());
+        return batch.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CandidateProfilePatch> captureLastBatch() {
+        ArgumentCaptor<List<CandidateProfilePatch>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, atLeastOnce()).updateCandidateProfiles(batch.capture());
+        return batch.getValue();
+    }
+}
@@ -0,0 +1,87 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateSearchResultDto;
+import hr.recruitment.dto.CursorPageDto;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CandidateSearchIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User cvMatch;
+    private User infoMatch;
+
+    @BeforeEach
+    void setUp() {
+        cvMatch = saveUser("Zora Quill", "zora.quill@search.example", Role.ROLE_CANDIDATE,
+                "Backend engineer", "Operated Kubernetes clusters and wrote Terraform modules");
+        infoMatch = saveUser("Yann Quill", "yann.quill@search.example", Role.ROLE_CANDIDATE,
+                "Kubernetes administrator", "Linux and networking");
+        saveUser("Xavi Quill", "xavi.quill@search.example", Role.ROLE_RECRUITER,
+                "Hires Kubernetes engineers", null);
+        userRepository.flush();
+    }
+
+    @Test
+    void searchCandidates_RanksInfoAboveCvAndSkipsNonCandidates() {
+        CursorPageDto<CandidateSearchResultDto> page = userService.searchCandidates("kubernetes", null, null);
+
+        List<Long> ids = page.getItems().stream().map(CandidateSearchResultDto::getCandidateId).toList();
+        assertEquals(List.of(infoMatch.getId(), cvMatch.getId()), ids);
+        assertTrue(page.getItems().get(0).getRank() > page.getItems().get(1).getRank());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchCandidates_SupportsPhrasesAndStemming() {
+        CursorPageDto<CandidateSearchResultDto> page = userService.searchCandidates("\"terraform module\" -networking", null, null);
+
+        assertEquals(1, page.getSize());
+        assertEquals(cvMatch.getId(), page.getItems().get(0).getCandidateId());
+        assertEquals("zora.quill@search.example", page.getItems().get(0).getCandidateEmail());
+    }
+
+    @Test
+    void searchCandidates_PagesByOffset() {
+        CursorPageDto<CandidateSearchResultDto> first = userService.searchCandidates("quill", null, 1);
+        CursorPageDto<CandidateSearchResultDto> second = userService.searchCandidates("quill", first.getNextCursor(), 1);
+
+        assertEquals(1L, first.getNextCursor());
+        assertNull(second.getNextCursor());
+        assertNotEquals(first.getItems().get(0).getCandidateId(), second.getItems().get(0).getCandidateId());
+    }
+
+    @Test
+    void searchCandidates_BlankQueryRejected() {
+        assertThrows(IllegalArgumentException.class, () -> userService.searchCandidates(" ", null, null));
+    }
+
+    private User saveUser(String name, String email, Role role, String info, String cv) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setInfo(info);
+        user.setCv(cv);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,67 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.SkillMatchDto;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CandidateSkillIndexIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+
+    @Test
+    void rebuild_CoversExistingCandidates() {
+        // Other tests in this context may have indexed rows their rollback removed
+        candidateSkillIndex.rebuild();
+        long candidates = userRepository.findByRole(Role.ROLE_CANDIDATE).size();
+
+        assertEquals(candidates, candidateSkillIndex.stats(0).getCandidates());
+    }
+
+    @Test
+    void updateCandidateCV_IsSearchableImmediately() {
+        User candidate = userRepository.findByRole(Role.ROLE_CANDIDATE).get(0);
+        String originalInfo = candidate.getInfo();
+        String originalCv = candidate.getCv();
+
+        try {
+            userService.updateCandidateCV(candidate.getId(), "Fortran and COBOL on mainframes");
+            SkillMatchDto match = userService.matchCandidateSkills(List.of("fortran", "cobol"), null, null, null);
+
+            assertEquals(List.of(candidate.getId()), match.getCandidateIds());
+        } finally {
+            // The update is rolled back with the test transaction, the shared index has to follow
+            candidateSkillIndex.index(candidate.getId(), originalInfo, originalCv);
+        }
+    }
+
+    @Test
+    void matchCandidateSkills_PagesByCandidateId() {
+        SkillMatchDto first = userService.matchCandidateSkills(null, List.of("java", "python", "react"), null, 1);
+        assertTrue(first.getTotal() > 1, "Should have several matching sample candidates");
+        assertEquals(1, first.getCandidateIds().size());
+
+        SkillMatchDto second = userService.matchCandidateSkills(null, List.of("java", "python", "react"), first.getNextCursor(), 1);
+        assertTrue(second.getCandidateIds().get(0) > first.getCandidateIds().get(0));
+        assertEquals(first.getTotal(), second.getTotal());
+    }
+}
@@ -0,0 +1,159 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateCvDto;
+import hr.recruitment.dto.SkillIndexStatsDto;
+import hr.recruitment.dto.SkillTermStatsDto;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateSkillIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CandidateSkillIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.streamCvsByRole(Role.ROLE_CANDIDATE)).thenReturn(Stream.of(
+                new CandidateCvDto(1L, "Backend developer", "Java, Spring Boot and PostgreSQL."),
+                new CandidateCvDto(2L, "Frontend developer", "React, Node.js and C#"),
+                new CandidateCvDto(3L, null, "Java and Kotlin on Android")));
+        index = new CandidateSkillIndex(userRepository, new TransactionTemplate(transactionManager));
+        index.afterPropertiesSet();
+    }
+
+    @Test
+    void terms_KeepsSkillPunctuationAndDropsSentenceDots() {
+        assertEquals(Set.of("c++", "c#", "node.js", "java", "go"), CandidateSkillIndex.terms("C++, C#; Node.js. Java... go"));
+    }
+
+    @Test
+    void match_AllOfIntersects() {
+        assertEquals(List.of(1, 3), ids(index.match(List.of("java"), List.of())));
+        assertEquals(List.of(1), ids(index.match(List.of("Java", "postgresql"), List.of())));
+        assertEquals(List.of(), ids(index.match(List.of("java", "cobol"), List.of())));
+    }
+
+    @Test
+    void match_AnyOfUnionsAndCombinesWithAllOf() {
+        assertEquals(List.of(1, 2, 3), ids(index.match(List.of(), List.of("kotlin", "react", "spring"))));
+        assertEquals(List.of(3), ids(index.match(List.of("java"), List.of("kotlin", "react"))));
+        assertEquals(List.of(2), ids(index.match(null, List.of("NODE.JS"))));
+    }
+
+    @Test
+    void match_WithoutSkillsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.match(List.of(" "), null));
+    }
+
+    @Test
+    void match_ResultIsDetachedFromIndex() {
+        index.match(List.of("java"), List.of()).add(2);
+
+        assertEquals(List.of(1, 3), ids(index.match(List.of("java"), List.of())));
+    }
+
+    @Test
+    void index_ReplacesPreviousTermsOfCandidate() {
+        index.index(1L, "Backend developer", "Rust and Go");
+
+        assertEquals(List.of(3), ids(index.match(List.of("java"), List.of())));
+        assertEquals(List.of(1), ids(index.match(List.of("rust"), List.of())));
+    }
+
+    @Test
+    void index_TermEmptiedAndReusedKeepsWorking() {
+        index.remove(2L);
+        assertEquals(List.of(), ids(index.match(List.of("react"), List.of())));
+        assertEquals(List.of(1, 3), ids(index.match(List.of(), List.of("react", "java"))));
+
+        index.index(3L, null, "React Native");
+
+        assertEquals(List.of(3), ids(index.match(List.of("react"), List.of())));
+        assertEquals(List.of(1), ids(index.match(List.of("java"), List.of())));
+        assertEquals(2, index.stats(0).getCandidates());
+    }
+
+    @Test
+    void index_ChangingTextKeepsDictionaryBounded() {
+        int before = index.dictionarySize();
+
+        for (int draft = 0; draft < 1000; draft++) {
+            index.index(2L, "Frontend developer", "React, Node.js and draft" + draft + " word" + draft % 7);
+        }
+
+        // Two terms of the draft in use at a time, each replacing the one freed before it
+        assertTrue(index.dictionarySize() <= before + 2, "dictionary grew to " + index.dictionarySize());
+        assertEquals(List.of(2), ids(index.match(List.of("draft999", "word5"), List.of())));
+        assertEquals(List.of(), ids(index.match(List.of("draft998"), List.of())));
+        assertEquals(List.of(1, 3), ids(index.match(List.of("java"), List.of())));
+    }
+
+    @Test
+    void index_IdBeyondIntRangeIsLeftOut() {
+        long id = Integer.MAX_VALUE + 1L;
+
+        index.index(id, null, "Java");
+        index.remove(id);
+
+        assertEquals(List.of(1, 3), ids(index.match(List.of("java"), List.of())));
+        assertEquals(3, index.stats(0).getCandidates());
+    }
+
+    @Test
+    void index_UserNoLongerCandidateIsRemoved() {
+        User recruiter = new User();
+        recruiter.setId(2L);
+        recruiter.setRole(Role.ROLE_RECRUITER);
+        recruiter.setCv("React");
+
+        index.index(recruiter);
+
+        assertEquals(List.of(), ids(index.match(List.of("react"), List.of())));
+        assertEquals(2, index.stats(0).getCandidates());
+    }
+
+    @Test
+    void stats_ReportsPostingSizesPerTerm() {
+        index.remove(2L);
+
+        SkillIndexStatsDto all = index.stats(100);
+        SkillIndexStatsDto top = index.stats(3);
+
+        assertEquals(2, all.getCandidates());
+        assertEquals(all.getTerms(), all.getLargestTerms().size());
+        assertFalse(all.getLargestTerms().stream().anyMatch(term -> term.getTerm().equals("react")));
+        assertEquals(all.getTotalBytes(), all.getLargestTerms().stream().mapToLong(SkillTermStatsDto::getBytes).sum());
+        assertEquals(2, all.getLargestTerms().stream()
+                .filter(term -> term.getTerm().equals("java"))
+                .findFirst()
+                .orElseThrow()
+                .getCandidates());
+        assertEquals(all.getLargestTerms().subList(0, 3), top.getLargestTerms());
+    }
+
+    private static List<Integer> ids(RoaringBitmap bitmap) {
+        return bitmap.stream().boxed().toList();
+    }
+}
@@ -0,0 +1,69 @@
+package hr.recruitment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.recruitment.dto.ExportFormat;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.repository.InterviewRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InterviewExportIntegrationTest {
+
+    @Autowired
+    private InterviewExportService interviewExportService;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportNdjson_WritesOneViewPerLine() throws IOException {
+        String export = export(ViewMode.FULL, ExportFormat.NDJSON);
+
+        assertTrue(export.endsWith("\n"));
+        List<RecruiterCandidateViewDto> rows = new ArrayList<>();
+        for (String line : export.split("\n")) {
+            rows.add(objectMapper.readValue(line, RecruiterCandidateViewDto.class));
+        }
+        assertEquals(interviewRepository.findCandidateViews(), rows);
+    }
+
+    @Test
+    void exportCsv_WritesHeaderAndOneRowPerInterview() throws IOException {
+        String[] lines = export(ViewMode.FULL, ExportFormat.CSV).split("\n");
+
+        assertEquals("interviewId,candidateId,candidateName,candidateEmail,position,score,candidateInfo,candidateCv", lines[0]);
+        assertEquals(interviewRepository.count() + 1, lines.length);
+    }
+
+    @Test
+    void exportCsv_SummaryLeavesOutInfoAndCv() throws IOException {
+        String[] lines = export(ViewMode.SUMMARY, ExportFormat.CSV).split("\n");
+
+        assertEquals("interviewId,candidateId,candidateName,candidateEmail,position,score", lines[0]);
+        RecruiterCandidateViewDto first = interviewRepository.findCandidateSummaries().get(0);
+        assertEquals(first.getInterviewId() + "," + first.getCandidateId() + "," + first.getCandidateName() + ","
+                + first.getCandidateEmail() + "," + first.getPosition() + "," + first.getScore(), lines[1]);
+    }
+
+    private String export(ViewMode view, ExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        interviewExportService.exportCandidateViews(view, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
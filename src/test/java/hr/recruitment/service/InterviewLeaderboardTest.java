@@ -0,0 +1,222 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.LeaderboardProperties;
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.repository.InterviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InterviewLeaderboardTest {
+
+    private static final String POSITION = "Java Developer";
+
+    @Mock
+    private InterviewRepository interviewRepository;
+
+    private InterviewLeaderboard leaderboard;
+    private User candidate;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new InterviewLeaderboard(interviewRepository, new LeaderboardProperties(3, 10));
+
+        candidate = new User();
+        candidate.setId(1L);
+        candidate.setName("John Doe");
+        candidate.setEmail("johndoe@example.com");
+    }
+
+    @Test
+    void top_LoadsOnceAndServesFromMemory() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenReturn(List.of(view(1L, 90), view(2L, 80)));
+
+        assertEquals(List.of(1L, 2L), ids(leaderboard.top(POSITION, 3)));
+        assertEquals(List.of(1L), ids(leaderboard.top(POSITION, 1)));
+
+        verify(interviewRepository, times(1)).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void onSaved_InsertsNewScoreInRankOrder() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenReturn(List.of(view(1L, 90), view(2L, 80)));
+        leaderboard.top(POSITION, 3);
+
+        leaderboard.onSaved(interview(3L, 85));
+
+        assertEquals(List.of(1L, 3L, 2L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(1)).findTopCandidateViewsByPosition(any(), any());
+    }
+
+    @Test
+    void onSaved_FullBoardEvictsLowestEntry() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenReturn(List.of(view(1L, 90), view(2L, 80), view(3L, 70)));
+        leaderboard.top(POSITION, 3);
+
+        leaderboard.onSaved(interview(4L, 95));
+        leaderboard.onSaved(interview(5L, 10));
+
+        assertEquals(List.of(4L, 1L, 2L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(1)).findTopCandidateViewsByPosition(any(), any());
+    }
+
+    @Test
+    void onSaved_UnscoredInterviewIsIgnored() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenReturn(List.of(view(1L, 90)));
+        leaderboard.top(POSITION, 3);
+
+        leaderboard.onSaved(interview(2L, 0));
+
+        assertEquals(List.of(1L), ids(leaderboard.top(POSITION, 3)));
+    }
+
+    @Test
+    void onSaved_ScoreDropOnTruncatedBoardReloads() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenReturn(List.of(view(1L, 90), view(2L, 80), view(3L, 70)))
+                .thenReturn(List.of(view(2L, 80), view(3L, 70), view(4L, 60)));
+        leaderboard.top(POSITION, 3);
+
+        leaderboard.onSaved(interview(1L, 20));
+
+        assertEquals(List.of(2L, 3L, 4L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(2)).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void onDeleted_CompleteBoardRemovesInPlace() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenReturn(List.of(view(1L, 90), view(2L, 80)));
+        leaderboard.top(POSITION, 3);
+
+        leaderboard.onDeleted(interview(1L, 90));
+
+        assertEquals(List.of(2L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(1)).findTopCandidateViewsByPosition(any(), any());
+    }
+
+    @Test
+    void top_PositionWithoutScoresKeepsNoBoard() {
+        when(interviewRepository.findTopCandidateViewsByPosition("No Such Position", Limit.of(3)))
+                .thenReturn(List.of());
+
+        assertEquals(List.of(), leaderboard.top("No Such Position", 3));
+        assertEquals(List.of(), leaderboard.top("No Such Position", 3));
+
+        verify(interviewRepository, times(2)).findTopCandidateViewsByPosition("No Such Position", Limit.of(3));
+    }
+
+    @Test
+    void top_DeeperThanCapacityReadsFromDatabase() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(5)))
+                .thenReturn(List.of(view(1L, 90)));
+
+        assertEquals(List.of(1L), ids(leaderboard.top(POSITION, 5)));
+        verify(interviewRepository, never()).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void top_FailedLoadIsNotCached() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenThrow(new RuntimeException("Database unavailable"))
+                .thenReturn(List.of(view(1L, 90)));
+
+        assertThrows(RuntimeException.class, () -> leaderboard.top(POSITION, 3));
+
+        assertEquals(List.of(1L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(2)).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void onSaved_DuringLoadIsReplayedOntoTheLoadedBoard() {
+        // The write lands while the board query is still running, so its rows predate the write
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenAnswer(invocation -> {
+                    leaderboard.onSaved(interview(3L, 85));
+                    return List.of(view(1L, 90));
+                });
+
+        assertEquals(List.of(1L, 3L), ids(leaderboard.top(POSITION, 3)));
+
+        assertEquals(List.of(1L, 3L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(1)).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void onSaved_DuringLoadAlreadyReadIsHarmless() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenAnswer(invocation -> {
+                    leaderboard.onSaved(interview(3L, 85));
+                    return List.of(view(1L, 90), view(3L, 85));
+                });
+
+        assertEquals(List.of(1L, 3L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(1)).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void onSaved_ScoreDropDuringLoadOfTruncatedBoardReadsFromDatabase() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenAnswer(invocation -> {
+                    leaderboard.onSaved(interview(1L, 10));
+                    return List.of(view(1L, 90), view(2L, 80), view(3L, 70));
+                })
+                .thenReturn(List.of(view(2L, 80), view(3L, 70), view(4L, 60)));
+
+        assertEquals(List.of(2L, 3L, 4L), ids(leaderboard.top(POSITION, 3)));
+
+        // The discarded board is loaded again by the next read
+        assertEquals(List.of(2L, 3L, 4L), ids(leaderboard.top(POSITION, 3)));
+        verify(interviewRepository, times(3)).findTopCandidateViewsByPosition(POSITION, Limit.of(3));
+    }
+
+    @Test
+    void invalidate_DuringLoadReadsFromDatabase() {
+        when(interviewRepository.findTopCandidateViewsByPosition(POSITION, Limit.of(3)))
+                .thenAnswer(invocation -> {
+                    leaderboard.invalidate(POSITION);
+                    return List.of(view(1L, 90));
+                })
+                .thenReturn(List.of(view(2L, 95), view(1L, 90)));
+
+        assertEquals(List.of(2L, 1L), ids(leaderboard.top(POSITION, 3)));
+    }
+
+    private RecruiterCandidateViewDto view(Long interviewId, int score) {
+        return new RecruiterCandidateSummaryDto(interviewId, candidate.getId(), candidate.getName(),
+                candidate.getEmail(), POSITION, score);
+    }
+
+    private Interview interview(Long id, int score) {
+        Interview interview = new Interview();
+        interview.setId(id);
+        interview.setUser(candidate);
+        interview.setPosition(POSITION);
+        interview.setScore(score);
+        return interview;
+    }
+
+    private static List<Long> ids(List<RecruiterCandidateViewDto> views) {
+        List<Long> ids = new ArrayList<>();
+        views.forEach(view -> ids.add(view.getInterviewId()));
+        return ids;
+    }
+}
@@ -0,0 +1,232 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.AvailabilityWindowDto;
+import hr.recruitment.dto.InterviewSlotDto;
+import hr.recruitment.model.enums.InterviewStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: bookings are single statements committed on their own, as concurrent requests make them.
+// Each test books on a day of its own, since the calendars in memory outlive the probe rows deleted afterwards
+@SpringBootTest
+@ActiveProfiles("test")
+class InterviewSchedulerIntegrationTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Autowired
+    private InterviewScheduler interviewScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long candidateId;
+    private Long recruiterId;
+    private Long otherRecruiterId;
+
+    @BeforeEach
+    void setUp() {
+        candidateId = jdbcTemplate.queryForObject(
+            "SELECT id FROM users WHERE role = 'ROLE_CANDIDATE' ORDER BY id LIMIT 1", Long.class);
+        List<Long> recruiterIds = jdbcTemplate.queryForList(
+            "SELECT id FROM users WHERE role = 'ROLE_RECRUITER' ORDER BY id LIMIT 2", Long.class);
+        recruiterId = recruiterIds.get(0);
+        otherRecruiterId = recruiterIds.get(1);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM interviews WHERE position = 'Scheduling Probe'");
+    }
+
+    @Test
+    void schedule_ConcurrentRequests_BookDisjointSlots() throws Exception {
+        Instant day = day(1);
+        List<Long> interviewIds = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            interviewIds.add(probe());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Optional<InterviewSlotDto>>> futures = new ArrayList<>();
+        try {
+            for (Long interviewId : interviewIds) {
+                Callable<Optional<InterviewSlotDto>> booking = () -> interviewScheduler.schedule(
+                    candidateId, interviewId, recruiterId, day, day.plus(Duration.ofHours(12)), HOUR);
+                futures.add(executor.submit(booking));
+            }
+            int booked = 0;
+            for (Future<Optional<InterviewSlotDto>> future : futures) {
+                Optional<InterviewSlotDto> slot = future.get();
+                if (slot.isPresent()) {
+                    assertEquals(recruiterId, slot.get().getRecruiterId());
+                    assertEquals(InterviewStatus.SCHEDULED, slot.get().getStatus());
+                    booked++;
+                }
+            }
+            // Twelve hours hold twelve interviews; the other four find nothing free
+            assertEquals(12, booked);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(12, interviewScheduler.bookings(recruiterId, day, day.plus(Duration.ofDays(1))).size());
+        assertEquals(0, interviewScheduler.availability(recruiterId, day, day.plus(Duration.ofHours(12))).size());
+        Integer overlapping = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM interviews a JOIN interviews b ON a.id < b.id AND a.recruiter_id = b.recruiter_id " +
+            "WHERE a.status = 'SCHEDULED' AND b.status = 'SCHEDULED' " +
+            "AND tstzrange(a.starts_at, a.ends_at) && tstzrange(b.starts_at, b.ends_at)", Integer.class);
+        assertEquals(0, overlapping);
+    }
+
+    @Test
+    void overlappingBooking_RejectedByExclusionConstraint() {
+        Instant day = day(2);
+        Long first = probe();
+        Long second = probe();
+        book(first, recruiterId, day, day.plus(HOUR));
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+            () -> book(second, recruiterId, day.plus(Duration.ofMinutes(30)), day.plus(Duration.ofMinutes(90))));
+
+        assertEquals("23P01", ((SQLException) e.getMostSpecificCause()).getSQLState());
+        // Back to back is fine, and so is another recruiter at the same time
+        book(second, recruiterId, day.plus(HOUR), day.plus(Duration.ofHours(2)));
+        Long third = probe();
+        book(third, otherRecruiterId, day, day.plus(HOUR));
+    }
+
+    @Test
+    void schedule_SlotBookedByAnotherInstance_ReloadsAndBooksNextFree() {
+        Instant day = day(3);
+        Long first = probe();
+        Long second = probe();
+        // Loads the recruiter's calendar
+        assertEquals(day, interviewScheduler.schedule(candidateId, first, recruiterId, day, day.plus(HOUR), HOUR)
+            .orElseThrow().getStartsAt());
+        // Written past this instance, which still shows the hour after as free
+        Long elsewhere = probe();
+        book(elsewhere, recruiterId, day.plus(HOUR), day.plus(Duration.ofHours(2)));
+        double conflicts = meterRegistry.counter("interview.scheduling.conflicts").count();
+
+        InterviewSlotDto slot = interviewScheduler.schedule(candidateId, second, recruiterId,
+            day, day.plus(Duration.ofHours(4)), HOUR).orElseThrow();
+
+        assertEquals(day.plus(Duration.ofHours(2)), slot.getStartsAt());
+        assertEquals(conflicts + 1, meterRegistry.counter("interview.scheduling.conflicts").count());
+    }
+
+    @Test
+    void cancel_FreesSlotForNextRequest() {
+        Instant day = day(4);
+        Long first = probe();
+        Long second = probe();
+        interviewScheduler.schedule(candidateId, first, recruiterId, day, day.plus(HOUR), HOUR).orElseThrow();
+        assertTrue(interviewScheduler.schedule(candidateId, second, recruiterId, day, day.plus(HOUR), HOUR).isEmpty());
+
+        InterviewSlotDto cancelled = interviewScheduler.cancel(candidateId, first).orElseThrow();
+
+        assertEquals(InterviewStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(day, interviewScheduler.schedule(candidateId, second, recruiterId, day, day.plus(HOUR), HOUR)
+            .orElseThrow().getStartsAt());
+        assertTrue(interviewScheduler.cancel(candidateId, first).isEmpty());
+    }
+
+    @Test
+    void schedule_MoveToOtherRecruiter_FreesPreviousSlot() {
+        Instant day = day(5);
+        Long interviewId = probe();
+        interviewScheduler.schedule(candidateId, interviewId, recruiterId, day, day.plus(HOUR), HOUR).orElseThrow();
+        assertEquals(List.of(), interviewScheduler.availability(recruiterId, day, day.plus(HOUR)));
+
+        InterviewSlotDto moved = interviewScheduler.schedule(candidateId, interviewId, otherRecruiterId,
+            day, day.plus(HOUR), HOUR).orElseThrow();
+
+        assertEquals(otherRecruiterId, moved.getRecruiterId());
+        assertEquals(List.of(new AvailabilityWindowDto(day, day.plus(HOUR))),
+            interviewScheduler.availability(recruiterId, day, day.plus(HOUR)));
+        assertEquals(List.of(), interviewScheduler.bookings(recruiterId, day, day.plus(HOUR)));
+    }
+
+    @Test
+    void schedule_SameRecruiterOverlappingWindow_MovesWithinOwnSlot() {
+        Instant day = day(8);
+        Long interviewId = probe();
+        interviewScheduler.schedule(candidateId, interviewId, recruiterId, day, day.plus(HOUR), HOUR).orElseThrow();
+
+        // Its own booking is not in the way, neither for the same window nor for one overlapping it
+        assertEquals(day, interviewScheduler.schedule(candidateId, interviewId, recruiterId,
+            day, day.plus(HOUR), HOUR).orElseThrow().getStartsAt());
+        Instant later = day.plus(Duration.ofMinutes(30));
+        InterviewSlotDto moved = interviewScheduler.schedule(candidateId, interviewId, recruiterId,
+            later, day.plus(Duration.ofHours(2)), HOUR).orElseThrow();
+
+        assertEquals(later, moved.getStartsAt());
+        assertEquals(List.of(new AvailabilityWindowDto(day, later)),
+            interviewScheduler.availability(recruiterId, day, later.plus(HOUR)));
+        assertEquals(1, interviewScheduler.bookings(recruiterId, day, day.plus(Duration.ofHours(2))).size());
+    }
+
+    @Test
+    void schedule_OtherCandidatesInterview_NotFound() {
+        Instant day = day(6);
+        Long interviewId = probe();
+
+        assertThrows(RuntimeException.class, () -> interviewScheduler.schedule(
+            -1L, interviewId, recruiterId, day, day.plus(HOUR), HOUR));
+        // The hold was released
+        assertEquals(List.of(new AvailabilityWindowDto(day, day.plus(HOUR))),
+            interviewScheduler.availability(recruiterId, day, day.plus(HOUR)));
+    }
+
+    @Test
+    void schedule_InvalidWindow_Rejected() {
+        Instant day = day(7);
+
+        assertThrows(IllegalArgumentException.class, () -> interviewScheduler.schedule(
+            candidateId, probe(), recruiterId, day.plus(HOUR), day, HOUR));
+        assertThrows(IllegalArgumentException.class, () -> interviewScheduler.schedule(
+            candidateId, probe(), recruiterId, day, day.plus(Duration.ofDays(365)), HOUR));
+    }
+
+    // Far enough ahead that now never clamps the window
+    private static Instant day(int n) {
+        return Instant.parse("2031-03-01T00:00:00Z").plus(Duration.ofDays(n));
+    }
+
+    private Long probe() {
+        return jdbcTemplate.queryForObject(
+            "INSERT INTO interviews (user_id, score, position) VALUES (?, 0, 'Scheduling Probe') RETURNING id",
+            Long.class, candidateId);
+    }
+
+    private void book(Long interviewId, Long recruiterId, Instant startsAt, Instant endsAt) {
+        jdbcTemplate.update(
+            "UPDATE interviews SET status = 'SCHEDULED', recruiter_id = ?, starts_at = ?, ends_at = ? WHERE id = ?",
+            recruiterId, startsAt.atOffset(ZoneOffset.UTC), endsAt.atOffset(ZoneOffset.UTC), interviewId);
+    }
+}
@@ -0,0 +1,104 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.InterviewScoreDto;
+import hr.recruitment.dto.ScoreUpdateDto;
+import hr.recruitment.dto.ScoreUpdateResultDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.repository.InterviewRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InterviewVersioningIntegrationTest {
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private InterviewScoreDto interview;
+
+    @BeforeEach
+    void setUp() {
+        Long id = interviewRepository.findAll().get(0).getId();
+        interview = interviewService.getInterviewScore(id);
+    }
+
+    @Test
+    void updateScore_CurrentVersion_WritesAndBumpsVersion() {
+        InterviewScoreDto updated = interviewService.updateScore(interview.getInterviewId(), 77, interview.getVersion());
+
+        assertEquals(77, updated.getScore());
+        assertEquals(interview.getVersion() + 1, updated.getVersion());
+        assertEquals(interview.getCandidateId(), updated.getCandidateId());
+        assertEquals(updated, interviewService.getInterviewScore(interview.getInterviewId()));
+    }
+
+    @Test
+    void updateScore_StaleVersion_ConflictsAndKeepsWinner() {
+        interviewService.updateScore(interview.getInterviewId(), 60, interview.getVersion());
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> interviewService.updateScore(interview.getInterviewId(), 90, interview.getVersion()));
+        assertEquals(60, interviewService.getInterviewScore(interview.getInterviewId()).getScore());
+    }
+
+    @Test
+    void updateScore_WithoutVersion_AlwaysApplies() {
+        interviewService.updateScore(interview.getInterviewId(), 60, interview.getVersion());
+
+        InterviewScoreDto updated = interviewService.updateScore(interview.getInterviewId(), 90, null);
+
+        assertEquals(90, updated.getScore());
+        assertEquals(interview.getVersion() + 2, updated.getVersion());
+    }
+
+    @Test
+    void updateScore_MissingInterview_NotFound() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> interviewService.updateScore(-1L, 50, 0L));
+
+        assertFalse(e instanceof OptimisticLockingFailureException);
+    }
+
+    @Test
+    void updateScores_StaleVersion_ReportsConflict() {
+        List<ScoreUpdateResultDto> results = interviewService.updateScores(List.of(
+                new ScoreUpdateDto(interview.getInterviewId(), 55, interview.getVersion() + 1),
+                new ScoreUpdateDto(-1L, 50, 0L)));
+
+        assertEquals(List.of(
+                new ScoreUpdateResultDto(interview.getInterviewId(), 55, ScoreUpdateResultDto.Status.CONFLICT),
+                new ScoreUpdateResultDto(-1L, 50, ScoreUpdateResultDto.Status.NOT_FOUND)), results);
+        assertEquals(interview.getVersion(), interviewService.getInterviewScore(interview.getInterviewId()).getVersion());
+    }
+
+    @Test
+    void jpaUpdate_AfterConcurrentScore_FailsInsteadOfOverwriting() {
+        Interview loaded = interviewRepository.findById(interview.getInterviewId()).orElseThrow();
+        // Another recruiter scores the interview between this read and the write below
+        interviewService.updateScore(interview.getInterviewId(), 60, null);
+
+        loaded.setScore(10);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> interviewRepository.saveAndFlush(loaded));
+        entityManager.clear();
+        assertEquals(60, interviewService.getInterviewScore(interview.getInterviewId()).getScore());
+    }
+}
@@ -0,0 +1,65 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.OptimisticLockProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retry = new OptimisticLockRetry(new OptimisticLockProperties(3), meterRegistry);
+    }
+
+    @Test
+    void run_ReattemptsAfterLostRace() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.run(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Interview", 1L);
+            }
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("optimistic.lock.retries").counter().count());
+    }
+
+    @Test
+    void run_GivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> retry.run(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Interview", 1L);
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.get("optimistic.lock.exhausted").counter().count());
+    }
+
+    @Test
+    void run_DoesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(RuntimeException.class, () -> retry.run(() -> {
+            attempts.incrementAndGet();
+            throw new RuntimeException("Interview not found with id: 1");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
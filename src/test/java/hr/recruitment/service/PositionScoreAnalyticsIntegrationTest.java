@@ -0,0 +1,141 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.PositionScoreStatsDto;
+import hr.recruitment.dto.ScoreUpdateDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PositionScoreAnalyticsIntegrationTest {
+
+    // Unique per run, so sample data and other tests never land in the histogram under test
+    private static final String POSITION = "Analytics Engineer " + System.nanoTime();
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private PositionScoreAnalytics positionScoreAnalytics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User candidate;
+
+    @BeforeEach
+    void setUp() {
+        candidate = userRepository.findByRole(Role.ROLE_CANDIDATE).get(0);
+        positionScoreAnalytics.reconcile();
+    }
+
+    // The rolled-back test rows were applied in memory, put the histograms back to what is committed.
+    // Tests that commit their rows to see the bulk update applied leave them behind, they go here
+    @AfterTransaction
+    void restoreHistograms() {
+        jdbcTemplate.update("DELETE FROM interviews WHERE position LIKE ?", POSITION + "%");
+        positionScoreAnalytics.reconcile();
+    }
+
+    @Test
+    void writesThroughInterviewService_KeepHistogramEqualToView() {
+        Interview first = interviewService.createInterview(interview(0));
+        Interview second = interviewService.createInterview(interview(0));
+        interviewService.createInterview(interview(0));
+        Interview fourth = interviewService.createInterview(interview(40));
+
+        interviewService.updateScore(first.getId(), 70, null);
+        interviewService.updateScores(List.of(
+                new ScoreUpdateDto(second.getId(), 80),
+                new ScoreUpdateDto(second.getId(), 90),
+                new ScoreUpdateDto(-1L, 10)));
+        interviewService.deleteInterview(fourth.getId());
+        // The bulk update reaches the histograms once committed
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        PositionScoreStatsDto incremental = stats();
+        assertEquals(3, incremental.getInterviews());
+        assertEquals(1, incremental.getPending());
+        assertEquals(2, incremental.getScored());
+        assertEquals(80.0, incremental.getAverageScore());
+        assertEquals(70, incremental.getMedianScore());
+        assertEquals(90, incremental.getP90Score());
+
+        positionScoreAnalytics.reconcile();
+        assertEquals(incremental, stats());
+    }
+
+    @Test
+    void updateScores_RolledBack_LeavesHistogramAndLeaderboardAlone() {
+        Interview created = interviewService.createInterview(interview(0));
+        assertEquals(List.of(), interviewService.getTopCandidates(POSITION, 10));
+
+        interviewService.updateScores(List.of(new ScoreUpdateDto(created.getId(), 80)));
+        assertEquals(0, stats().getScored());
+
+        TestTransaction.end();
+
+        assertEquals(0, stats().getScored());
+        assertEquals(List.of(), interviewService.getTopCandidates(POSITION, 10));
+    }
+
+    @Test
+    void updateInterview_MovesBetweenPositions() {
+        Interview created = interviewService.createInterview(interview(60));
+        Interview moved = interview(75);
+        moved.setPosition(POSITION + " Lead");
+
+        interviewService.updateInterview(created.getId(), moved);
+
+        assertTrue(interviewService.getPositionStats().stream().noneMatch(stats -> stats.getPosition().equals(POSITION)));
+        PositionScoreStatsDto lead = stats(POSITION + " Lead");
+        assertEquals(75, lead.getMaxScore());
+
+        entityManager.flush();
+        positionScoreAnalytics.reconcile();
+        assertEquals(lead, stats(POSITION + " Lead"));
+    }
+
+    private PositionScoreStatsDto stats() {
+        return stats(POSITION);
+    }
+
+    private PositionScoreStatsDto stats(String position) {
+        return interviewService.getPositionStats().stream()
+                .filter(stats -> stats.getPosition().equals(position))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Interview interview(int score) {
+        Interview interview = new Interview();
+        interview.setUser(candidate);
+        interview.setPosition(POSITION);
+        interview.setScore(score);
+        return interview;
+    }
+}
@@ -0,0 +1,142 @@
+package hr.recruitment.service;
+
+import hr.recruitment.config.AnalyticsProperties;
+import hr.recruitment.dto.PositionScoreStatsDto;
+import hr.recruitment.dto.ScoreHistogramBucket;
+import hr.recruitment.model.Interview;
+import hr.recruitment.repository.InterviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PositionScoreAnalyticsTest {
+
+    private static final String JAVA = "Java Developer";
+    private static final String QA = "QA Engineer";
+
+    @Mock
+    private InterviewRepository interviewRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PositionScoreAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        analytics = new PositionScoreAnalytics(interviewRepository, new AnalyticsProperties(Duration.ofHours(1)), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        analytics.destroy();
+    }
+
+    @Test
+    void positions_ComputesDistributionFromHistogram() {
+        // Ten scored interviews 10, 20, ..., 100 and two pending ones
+        List<ScoreHistogramBucket> buckets = new ArrayList<>();
+        buckets.add(new ScoreHistogramBucket(JAVA, 0, 2));
+        for (int score = 10; score <= 100; score += 10) {
+            buckets.add(new ScoreHistogramBucket(JAVA, score, 1));
+        }
+        when(interviewRepository.refreshScoreHistogram()).thenReturn(buckets);
+
+        PositionScoreStatsDto stats = analytics.positions().get(0);
+
+        assertEquals(JAVA, stats.getPosition());
+        assertEquals(12, stats.getInterviews());
+        assertEquals(2, stats.getPending());
+        assertEquals(10, stats.getScored());
+        assertEquals(55.0, stats.getAverageScore());
+        assertEquals(10, stats.getMinScore());
+        assertEquals(50, stats.getMedianScore());
+        assertEquals(90, stats.getP90Score());
+        assertEquals(100, stats.getMaxScore());
+    }
+
+    @Test
+    void positions_OnlyPending_LeavesStatisticsEmpty() {
+        when(interviewRepository.refreshScoreHistogram()).thenReturn(List.of(new ScoreHistogramBucket(QA, 0, 3)));
+
+        PositionScoreStatsDto stats = analytics.positions().get(0);
+
+        assertEquals(3, stats.getPending());
+        assertEquals(0, stats.getScored());
+        assertNull(stats.getAverageScore());
+        assertNull(stats.getMedianScore());
+    }
+
+    @Test
+    void positions_LoadsOnceAndAppliesWritesInMemory() {
+        when(interviewRepository.refreshScoreHistogram()).thenReturn(List.of(
+                new ScoreHistogramBucket(JAVA, 0, 1),
+                new ScoreHistogramBucket(QA, 70, 1)));
+        analytics.positions();
+
+        analytics.onCreated(interview(JAVA, 0));
+        analytics.onChanged(JAVA, 0, JAVA, 80);
+        analytics.onChanged(QA, 70, JAVA, 60);
+        List<PositionScoreStatsDto> positions = analytics.positions();
+
+        // The QA histogram emptied out and is gone
+        assertEquals(List.of(JAVA), positions.stream().map(PositionScoreStatsDto::getPosition).toList());
+        assertEquals(3, positions.get(0).getInterviews());
+        assertEquals(1, positions.get(0).getPending());
+        assertEquals(70.0, positions.get(0).getAverageScore());
+        verify(interviewRepository, times(1)).refreshScoreHistogram();
+    }
+
+    @Test
+    void onDeleted_RemovesFromItsScore() {
+        when(interviewRepository.refreshScoreHistogram()).thenReturn(List.of(new ScoreHistogramBucket(JAVA, 80, 2)));
+        analytics.positions();
+
+        analytics.onDeleted(interview(JAVA, 80));
+
+        assertEquals(1, analytics.positions().get(0).getScored());
+    }
+
+    @Test
+    void writesBeforeFirstLoad_AreLeftToTheView() {
+        analytics.onCreated(interview(JAVA, 50));
+        when(interviewRepository.refreshScoreHistogram()).thenReturn(List.of(new ScoreHistogramBucket(JAVA, 50, 1)));
+
+        assertEquals(1, analytics.positions().get(0).getInterviews());
+    }
+
+    @Test
+    void reconcile_ReplacesDriftedHistograms() {
+        when(interviewRepository.refreshScoreHistogram())
+                .thenReturn(List.of(new ScoreHistogramBucket(JAVA, 80, 1)))
+                .thenReturn(List.of(new ScoreHistogramBucket(JAVA, 80, 1), new ScoreHistogramBucket(QA, 0, 1)));
+        analytics.positions();
+        // A write whose transaction then rolled back
+        analytics.onCreated(interview(JAVA, 90));
+
+        analytics.reconcile();
+
+        List<PositionScoreStatsDto> positions = analytics.positions();
+        assertEquals(List.of(JAVA, QA), positions.stream().map(PositionScoreStatsDto::getPosition).toList());
+        assertEquals(1, positions.get(0).getInterviews());
+        assertEquals(2.0, meterRegistry.get("interview.analytics.drifted").counter().count());
+    }
+
+    private static Interview interview(String position, int score) {
+        Interview interview = new Interview();
+        interview.setPosition(position);
+        interview.setScore(score);
+        return interview;
+    }
+}
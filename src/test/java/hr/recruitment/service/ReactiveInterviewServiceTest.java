@@ -0,0 +1,62 @@
+package hr.recruitment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.recruitment.dto.RecruiterCandidateSummaryDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.dto.ViewMode;
+import hr.recruitment.repository.ReactiveInterviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveInterviewServiceTest {
+
+    @Mock
+    private ReactiveInterviewRepository reactiveInterviewRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ReactiveInterviewService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveInterviewService(reactiveInterviewRepository, objectMapper);
+    }
+
+    @Test
+    void getCandidateViews_SummaryReadsSummaryProjection() {
+        when(reactiveInterviewRepository.findCandidateSummaries())
+                .thenReturn(Flux.just(view(1L)));
+
+        assertEquals(List.of(view(1L)), service.getCandidateViews(ViewMode.SUMMARY).collectList().block());
+        verify(reactiveInterviewRepository, never()).findCandidateViews();
+        verify(reactiveInterviewRepository, never()).findCandidateSummariesByScoreGreaterThan(anyInt());
+    }
+
+    @Test
+    void getScoredCandidateViewLines_ChunksCompleteLines() throws Exception {
+        when(reactiveInterviewRepository.findCandidateViewsByScoreGreaterThan(0))
+                .thenReturn(Flux.range(1, 300).map(id -> view((long) id)));
+
+        List<String> chunks = service.getScoredCandidateViewLines(ViewMode.FULL).collectList().block();
+
+        assertEquals(2, chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.endsWith("\n")));
+        List<String> lines = chunks.stream().flatMap(chunk -> Arrays.stream(chunk.split("\n"))).toList();
+        assertEquals(300, lines.size());
+        assertEquals(view(300L), objectMapper.readValue(lines.get(299), RecruiterCandidateViewDto.class));
+    }
+
+    private static RecruiterCandidateViewDto view(Long interviewId) {
+        return new RecruiterCandidateSummaryDto(interviewId, 7L, "John Doe", "johndoe@example.com", "QA Engineer", 70);
+    }
+}
@@ -0,0 +1,154 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.AvailabilityWindowDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecruiterCalendarTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration STEP = Duration.ofMinutes(15);
+    private static final Instant DAY = Instant.parse("2030-01-07T00:00:00Z");
+
+    private RecruiterCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new RecruiterCalendar(2L);
+        calendar.load(List.of(booking(1L, 9, 10), booking(2L, 11, 12)), Instant.now());
+    }
+
+    @Test
+    void earliestFree_SkipsBookedSlots() {
+        assertEquals(at(10), calendar.earliestFree(null, at(9), at(18), HOUR, STEP));
+        assertEquals(at(12), calendar.earliestFree(null, at(9), at(18), Duration.ofMinutes(90), STEP));
+        assertEquals(at(8), calendar.earliestFree(null, at(8), at(18), HOUR, STEP));
+    }
+
+    @Test
+    void earliestFree_StartsOnStepBoundary() {
+        assertEquals(at(12), calendar.earliestFree(null, at(11).plusSeconds(60), at(18), HOUR, STEP));
+        assertEquals(at(8).plus(STEP), calendar.earliestFree(null, at(8).plusSeconds(1), at(18), Duration.ofMinutes(30), STEP));
+    }
+
+    @Test
+    void earliestFree_NothingFitsInWindow() {
+        assertNull(calendar.earliestFree(null, at(9), at(11), Duration.ofMinutes(90), STEP));
+        assertNull(calendar.earliestFree(null, at(9), at(10), HOUR, STEP));
+    }
+
+    @Test
+    void hold_TakesSlotFromConcurrentRequests() {
+        RecruiterCalendar.Slot first = calendar.hold(10L, at(9), at(12), HOUR, STEP);
+        RecruiterCalendar.Slot second = calendar.hold(11L, at(9), at(12), HOUR, STEP);
+
+        assertEquals(at(10), first.start());
+        assertTrue(first.held());
+        assertNull(second);
+    }
+
+    @Test
+    void release_FreesHeldSlot() {
+        RecruiterCalendar.Slot hold = calendar.hold(10L, at(9), at(12), HOUR, STEP);
+
+        calendar.release(hold);
+
+        assertEquals(at(10), calendar.earliestFree(null, at(9), at(12), HOUR, STEP));
+    }
+
+    @Test
+    void confirm_MovesInterviewToNewSlot() {
+        RecruiterCalendar.Slot hold = calendar.hold(1L, at(12), at(18), HOUR, STEP);
+
+        calendar.confirm(hold);
+
+        assertEquals(at(9), calendar.earliestFree(null, at(9), at(18), HOUR, STEP));
+        assertEquals(2, calendar.size());
+        calendar.remove(1L);
+        assertEquals(1, calendar.size());
+    }
+
+    @Test
+    void hold_MovingIntoOverlappingWindowLeavesOwnBookingOut() {
+        assertEquals(at(9), calendar.earliestFree(1L, at(9), at(11), HOUR, STEP));
+        assertEquals(at(10), calendar.earliestFree(10L, at(9), at(11), HOUR, STEP));
+
+        RecruiterCalendar.Slot hold = calendar.hold(1L, at(9).plus(Duration.ofMinutes(30)), at(11), HOUR, STEP);
+
+        assertEquals(at(9).plus(Duration.ofMinutes(30)), hold.start());
+        // The old booking is vacated while the hold lasts, so the two never overlap in the calendar
+        assertEquals(List.of(new AvailabilityWindowDto(at(9), hold.start()),
+            new AvailabilityWindowDto(hold.end(), at(11))), calendar.free(at(9), at(11)));
+        calendar.confirm(hold);
+        assertEquals(2, calendar.size());
+        assertEquals(at(9), calendar.earliestFree(null, at(9), at(18), Duration.ofMinutes(30), STEP));
+    }
+
+    @Test
+    void release_RestoresVacatedBooking() {
+        RecruiterCalendar.Slot hold = calendar.hold(1L, at(9), at(10), HOUR, STEP);
+        assertEquals(at(9), hold.start());
+
+        calendar.release(hold);
+
+        assertEquals(at(10), calendar.earliestFree(null, at(9), at(11), HOUR, STEP));
+        assertEquals(2, calendar.size());
+        assertNull(calendar.hold(10L, at(9), at(10), HOUR, STEP));
+    }
+
+    @Test
+    void load_KeepsHoldsNotBookedElsewhere() {
+        RecruiterCalendar.Slot kept = calendar.hold(10L, at(13), at(14), HOUR, STEP);
+        RecruiterCalendar.Slot lost = calendar.hold(11L, at(14), at(15), HOUR, STEP);
+
+        // Another instance booked 14:00 meanwhile
+        calendar.load(List.of(booking(1L, 9, 10), booking(3L, 14, 15)), Instant.now());
+
+        assertEquals(3, calendar.size());
+        assertEquals(at(10), calendar.earliestFree(null, at(9), at(18), HOUR, STEP));
+        assertEquals(at(15), calendar.earliestFree(null, at(13), at(18), HOUR, STEP));
+        calendar.release(kept);
+        calendar.release(lost);
+        assertEquals(at(13), calendar.earliestFree(null, at(13), at(18), HOUR, STEP));
+    }
+
+    @Test
+    void free_ListsGapsBetweenSlots() {
+        List<AvailabilityWindowDto> windows = calendar.free(at(9).plus(STEP), at(18));
+
+        assertEquals(List.of(
+            new AvailabilityWindowDto(at(10), at(11)),
+            new AvailabilityWindowDto(at(12), at(18))), windows);
+    }
+
+    @Test
+    void stale_AfterRefreshOrExpire() {
+        Instant now = Instant.now();
+
+        assertFalse(calendar.stale(now, Duration.ofMinutes(1)));
+        assertTrue(calendar.stale(now.plus(Duration.ofMinutes(2)), Duration.ofMinutes(1)));
+        calendar.expire();
+        assertTrue(calendar.stale(now, Duration.ofMinutes(1)));
+        assertTrue(new RecruiterCalendar(3L).stale(now, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void align_RoundsUpToStep() {
+        assertEquals(at(9), RecruiterCalendar.align(at(9), STEP));
+        assertEquals(at(9).plus(STEP), RecruiterCalendar.align(at(9).plusMillis(1), STEP));
+    }
+
+    private static RecruiterCalendar.Slot booking(Long interviewId, int startHour, int endHour) {
+        return new RecruiterCalendar.Slot(interviewId, at(startHour), at(endHour), false);
+    }
+
+    private static Instant at(int hour) {
+        return DAY.plus(Duration.ofHours(hour));
+    }
+}
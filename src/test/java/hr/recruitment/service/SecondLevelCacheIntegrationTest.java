@@ -0,0 +1,148 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateCabinetDto;
+import hr.recruitment.dto.CandidateCabinetVersion;
+import hr.recruitment.dto.CandidateInterviewDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.repository.InterviewRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: entries cached during a test would outlive its rolled back transaction.
+// Each test puts back what it changed and clears the cache instead
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+    private Interview interview;
+    private User candidate;
+    private String emailPrefix;
+
+    @BeforeEach
+    void setUp() {
+        interview = interviewRepository.findAll().get(0);
+        candidate = interview.getUser();
+        emailPrefix = User.localPartOf(candidate.getEmail());
+        // Loading them above cached them. evictAll() would leave the query results
+        cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictAllRegions();
+    }
+
+    @AfterEach
+    void restore() {
+        jdbcTemplate.update("UPDATE users SET info = ? WHERE id = ?", candidate.getInfo(), candidate.getId());
+        jdbcTemplate.update("UPDATE interviews SET score = ? WHERE id = ?", interview.getScore(), interview.getId());
+        jdbcTemplate.update("DELETE FROM interviews WHERE user_id = ? AND position = 'Cache Probe'", candidate.getId());
+        cache.evictAllRegions();
+    }
+
+    @Test
+    void getUserById_PutsUserInCache() {
+        assertFalse(cache.contains(User.class, candidate.getId()));
+
+        userService.getUserById(candidate.getId());
+
+        assertTrue(cache.contains(User.class, candidate.getId()));
+    }
+
+    @Test
+    void plainSqlProfileUpdate_EvictsUser() {
+        userService.getUserById(candidate.getId());
+
+        userService.updateCandidateInfoByEmailPrefix(emailPrefix, "Updated info");
+
+        assertFalse(cache.contains(User.class, candidate.getId()));
+        assertEquals("Updated info", userService.getUserById(candidate.getId()).getInfo());
+    }
+
+    @Test
+    void plainSqlScoreUpdate_EvictsInterview() {
+        interviewService.getInterviewById(interview.getId());
+        assertTrue(cache.contains(Interview.class, interview.getId()));
+        int score = interview.getScore() == 99 ? 98 : 99;
+
+        interviewService.updateScore(interview.getId(), score, null);
+
+        assertFalse(cache.contains(Interview.class, interview.getId()));
+        assertEquals(score, interviewService.getInterviewById(interview.getId()).getScore());
+    }
+
+    @Test
+    void plainSqlScoreUpdate_CachedInterviewListReadsNewScore() {
+        // The second call is answered by the query cache
+        interviewRepository.findByUserId(candidate.getId());
+        interviewRepository.findByUserId(candidate.getId());
+        int score = interview.getScore() == 99 ? 98 : 99;
+
+        interviewService.updateScore(interview.getId(), score, null);
+
+        assertEquals(score, interviewRepository.findByUserId(candidate.getId()).stream()
+            .filter(found -> found.getId().equals(interview.getId()))
+            .findFirst().orElseThrow().getScore());
+    }
+
+    @Test
+    void candidateCabinet_MatchingValidator_ServedFromCache() {
+        CandidateCabinetDto cold = cabinet();
+        CandidateCabinetDto warm = cabinet();
+
+        assertTrue(cache.contains(User.class, candidate.getId()));
+        assertEquals(cold, warm);
+    }
+
+    @Test
+    void candidateCabinet_StaleProfile_FallsBackAndRecaches() {
+        cabinet();
+        // Behind Hibernate's back and without reporting it, as a missed eviction would leave it
+        jdbcTemplate.update("UPDATE users SET info = 'Changed behind the cache', version = version + 1 WHERE id = ?",
+            candidate.getId());
+
+        assertEquals("Changed behind the cache", cabinet().getInfo());
+        assertEquals("Changed behind the cache", userService.getUserById(candidate.getId()).getInfo());
+    }
+
+    @Test
+    void candidateCabinet_StaleInterviewList_FallsBackAndEvictsQueries() {
+        cabinet();
+        cabinet();
+        jdbcTemplate.update("INSERT INTO interviews (user_id, score, position) VALUES (?, 50, 'Cache Probe')",
+            candidate.getId());
+
+        assertTrue(cabinet().getInterviews().stream()
+            .map(CandidateInterviewDto::getPosition)
+            .anyMatch("Cache Probe"::equals));
+        assertTrue(interviewRepository.findByUserId(candidate.getId()).stream()
+            .anyMatch(found -> "Cache Probe".equals(found.getPosition())));
+    }
+
+    private CandidateCabinetDto cabinet() {
+        CandidateCabinetVersion version = userService.getCandidateCabinetVersion(emailPrefix);
+        return userService.getCandidateCabinet(emailPrefix, version);
+    }
+}
@@ -0,0 +1,120 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.CandidateProfileDto;
+import hr.recruitment.dto.RecruiterCandidateViewDto;
+import hr.recruitment.model.Interview;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the leaderboard outlives a rolled back test transaction, so the rows are committed
+// under a position and a candidate of their own and deleted afterwards
+@SpringBootTest
+@ActiveProfiles("test")
+class UserLeaderboardIntegrationTest {
+
+    // One per test, as the boards of earlier tests still hold their rows
+    private final String position = "Leaderboard Engineer " + System.nanoTime();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private PositionScoreAnalytics positionScoreAnalytics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User candidate;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        candidate = new User();
+        candidate.setName("Board Candidate");
+        candidate.setEmail("board.candidate." + System.nanoTime() + "@jobs.example");
+        candidate.setRole(Role.ROLE_CANDIDATE);
+        candidate = userRepository.save(candidate);
+        other = userRepository.findByRole(Role.ROLE_CANDIDATE).get(0);
+
+        interviewService.createInterview(interview(candidate, 90));
+        interviewService.createInterview(interview(other, 80));
+        // Loads the board
+        assertEquals(List.of(candidate.getId(), other.getId()), candidateIds(top()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM interviews WHERE position = ?", position);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", candidate.getId());
+        positionScoreAnalytics.reconcile();
+    }
+
+    @Test
+    void deleteUser_DropsTheirInterviewsFromBoardAndStats() {
+        userService.deleteUser(candidate.getId());
+
+        assertEquals(List.of(other.getId()), candidateIds(top()));
+        assertEquals(1, interviewService.getPositionStats().stream()
+            .filter(stats -> stats.getPosition().equals(position))
+            .findFirst()
+            .orElseThrow()
+            .getInterviews());
+    }
+
+    @Test
+    void updateUser_NameAndEmailChangeShowsOnBoard() {
+        User changes = new User();
+        changes.setName("Renamed Candidate");
+        changes.setEmail("renamed." + candidate.getEmail());
+
+        userService.updateUser(candidate.getId(), changes);
+
+        RecruiterCandidateViewDto entry = top().get(0);
+        assertEquals("Renamed Candidate", entry.getCandidateName());
+        assertEquals(changes.getEmail(), entry.getCandidateEmail());
+    }
+
+    @Test
+    void updateCandidateProfile_NameChangeShowsOnBoard() {
+        CandidateProfileDto profile = new CandidateProfileDto();
+        profile.setName("Patched Candidate");
+
+        userService.updateCandidateProfile(candidate.getId(), profile);
+
+        assertEquals("Patched Candidate", top().get(0).getCandidateName());
+    }
+
+    private List<RecruiterCandidateViewDto> top() {
+        return interviewService.getTopCandidates(position, 10);
+    }
+
+    private static List<Long> candidateIds(List<RecruiterCandidateViewDto> entries) {
+        return entries.stream().map(RecruiterCandidateViewDto::getCandidateId).toList();
+    }
+
+    private Interview interview(User user, int score) {
+        Interview interview = new Interview();
+        interview.setUser(user);
+        interview.setPosition(position);
+        interview.setScore(score);
+        return interview;
+    }
+}
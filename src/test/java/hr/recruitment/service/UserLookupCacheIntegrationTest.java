@@ -0,0 +1,125 @@
+package hr.recruitment.service;
+
+import hr.recruitment.dto.UserIdentity;
+import hr.recruitment.model.User;
+import hr.recruitment.model.enums.Role;
+import hr.recruitment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserLookupCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    private User candidate;
+    private String emailPrefix;
+
+    @BeforeEach
+    void setUp() {
+        userLookupCache.evictAll();
+        candidate = userRepository.findByRole(Role.ROLE_CANDIDATE).get(0);
+        emailPrefix = candidate.getEmail().split("@")[0];
+    }
+
+    @Test
+    void identityLookup_SecondCallIsCacheHit() {
+        long hitsBefore = userLookupCache.stats().hitCount();
+        long missesBefore = userLookupCache.stats().missCount();
+
+        UserIdentity first = userService.getUserIdentityByEmailPrefix(emailPrefix);
+        UserIdentity second = userService.getUserIdentityByEmailPrefix(emailPrefix);
+
+        assertEquals(new UserIdentity(candidate.getId(), Role.ROLE_CANDIDATE), first);
+        assertEquals(first, second);
+        assertEquals(missesBefore + 1, userLookupCache.stats().missCount());
+        assertEquals(hitsBefore + 1, userLookupCache.stats().hitCount());
+    }
+
+    @Test
+    void identityLookup_UnknownPrefixIsNotCached() {
+        assertThrows(RuntimeException.class, () -> userService.getUserIdentityByEmailPrefix("nobody-here"));
+
+        assertNull(userLookupCache.get("nobody-here"));
+    }
+
+    @Test
+    void updateUser_EvictsOldPrefix() {
+        userService.getUserIdentityByEmailPrefix(emailPrefix);
+        assertNotNull(userLookupCache.get(emailPrefix));
+
+        User details = new User();
+        details.setEmail("renamed-" + candidate.getEmail());
+        userService.updateUser(candidate.getId(), details);
+
+        assertNull(userLookupCache.get(emailPrefix));
+        assertThrows(RuntimeException.class, () -> userService.getUserIdentityByEmailPrefix(emailPrefix));
+    }
+
+    @Test
+    void updateCandidateInfo_KeepsEntry() {
+        // The single-statement update cannot change id or role, so the cached identity stays valid
+        userService.getUserIdentityByEmailPrefix(emailPrefix);
+
+        userService.updateCandidateInfoByEmailPrefix(emailPrefix, "Updated info");
+
+        assertEquals(UserIdentity.of(candidate), userLookupCache.get(emailPrefix));
+    }
+
+    @Test
+    void evictDuringLoad_LoadedIdentityIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Reads the identity as it was before the update below
+            Future<UserIdentity> load = executor.submit(() -> userLookupCache.get(emailPrefix, prefix -> {
+                loading.countDown();
+                await(evicted);
+                return UserIdentity.of(candidate);
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            userLookupCache.evict(candidate);
+            evicted.countDown();
+
+            assertEquals(UserIdentity.of(candidate), load.get(5, TimeUnit.SECONDS));
+            assertNull(userLookupCache.get(emailPrefix));
+        } finally {
+            executor.shutdownNow();
+        }
+        // A load starting after the eviction is cached again
+        userService.getUserIdentityByEmailPrefix(emailPrefix);
+        assertNotNull(userLookupCache.get(emailPrefix));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}